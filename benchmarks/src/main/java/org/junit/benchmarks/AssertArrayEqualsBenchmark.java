@@ -0,0 +1,90 @@
+package org.junit.benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Assert#assertArrayEquals} for equal primitive arrays, and
+ * for arrays of doubles that only differ by less than the delta.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AssertArrayEqualsBenchmark {
+
+    @Param({"1000", "100000"})
+    public int length;
+
+    private byte[] bytes;
+    private byte[] otherBytes;
+    private int[] ints;
+    private int[] otherInts;
+    private long[] longs;
+    private long[] otherLongs;
+    private double[] doubles;
+    private double[] otherDoubles;
+    private double[] nearlyEqualDoubles;
+
+    @Setup
+    public void createArrays() {
+        bytes = new byte[length];
+        ints = new int[length];
+        longs = new long[length];
+        doubles = new double[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) i;
+            ints[i] = i;
+            longs[i] = i;
+            doubles[i] = i / 3.0;
+        }
+        otherBytes = Arrays.copyOf(bytes, length);
+        otherInts = Arrays.copyOf(ints, length);
+        otherLongs = Arrays.copyOf(longs, length);
+        otherDoubles = Arrays.copyOf(doubles, length);
+        nearlyEqualDoubles = new double[length];
+        for (int i = 0; i < length; i++) {
+            nearlyEqualDoubles[i] = doubles[i] + 1e-12;
+        }
+    }
+
+    @Benchmark
+    public void byteArrays() {
+        Assert.assertArrayEquals(bytes, otherBytes);
+    }
+
+    @Benchmark
+    public void intArrays() {
+        Assert.assertArrayEquals(ints, otherInts);
+    }
+
+    @Benchmark
+    public void longArrays() {
+        Assert.assertArrayEquals(longs, otherLongs);
+    }
+
+    @Benchmark
+    public void doubleArraysWithDelta() {
+        Assert.assertArrayEquals(doubles, otherDoubles, 1e-9);
+    }
+
+    @Benchmark
+    public void doubleArraysWithinDelta() {
+        Assert.assertArrayEquals(doubles, nearlyEqualDoubles, 1e-9);
+    }
+}
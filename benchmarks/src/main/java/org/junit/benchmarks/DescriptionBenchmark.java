@@ -0,0 +1,97 @@
+package org.junit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.runner.Description;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures building the {@link Description} tree of a suite, sealed and not
+ * sealed, and counting and visiting its tests.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DescriptionBenchmark {
+
+    @Param({"100"})
+    public int classes;
+
+    @Param({"10", "100"})
+    public int testsPerClass;
+
+    private Description suite;
+
+    private Description sealedSuite;
+
+    @Setup
+    public void buildSuite() {
+        suite = buildTree();
+        sealedSuite = buildSealedTree();
+    }
+
+    @Benchmark
+    public Description buildTree() {
+        return buildTree(false);
+    }
+
+    @Benchmark
+    public Description buildSealedTree() {
+        return buildTree(true);
+    }
+
+    private Description buildTree(boolean seal) {
+        Description suite = Description.createSuiteDescription("Suite");
+        for (int i = 0; i < classes; i++) {
+            String className = "org.example.Test" + i;
+            Description testClass = Description.createSuiteDescription(className);
+            for (int j = 0; j < testsPerClass; j++) {
+                Description test = Description.createTestDescription(className, "test" + j);
+                testClass.addChild(seal ? test.seal() : test);
+            }
+            suite.addChild(seal ? testClass.seal() : testClass);
+        }
+        return seal ? suite.seal() : suite;
+    }
+
+    @Benchmark
+    public int testCount() {
+        return suite.testCount();
+    }
+
+    @Benchmark
+    public int testCountSealed() {
+        return sealedSuite.testCount();
+    }
+
+    @Benchmark
+    public int visitChildren() {
+        int tests = 0;
+        for (Description testClass : suite.getChildren()) {
+            tests += testClass.getChildren().size();
+        }
+        return tests;
+    }
+
+    @Benchmark
+    public int visitChildrenSealed() {
+        int tests = 0;
+        for (Description testClass : sealedSuite.getChildrenView()) {
+            tests += testClass.getChildrenView().size();
+        }
+        return tests;
+    }
+}
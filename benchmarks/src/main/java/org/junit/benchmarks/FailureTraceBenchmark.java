@@ -0,0 +1,60 @@
+package org.junit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures reporting a {@link Failure} the way reporters do, asking for its
+ * trace and its trimmed trace twice, and getting the trimmed stack trace
+ * elements, for exceptions with deep stack traces.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FailureTraceBenchmark {
+
+    @Param({"30", "300"})
+    public int depth;
+
+    private RuntimeException exception;
+
+    @Setup
+    public void createException() {
+        exception = throwAt(depth);
+    }
+
+    private static RuntimeException throwAt(int depth) {
+        if (depth == 0) {
+            return new RuntimeException("broken fixture", new IllegalStateException("cause"));
+        }
+        return throwAt(depth - 1);
+    }
+
+    @Benchmark
+    public int reportTraces() {
+        Failure failure = new Failure(Description.EMPTY, exception);
+        return failure.getTrace().length() + failure.getTrimmedTrace().length()
+                + failure.getTrace().length() + failure.getTrimmedTrace().length();
+    }
+
+    @Benchmark
+    public StackTraceElement[] trimmedStackTrace() {
+        return new Failure(Description.EMPTY, exception).getTrimmedStackTrace();
+    }
+}
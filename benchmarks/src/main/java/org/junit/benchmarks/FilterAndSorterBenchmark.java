@@ -0,0 +1,153 @@
+package org.junit.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.experimental.categories.Categories.CategoryFilter;
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Alphanumeric;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.manipulation.SelectedMethodsFilter;
+import org.junit.runner.manipulation.Sorter;
+import org.junit.runners.Suite;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures applying a {@link Filter} and a {@link Sorter} to a large suite.
+ * Each invocation gets a new suite, because both change the suite.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FilterAndSorterBenchmark {
+
+    @Param({"100", "1000"})
+    public int classes;
+
+    @Param({"20"})
+    public int testsPerClass;
+
+    private final Filter everyOtherTest = new Filter() {
+        @Override
+        public boolean shouldRun(Description description) {
+            if (description.isTest()) {
+                return description.getMethodName().hashCode() % 2 == 0;
+            }
+            for (Description each : description.getChildren()) {
+                if (shouldRun(each)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String describe() {
+            return "every other test";
+        }
+    };
+
+    private final Filter singleMethod = Filter.matchMethodDescription(
+            Description.createTestDescription("org.example.Test7", "test7"));
+
+    private final Filter excludeCategory = CategoryFilter.exclude(Runnable.class);
+
+    private final Sorter alphanumeric = new Alphanumeric();
+
+    private Filter selectionInList;
+
+    private Filter selectionInIndex;
+
+    private Suite suite;
+
+    @Setup
+    public void createSelection() {
+        // every tenth test, like a test impact analysis would pick them
+        final List<Description> selection = new ArrayList<Description>();
+        List<String> names = new ArrayList<String>();
+        for (int i = 0; i < classes; i++) {
+            for (int j = i % 10; j < testsPerClass; j += 10) {
+                selection.add(Description.createTestDescription("org.example.Test" + i,
+                        "test" + j));
+                names.add("org.example.Test" + i + "#test" + j);
+            }
+        }
+        selectionInList = new Filter() {
+            @Override
+            public boolean shouldRun(Description description) {
+                if (description.isTest()) {
+                    return selection.contains(description);
+                }
+                for (Description each : description.getChildren()) {
+                    if (shouldRun(each)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public String describe() {
+                return "selected tests";
+            }
+        };
+        selectionInIndex = SelectedMethodsFilter.forMethodNames(names);
+    }
+
+    @Setup(Level.Invocation)
+    public void createSuite() {
+        suite = SyntheticSuite.create(classes, testsPerClass);
+    }
+
+    @Benchmark
+    public Description filterHalf() throws NoTestsRemainException {
+        suite.filter(everyOtherTest);
+        return suite.getDescription();
+    }
+
+    @Benchmark
+    public Description filterSingleMethod() throws NoTestsRemainException {
+        suite.filter(singleMethod);
+        return suite.getDescription();
+    }
+
+    @Benchmark
+    public Description filterSelectionInList() throws NoTestsRemainException {
+        suite.filter(selectionInList);
+        return suite.getDescription();
+    }
+
+    @Benchmark
+    public Description filterSelectionInIndex() throws NoTestsRemainException {
+        suite.filter(selectionInIndex);
+        return suite.getDescription();
+    }
+
+    @Benchmark
+    public Description filterExcludingCategory() throws NoTestsRemainException {
+        suite.filter(excludeCategory);
+        return suite.getDescription();
+    }
+
+    @Benchmark
+    public Description sortAlphanumerically() {
+        suite.sort(alphanumeric);
+        return suite.getDescription();
+    }
+}
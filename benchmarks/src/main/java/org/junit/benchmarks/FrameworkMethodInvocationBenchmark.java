@@ -0,0 +1,104 @@
+package org.junit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.AssumptionViolatedException;
+import org.junit.runners.model.FrameworkMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares invoking test methods reflectively with invoking them through the
+ * accessors that {@link FrameworkMethod} generates when the system property
+ * {@code junit.methodHandleThreshold} is set.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FrameworkMethodInvocationBenchmark {
+    private static final String METHOD_HANDLES = "-Djunit.methodHandleThreshold=0";
+
+    public static class Example {
+        public int calls;
+
+        public void test() {
+            calls++;
+        }
+
+        public void theory(int first, String second) {
+            calls += first + second.length();
+        }
+
+        public void assumption() {
+            throw new AssumptionViolatedException("invalid parameters");
+        }
+    }
+
+    private final Example target = new Example();
+    private final Object[] noParams = new Object[0];
+    private final Object[] theoryParams = {42, "value"};
+
+    private FrameworkMethod test;
+    private FrameworkMethod theory;
+    private FrameworkMethod assumption;
+
+    @Setup
+    public void createMethods() throws Exception {
+        test = new FrameworkMethod(Example.class.getMethod("test"));
+        theory = new FrameworkMethod(Example.class.getMethod("theory", int.class, String.class));
+        assumption = new FrameworkMethod(Example.class.getMethod("assumption"));
+    }
+
+    @Benchmark
+    public Object reflectiveNoParameters() throws Throwable {
+        return test.invokeExplosively(target, noParams);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = METHOD_HANDLES)
+    public Object methodHandleNoParameters() throws Throwable {
+        return test.invokeExplosively(target, noParams);
+    }
+
+    @Benchmark
+    public Object reflectiveTwoParameters() throws Throwable {
+        return theory.invokeExplosively(target, theoryParams);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = METHOD_HANDLES)
+    public Object methodHandleTwoParameters() throws Throwable {
+        return theory.invokeExplosively(target, theoryParams);
+    }
+
+    @Benchmark
+    public Throwable reflectiveFailingAssumption() {
+        return invokeFailingAssumption();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = METHOD_HANDLES)
+    public Throwable methodHandleFailingAssumption() {
+        return invokeFailingAssumption();
+    }
+
+    private Throwable invokeFailingAssumption() {
+        try {
+            assumption.invokeExplosively(target, noParams);
+            return null;
+        } catch (Throwable e) {
+            return e;
+        }
+    }
+}
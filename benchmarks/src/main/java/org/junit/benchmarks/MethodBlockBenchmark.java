@@ -0,0 +1,109 @@
+package org.junit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+import org.junit.rules.Timeout;
+import org.junit.runners.BlockJUnit4ClassRunner;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.Statement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the overhead {@link BlockJUnit4ClassRunner} adds to every test: the
+ * construction of the statement for the test, and running it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MethodBlockBenchmark {
+
+    public static class PlainTest {
+        @Test
+        public void test() {
+        }
+    }
+
+    public static class TestWithFixtureAndRules {
+        @Rule
+        public TestName name = new TestName();
+
+        @Rule
+        public Timeout timeout = Timeout.seconds(10);
+
+        @Before
+        public void setUp() {
+        }
+
+        @After
+        public void tearDown() {
+        }
+
+        @Test
+        public void test() {
+        }
+    }
+
+    /**
+     * Makes {@link BlockJUnit4ClassRunner#methodBlock(FrameworkMethod)}
+     * accessible.
+     */
+    static final class Runner extends BlockJUnit4ClassRunner {
+        final FrameworkMethod test;
+
+        Runner(Class<?> testClass) throws InitializationError {
+            super(testClass);
+            test = getChildren().get(0);
+        }
+
+        Statement methodBlock() {
+            return methodBlock(test);
+        }
+    }
+
+    private Runner plain;
+    private Runner withFixtureAndRules;
+
+    @Setup
+    public void createRunners() throws InitializationError {
+        plain = new Runner(PlainTest.class);
+        withFixtureAndRules = new Runner(TestWithFixtureAndRules.class);
+    }
+
+    @Benchmark
+    public Statement plainTest() {
+        return plain.methodBlock();
+    }
+
+    @Benchmark
+    public Statement testWithFixtureAndRules() {
+        return withFixtureAndRules.methodBlock();
+    }
+
+    @Benchmark
+    public void runPlainTest() throws Throwable {
+        plain.methodBlock().evaluate();
+    }
+
+    @Benchmark
+    public void runTestWithFixtureAndRules() throws Throwable {
+        withFixtureAndRules.methodBlock().evaluate();
+    }
+}
@@ -0,0 +1,62 @@
+package org.junit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.runner.Description;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures firing the events of a passing test to a number of listeners.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RunNotifierBenchmark {
+
+    @Param({"1", "4", "16"})
+    public int listeners;
+
+    private final Description test = Description.createTestDescription("org.example.Test", "test");
+
+    private RunNotifier notifier;
+
+    @Setup
+    public void addListeners(final Blackhole blackhole) {
+        notifier = new RunNotifier();
+        for (int i = 0; i < listeners; i++) {
+            notifier.addListener(new RunListener() {
+                @Override
+                public void testStarted(Description description) {
+                    blackhole.consume(description);
+                }
+
+                @Override
+                public void testFinished(Description description) {
+                    blackhole.consume(description);
+                }
+            });
+        }
+    }
+
+    @Benchmark
+    public void passingTest() {
+        notifier.fireTestStarted(test);
+        notifier.fireTestFinished(test);
+    }
+}
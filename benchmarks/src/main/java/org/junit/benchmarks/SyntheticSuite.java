@@ -0,0 +1,71 @@
+package org.junit.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.ParentRunner;
+import org.junit.runners.Suite;
+import org.junit.runners.model.InitializationError;
+
+/**
+ * Builds suites of arbitrary size without compiling test classes for them.
+ * Each "class" is a {@link ParentRunner} whose tests only report that they
+ * started and finished.
+ */
+final class SyntheticSuite {
+
+    static Suite create(int classes, int testsPerClass) {
+        try {
+            List<Runner> runners = new ArrayList<Runner>(classes);
+            for (int i = 0; i < classes; i++) {
+                runners.add(new SyntheticClassRunner("org.example.Test" + i, testsPerClass));
+            }
+            return new Suite((Class<?>) null, runners) {
+            };
+        } catch (InitializationError e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static final class SyntheticClassRunner extends ParentRunner<Description> {
+        private final String className;
+        private final List<Description> children;
+
+        SyntheticClassRunner(String className, int tests) throws InitializationError {
+            super((Class<?>) null);
+            this.className = className;
+            children = new ArrayList<Description>(tests);
+            // descending, so that sorting has something to do
+            for (int i = tests - 1; i >= 0; i--) {
+                children.add(Description.createTestDescription(className, "test" + i));
+            }
+        }
+
+        @Override
+        protected String getName() {
+            return className;
+        }
+
+        @Override
+        protected List<Description> getChildren() {
+            return children;
+        }
+
+        @Override
+        protected Description describeChild(Description child) {
+            return child;
+        }
+
+        @Override
+        protected void runChild(Description child, RunNotifier notifier) {
+            notifier.fireTestStarted(child);
+            notifier.fireTestFinished(child);
+        }
+    }
+
+    private SyntheticSuite() {
+    }
+}
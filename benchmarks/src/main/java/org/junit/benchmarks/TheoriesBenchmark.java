@@ -0,0 +1,62 @@
+package org.junit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assume;
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.Result;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.InitializationError;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures running theories over all assignments of their data points, with
+ * and without assumptions rejecting most of the assignments.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TheoriesBenchmark {
+
+    public static class ThreeParameterTheories {
+        @DataPoints
+        public static final int[] NUMBERS = new int[20];
+
+        static {
+            for (int i = 0; i < NUMBERS.length; i++) {
+                NUMBERS[i] = i;
+            }
+        }
+
+        @Theory
+        public void allAssignments(int a, int b, int c) {
+        }
+
+        @Theory
+        public void mostAssignmentsRejected(int a, int b, int c) {
+            Assume.assumeTrue(a < b && b < c && c - a < 3);
+        }
+    }
+
+    @Benchmark
+    public Result eightThousandAssignmentsPerTheory() throws InitializationError {
+        Result result = new Result();
+        RunNotifier notifier = new RunNotifier();
+        notifier.addListener(result.createListener());
+        new Theories(ThreeParameterTheories.class).run(notifier);
+        return result;
+    }
+}
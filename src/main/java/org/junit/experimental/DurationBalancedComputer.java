@@ -0,0 +1,327 @@
+package org.junit.experimental;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.runner.Computer;
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runners.ParentRunner;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerBuilder;
+import org.junit.runners.model.RunnerScheduler;
+
+/**
+ * A {@link Computer} that runs classes in parallel on a fixed number of
+ * workers, starting the classes that are expected to take longest first
+ * (longest processing time first). When the durations are accurate, this
+ * keeps a long class from starting last and determining the duration of the
+ * whole run.
+ *
+ * <p>The expected duration of a class is the sum of the durations of its
+ * tests, as provided by a {@link DurationSource}, for example the durations
+ * recorded by a {@link org.junit.experimental.max.MaxHistory}:
+ * <pre>
+ * MaxHistory history = MaxHistory.forFolder(file);
+ * JUnitCore core = new JUnitCore();
+ * core.addListener(history.listener());
+ * core.run(new DurationBalancedComputer(history.durations(), 4), classes);
+ * </pre>
+ * Tests whose duration is not known are expected to take as long as the
+ * average test with a known duration.
+ *
+ * <p>Each worker takes the longest class that has not been started yet
+ * whenever it becomes free. The makespan that was predicted for this
+ * schedule and the actual one can be compared with {@link #getStatistics()}
+ * at the end of the run.
+ *
+ * <p>WARNING: still experimental, may go away.
+ *
+ * @since 4.13.3
+ */
+public class DurationBalancedComputer extends Computer {
+    /**
+     * The expected duration of a test, in nanoseconds, if the durations of
+     * none of the tests are known.
+     */
+    private static final long DEFAULT_ESTIMATE = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final DurationSource durations;
+
+    private final int workers;
+
+    private volatile Statistics statistics;
+
+    /**
+     * Creates a computer with as many workers as there are available
+     * processors.
+     */
+    public DurationBalancedComputer(DurationSource durations) {
+        this(durations, Runtime.getRuntime().availableProcessors());
+    }
+
+    public DurationBalancedComputer(DurationSource durations, int workers) {
+        if (durations == null) {
+            throw new NullPointerException("durations cannot be null");
+        }
+        if (workers < 1) {
+            throw new IllegalArgumentException("workers must be at least 1");
+        }
+        this.durations = durations;
+        this.workers = workers;
+    }
+
+    /**
+     * Returns the number of workers that run classes in parallel.
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Returns the statistics of the last run of this computer, or
+     * {@code null} if it has not run yet.
+     */
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public Runner getSuite(RunnerBuilder builder, Class<?>[] classes)
+            throws InitializationError {
+        Runner suite = super.getSuite(builder, classes);
+        if (suite instanceof ParentRunner) {
+            ((ParentRunner<?>) suite).setScheduler(new BalancingScheduler(suite));
+        }
+        return suite;
+    }
+
+    /**
+     * Predicted and actual makespan of a run of a
+     * {@link DurationBalancedComputer}.
+     */
+    public static final class Statistics {
+        private final int workers;
+        private final int classes;
+        private final int estimatedClasses;
+        private final long predictedNanos;
+        private final long actualNanos;
+
+        Statistics(int workers, int classes, int estimatedClasses, long predictedNanos,
+                long actualNanos) {
+            this.workers = workers;
+            this.classes = classes;
+            this.estimatedClasses = estimatedClasses;
+            this.predictedNanos = predictedNanos;
+            this.actualNanos = actualNanos;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        /**
+         * Returns the number of classes that were run.
+         */
+        public int getClasses() {
+            return classes;
+        }
+
+        /**
+         * Returns the number of classes with at least one test whose duration
+         * was not known and had to be estimated.
+         */
+        public int getEstimatedClasses() {
+            return estimatedClasses;
+        }
+
+        /**
+         * Returns the time the run was expected to take.
+         */
+        public long getPredictedMakespan(TimeUnit unit) {
+            return unit.convert(predictedNanos, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Returns the time between the first class being started and the last
+         * one finishing.
+         */
+        public long getActualMakespan(TimeUnit unit) {
+            return unit.convert(actualNanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("workers=%d, classes=%d, estimatedClasses=%d,"
+                    + " predictedMakespan=%dms, actualMakespan=%dms",
+                    workers, classes, estimatedClasses,
+                    getPredictedMakespan(TimeUnit.MILLISECONDS),
+                    getActualMakespan(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    /**
+     * Collects the child statements of the suite and runs them, longest
+     * first, when all of them have been scheduled. The statements are
+     * scheduled in the order of the children of the suite's description.
+     */
+    private final class BalancingScheduler implements RunnerScheduler {
+        private final Runner suite;
+        private final List<Runnable> children = new ArrayList<Runnable>();
+
+        BalancingScheduler(Runner suite) {
+            this.suite = suite;
+        }
+
+        public void schedule(Runnable childStatement) {
+            children.add(childStatement);
+        }
+
+        public void finished() {
+            try {
+                run(children.toArray(new Runnable[children.size()]));
+            } finally {
+                children.clear();
+            }
+        }
+
+        private void run(final Runnable[] statements) {
+            final Integer[] order = new Integer[statements.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            final long[] costs = new long[statements.length];
+            int estimatedClasses = estimateCosts(costs);
+            // stable, so classes with the same cost keep their order
+            Arrays.sort(order, new Comparator<Integer>() {
+                public int compare(Integer o1, Integer o2) {
+                    long first = costs[o1];
+                    long second = costs[o2];
+                    return first > second ? -1 : (first == second ? 0 : 1);
+                }
+            });
+            long predicted = predictMakespan(costs, order);
+
+            final AtomicInteger next = new AtomicInteger();
+            final Throwable[] failure = new Throwable[1];
+            Thread[] threads = new Thread[Math.min(workers, statements.length)];
+            for (int i = 0; i < threads.length; i++) {
+                threads[i] = new Thread(new Runnable() {
+                    public void run() {
+                        int index;
+                        while ((index = next.getAndIncrement()) < order.length) {
+                            try {
+                                statements[order[index]].run();
+                            } catch (Throwable e) {
+                                synchronized (failure) {
+                                    if (failure[0] == null) {
+                                        failure[0] = e;
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }, "DurationBalancedComputer-worker-" + (i + 1));
+            }
+            long start = System.nanoTime();
+            for (Thread each : threads) {
+                each.start();
+            }
+            try {
+                for (Thread each : threads) {
+                    each.join();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long actual = System.nanoTime() - start;
+            statistics = new Statistics(workers, statements.length, estimatedClasses,
+                    predicted, actual);
+
+            synchronized (failure) {
+                if (failure[0] instanceof RuntimeException) {
+                    throw (RuntimeException) failure[0];
+                } else if (failure[0] instanceof Error) {
+                    throw (Error) failure[0];
+                }
+            }
+        }
+
+        /**
+         * Stores the expected duration of each class in {@code costs} and
+         * returns the number of classes with tests of unknown duration.
+         */
+        private int estimateCosts(long[] costs) {
+            List<Description> classes = suite.getDescription().getChildrenView();
+            if (classes.size() != costs.length) {
+                // cannot match the statements with their classes
+                return costs.length;
+            }
+            long[] unknownTests = new long[costs.length];
+            long knownDuration = 0;
+            long knownTests = 0;
+            for (int i = 0; i < costs.length; i++) {
+                long[] sums = new long[3];
+                addDurations(classes.get(i), sums);
+                costs[i] = sums[0];
+                knownTests += sums[1];
+                unknownTests[i] = sums[2];
+                knownDuration += sums[0];
+            }
+            long estimate = knownTests == 0 ? DEFAULT_ESTIMATE : knownDuration / knownTests;
+            int estimatedClasses = 0;
+            for (int i = 0; i < costs.length; i++) {
+                if (unknownTests[i] > 0) {
+                    costs[i] += unknownTests[i] * estimate;
+                    estimatedClasses++;
+                }
+            }
+            return estimatedClasses;
+        }
+
+        /**
+         * Adds the known duration, the number of tests with a known duration
+         * and the number of tests with an unknown duration of
+         * {@code description} to {@code sums}.
+         */
+        private void addDurations(Description description, long[] sums) {
+            if (description.isTest()) {
+                long duration = durations.getDuration(description);
+                if (duration == DurationSource.UNKNOWN) {
+                    sums[2]++;
+                } else {
+                    sums[0] += duration;
+                    sums[1]++;
+                }
+            } else {
+                for (Description each : description.getChildrenView()) {
+                    addDurations(each, sums);
+                }
+            }
+        }
+
+        /**
+         * Returns the makespan of running the classes in {@code order}, each
+         * on the worker that becomes free first.
+         */
+        private long predictMakespan(long[] costs, Integer[] order) {
+            PriorityQueue<Long> loads = new PriorityQueue<Long>();
+            for (int i = 0; i < workers; i++) {
+                loads.add(0L);
+            }
+            long makespan = 0;
+            for (Integer each : order) {
+                long load = loads.poll() + costs[each];
+                makespan = Math.max(makespan, load);
+                loads.add(load);
+            }
+            return makespan;
+        }
+    }
+}
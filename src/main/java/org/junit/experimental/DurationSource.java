@@ -0,0 +1,27 @@
+package org.junit.experimental;
+
+import org.junit.runner.Description;
+
+/**
+ * Provides the expected durations of tests, for example the durations that
+ * were recorded in earlier runs.
+ *
+ * <p>WARNING: still experimental, may go away.
+ *
+ * @see DurationBalancedComputer
+ * @see org.junit.experimental.max.MaxHistory#durations()
+ * @since 4.13.3
+ */
+public interface DurationSource {
+    /**
+     * Returned by {@link #getDuration(Description)} for tests whose duration
+     * is not known.
+     */
+    long UNKNOWN = -1;
+
+    /**
+     * Returns the expected duration of {@code test} in nanoseconds, or
+     * {@link #UNKNOWN} if it is not known.
+     */
+    long getDuration(Description test);
+}
@@ -16,9 +16,16 @@ public class ParallelComputer extends Computer {
 
     private final boolean methods;
 
+    private final boolean virtualThreads;
+
     public ParallelComputer(boolean classes, boolean methods) {
+        this(classes, methods, false);
+    }
+
+    private ParallelComputer(boolean classes, boolean methods, boolean virtualThreads) {
         this.classes = classes;
         this.methods = methods;
+        this.virtualThreads = virtualThreads;
     }
 
     public static Computer classes() {
@@ -29,28 +36,57 @@ public class ParallelComputer extends Computer {
         return new ParallelComputer(false, true);
     }
 
-    private static Runner parallelize(Runner runner) {
-        if (runner instanceof ParentRunner) {
-            ((ParentRunner<?>) runner).setScheduler(new RunnerScheduler() {
-                private final ExecutorService fService = Executors.newCachedThreadPool();
+    /**
+     * Returns a computer that runs classes in parallel, each on its own
+     * virtual thread if the JDK supports them.
+     *
+     * @see VirtualThreadScheduler
+     * @since 4.13.3
+     */
+    public static Computer virtualThreadClasses() {
+        return new ParallelComputer(true, false, true);
+    }
 
-                public void schedule(Runnable childStatement) {
-                    fService.submit(childStatement);
-                }
+    /**
+     * Returns a computer that runs methods in parallel, each on its own
+     * virtual thread if the JDK supports them.
+     *
+     * @see VirtualThreadScheduler
+     * @since 4.13.3
+     */
+    public static Computer virtualThreadMethods() {
+        return new ParallelComputer(false, true, true);
+    }
 
-                public void finished() {
-                    try {
-                        fService.shutdown();
-                        fService.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
-                    } catch (InterruptedException e) {
-                        e.printStackTrace(System.err);
-                    }
-                }
-            });
+    private Runner parallelize(Runner runner) {
+        if (runner instanceof ParentRunner) {
+            ((ParentRunner<?>) runner).setScheduler(newScheduler());
         }
         return runner;
     }
 
+    private RunnerScheduler newScheduler() {
+        if (virtualThreads) {
+            return new VirtualThreadScheduler();
+        }
+        return new RunnerScheduler() {
+            private final ExecutorService fService = Executors.newCachedThreadPool();
+
+            public void schedule(Runnable childStatement) {
+                fService.submit(childStatement);
+            }
+
+            public void finished() {
+                try {
+                    fService.shutdown();
+                    fService.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    e.printStackTrace(System.err);
+                }
+            }
+        };
+    }
+
     @Override
     public Runner getSuite(RunnerBuilder builder, java.lang.Class<?>[] classes)
             throws InitializationError {
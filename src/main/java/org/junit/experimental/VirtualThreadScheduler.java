@@ -0,0 +1,102 @@
+package org.junit.experimental;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.runners.model.RunnerScheduler;
+
+/**
+ * A {@link RunnerScheduler} that runs each child statement on its own virtual
+ * thread. This suits tests that spend most of their time blocked on I/O, as
+ * tens of thousands of them can run concurrently without the memory cost of a
+ * platform thread each.
+ *
+ * <p>Virtual threads are looked up reflectively, so this class can be used on
+ * any JDK. On JDKs without virtual threads, child statements are run on a
+ * cached pool of platform threads, like {@link ParallelComputer} does.
+ *
+ * <p>WARNING: still experimental, may go away.
+ *
+ * @see ParallelComputer#virtualThreadClasses()
+ * @see ParallelComputer#virtualThreadMethods()
+ * @since 4.13.3
+ */
+public class VirtualThreadScheduler implements RunnerScheduler {
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findVirtualThreadFactoryMethod();
+
+    private final ExecutorService fService;
+
+    private final boolean fVirtual;
+
+    public VirtualThreadScheduler() {
+        ExecutorService virtualThreadExecutor = newVirtualThreadPerTaskExecutor();
+        fVirtual = virtualThreadExecutor != null;
+        fService = fVirtual ? virtualThreadExecutor : Executors.newCachedThreadPool();
+    }
+
+    /**
+     * Returns {@code true} if virtual threads can be created on the running
+     * JDK. If not, schedulers fall back to platform threads.
+     */
+    public static boolean isVirtualThreadSupportAvailable() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Returns {@code true} if this scheduler runs children on virtual threads.
+     */
+    public boolean isUsingVirtualThreads() {
+        return fVirtual;
+    }
+
+    public void schedule(Runnable childStatement) {
+        fService.submit(childStatement);
+    }
+
+    public void finished() {
+        try {
+            fService.shutdown();
+            fService.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            e.printStackTrace(System.err);
+        }
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR == null) {
+            return null;
+        }
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+        } catch (Exception e) {
+            // e.g. virtual threads are a disabled preview feature
+            return null;
+        }
+    }
+
+    /**
+     * Returns the method that creates an executor of virtual threads, or
+     * {@code null} if it does not exist or cannot create one.
+     */
+    private static Method findVirtualThreadFactoryMethod() {
+        Method method;
+        try {
+            // Executors.newVirtualThreadPerTaskExecutor() is a preview API in
+            // Java 19 and 20, and final since Java 21
+            method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (SecurityException e) {
+            return null;
+        }
+        try {
+            // fails if the method is a preview API that is not enabled
+            ((ExecutorService) method.invoke(null)).shutdown();
+            return method;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
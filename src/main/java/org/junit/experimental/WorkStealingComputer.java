@@ -0,0 +1,459 @@
+package org.junit.experimental;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.runner.Computer;
+import org.junit.runner.Runner;
+import org.junit.runners.ParentRunner;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerBuilder;
+import org.junit.runners.model.RunnerScheduler;
+
+/**
+ * A {@link Computer} that runs classes and/or methods in parallel on a single,
+ * bounded pool of worker threads shared by every {@link ParentRunner} it
+ * creates.
+ *
+ * <p>Unlike {@link ParallelComputer}, which creates an unbounded thread pool
+ * per runner, all scheduling goes through one pool whose size is fixed by the
+ * configured parallelism. On JDKs that provide it the pool is a work-stealing
+ * {@code java.util.concurrent.ForkJoinPool}; otherwise a fixed-size pool is
+ * used. Children of a runner are forked as subtasks, and a runner waiting for
+ * its children to finish runs the children that have not been picked up by a
+ * worker yet itself, so nested class and method level scheduling cannot starve
+ * the pool. Because of this, the thread that starts the run may execute tests
+ * in addition to the workers.
+ *
+ * <p>Pool utilization can be inspected with {@link #getStatistics()}.
+ *
+ * <p>WARNING: still experimental, may go away.
+ *
+ * @since 4.13.3
+ */
+public class WorkStealingComputer extends Computer {
+    private final boolean classes;
+
+    private final boolean methods;
+
+    private final int parallelism;
+
+    private final Pool pool;
+
+    /**
+     * Creates a computer with a parallelism equal to the number of available
+     * processors.
+     */
+    public WorkStealingComputer(boolean classes, boolean methods) {
+        this(classes, methods, Runtime.getRuntime().availableProcessors());
+    }
+
+    public WorkStealingComputer(boolean classes, boolean methods, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.classes = classes;
+        this.methods = methods;
+        this.parallelism = parallelism;
+        pool = new Pool(parallelism);
+    }
+
+    public static WorkStealingComputer classes() {
+        return new WorkStealingComputer(true, false);
+    }
+
+    public static WorkStealingComputer methods() {
+        return new WorkStealingComputer(false, true);
+    }
+
+    public static WorkStealingComputer classesAndMethods() {
+        return new WorkStealingComputer(true, true);
+    }
+
+    /**
+     * Returns the maximum number of worker threads used by this computer.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Returns a snapshot of the utilization of the pool, accumulated over all
+     * runs of this computer.
+     */
+    public Statistics getStatistics() {
+        return pool.statistics();
+    }
+
+    private Runner parallelize(Runner runner) {
+        if (runner instanceof ParentRunner) {
+            ((ParentRunner<?>) runner).setScheduler(new ForkingScheduler(pool));
+        }
+        return runner;
+    }
+
+    @Override
+    public Runner getSuite(RunnerBuilder builder, Class<?>[] classes)
+            throws InitializationError {
+        Runner suite = super.getSuite(builder, classes);
+        return this.classes ? parallelize(suite) : suite;
+    }
+
+    @Override
+    protected Runner getRunner(RunnerBuilder builder, Class<?> testClass)
+            throws Throwable {
+        Runner runner = super.getRunner(builder, testClass);
+        return methods ? parallelize(runner) : runner;
+    }
+
+    /**
+     * Utilization of the pool of a {@link WorkStealingComputer}.
+     */
+    public static final class Statistics {
+        private final int parallelism;
+        private final long forkedTasks;
+        private final long tasksRunByWorkers;
+        private final long tasksRunByJoiningThreads;
+        private final int peakActiveWorkers;
+        private final long busyNanos;
+        private final long elapsedNanos;
+
+        Statistics(int parallelism, long forkedTasks, long tasksRunByWorkers,
+                long tasksRunByJoiningThreads, int peakActiveWorkers,
+                long busyNanos, long elapsedNanos) {
+            this.parallelism = parallelism;
+            this.forkedTasks = forkedTasks;
+            this.tasksRunByWorkers = tasksRunByWorkers;
+            this.tasksRunByJoiningThreads = tasksRunByJoiningThreads;
+            this.peakActiveWorkers = peakActiveWorkers;
+            this.busyNanos = busyNanos;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        /**
+         * Returns the number of child statements that were scheduled.
+         */
+        public long getForkedTasks() {
+            return forkedTasks;
+        }
+
+        /**
+         * Returns the number of child statements that were run by a worker of
+         * the pool.
+         */
+        public long getTasksRunByWorkers() {
+            return tasksRunByWorkers;
+        }
+
+        /**
+         * Returns the number of child statements that were run by the thread
+         * waiting for them to finish, because no worker had picked them up.
+         */
+        public long getTasksRunByJoiningThreads() {
+            return tasksRunByJoiningThreads;
+        }
+
+        /**
+         * Returns the highest number of workers that were running child
+         * statements at the same time.
+         */
+        public int getPeakActiveWorkers() {
+            return peakActiveWorkers;
+        }
+
+        /**
+         * Returns the time the workers spent running child statements, not
+         * counting the time they were blocked waiting for nested children.
+         */
+        public long getBusyTime(TimeUnit unit) {
+            return unit.convert(busyNanos, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Returns the time between the first child statement being scheduled
+         * and the last one finishing.
+         */
+        public long getElapsedTime(TimeUnit unit) {
+            return unit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Returns the ratio of the busy time of the workers to the time they
+         * were available, in the range {@code [0, 1]}.
+         */
+        public double getUtilization() {
+            if (elapsedNanos <= 0) {
+                return 0;
+            }
+            double utilization = (double) busyNanos / ((double) elapsedNanos * parallelism);
+            return Math.min(1.0, utilization);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("parallelism=%d, forked=%d, runByWorkers=%d,"
+                    + " runByJoiningThreads=%d, peakActiveWorkers=%d, utilization=%.1f%%",
+                    parallelism, forkedTasks, tasksRunByWorkers, tasksRunByJoiningThreads,
+                    peakActiveWorkers, getUtilization() * 100);
+        }
+    }
+
+    /**
+     * A {@link RunnerScheduler} that forks each child statement as a task of
+     * the shared pool. When all children have been scheduled, the thread
+     * calling {@link #finished()} runs the children that are still pending
+     * and then waits for the ones that are running on workers.
+     */
+    private static final class ForkingScheduler implements RunnerScheduler {
+        private final Pool pool;
+        private final Queue<ChildTask> pending = new ConcurrentLinkedQueue<ChildTask>();
+        private final List<ChildTask> forked = new ArrayList<ChildTask>();
+
+        ForkingScheduler(Pool pool) {
+            this.pool = pool;
+        }
+
+        public void schedule(Runnable childStatement) {
+            if (forked.isEmpty()) {
+                pool.enter();
+            }
+            ChildTask task = new ChildTask(childStatement);
+            forked.add(task);
+            pending.add(task);
+            pool.fork(pending);
+        }
+
+        public void finished() {
+            Throwable failure = null;
+            try {
+                ChildTask task;
+                while ((task = pending.poll()) != null) {
+                    pool.runByJoiningThread(task);
+                }
+                for (ChildTask each : forked) {
+                    Throwable e = pool.join(each);
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                if (!forked.isEmpty()) {
+                    forked.clear();
+                    pool.exit();
+                }
+            }
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+        }
+    }
+
+    private static final class ChildTask {
+        private final Runnable statement;
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile Throwable failure;
+
+        ChildTask(Runnable statement) {
+            this.statement = statement;
+        }
+
+        void run() {
+            try {
+                statement.run();
+            } catch (Throwable e) {
+                failure = e;
+            }
+        }
+
+        /**
+         * Releases the threads waiting for this task. Called by the pool once
+         * it has accounted for the task.
+         */
+        void complete() {
+            done.countDown();
+        }
+
+        /**
+         * Waits for the task to finish, returning what the child statement
+         * threw, or {@code null} if it completed normally.
+         */
+        Throwable await() throws InterruptedException {
+            done.await();
+            return failure;
+        }
+    }
+
+    private static final class Pool {
+        private final ThreadLocal<Boolean> isWorker = new ThreadLocal<Boolean>();
+        private final int parallelism;
+        // null while no scheduler is forking tasks; written while holding this
+        private volatile ExecutorService executor;
+        // Guarded by this
+        private int activeSchedulers;
+        private final AtomicLong forkedTasks = new AtomicLong();
+        private final AtomicLong tasksRunByWorkers = new AtomicLong();
+        private final AtomicLong tasksRunByJoiningThreads = new AtomicLong();
+        private final AtomicInteger activeWorkers = new AtomicInteger();
+        private final AtomicInteger peakActiveWorkers = new AtomicInteger();
+        private final AtomicLong busyNanos = new AtomicLong();
+        private final AtomicLong firstForkNanos = new AtomicLong();
+        private final AtomicLong lastFinishNanos = new AtomicLong();
+        private volatile boolean started;
+
+        Pool(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        /**
+         * Called before a scheduler forks its first task.
+         */
+        synchronized void enter() {
+            if (activeSchedulers++ == 0 && executor == null) {
+                executor = createExecutor(parallelism);
+            }
+        }
+
+        /**
+         * Called after a scheduler has joined all of its tasks. When no
+         * scheduler is left, the fallback pool is shut down, so that its
+         * threads do not outlive the run. The idle threads of a
+         * {@code ForkJoinPool} terminate by themselves.
+         */
+        synchronized void exit() {
+            if (--activeSchedulers == 0 && executor instanceof ThreadPoolExecutor) {
+                executor.shutdown();
+                executor = null;
+            }
+        }
+
+        void fork(final Queue<ChildTask> pending) {
+            if (!started) {
+                synchronized (this) {
+                    if (!started) {
+                        firstForkNanos.set(System.nanoTime());
+                        lastFinishNanos.set(firstForkNanos.get());
+                        started = true;
+                    }
+                }
+            }
+            forkedTasks.incrementAndGet();
+            executor.execute(new Runnable() {
+                public void run() {
+                    ChildTask task = pending.poll();
+                    if (task != null) {
+                        runByWorker(task);
+                    }
+                }
+            });
+        }
+
+        void runByWorker(ChildTask task) {
+            isWorker.set(Boolean.TRUE);
+            updatePeak(activeWorkers.incrementAndGet());
+            long start = System.nanoTime();
+            try {
+                task.run();
+            } finally {
+                long end = System.nanoTime();
+                busyNanos.addAndGet(end - start);
+                updateLastFinish(end);
+                activeWorkers.decrementAndGet();
+                tasksRunByWorkers.incrementAndGet();
+                isWorker.remove();
+                task.complete();
+            }
+        }
+
+        void runByJoiningThread(ChildTask task) {
+            try {
+                task.run();
+            } finally {
+                updateLastFinish(System.nanoTime());
+                tasksRunByJoiningThreads.incrementAndGet();
+                task.complete();
+            }
+        }
+
+        Throwable join(ChildTask task) throws InterruptedException {
+            if (isWorker.get() == null) {
+                return task.await();
+            }
+            // A worker blocked on a nested child is not busy.
+            long start = System.nanoTime();
+            try {
+                return task.await();
+            } finally {
+                busyNanos.addAndGet(start - System.nanoTime());
+            }
+        }
+
+        private void updatePeak(int active) {
+            int peak;
+            do {
+                peak = peakActiveWorkers.get();
+            } while (active > peak && !peakActiveWorkers.compareAndSet(peak, active));
+        }
+
+        private void updateLastFinish(long finish) {
+            long last;
+            do {
+                last = lastFinishNanos.get();
+            } while (finish - last > 0 && !lastFinishNanos.compareAndSet(last, finish));
+        }
+
+        Statistics statistics() {
+            long elapsed = started ? lastFinishNanos.get() - firstForkNanos.get() : 0;
+            return new Statistics(parallelism, forkedTasks.get(),
+                    tasksRunByWorkers.get(), tasksRunByJoiningThreads.get(),
+                    peakActiveWorkers.get(), Math.max(0, busyNanos.get()),
+                    Math.max(0, elapsed));
+        }
+
+        /**
+         * Creates a {@code ForkJoinPool} if the JDK provides one and a fixed
+         * size pool of daemon threads otherwise.
+         */
+        private static ExecutorService createExecutor(int parallelism) {
+            try {
+                Class<?> forkJoinPool = Class.forName("java.util.concurrent.ForkJoinPool");
+                return (ExecutorService) forkJoinPool.getConstructor(int.class)
+                        .newInstance(parallelism);
+            } catch (Exception e) {
+                // ForkJoinPool was added in Java 7
+                return new ThreadPoolExecutor(parallelism, parallelism, 0L,
+                        TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(),
+                        new DaemonThreadFactory());
+            }
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable,
+                    "WorkStealingComputer-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
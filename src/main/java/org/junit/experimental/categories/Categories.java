@@ -1,14 +1,23 @@
 package org.junit.experimental.categories;
 
+import java.io.IOException;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.junit.runner.Description;
+import org.junit.runner.RunWith;
+import org.junit.runner.manipulation.ClassMetadata;
 import org.junit.runner.manipulation.Filter;
 import org.junit.runner.manipulation.NoTestsRemainException;
 import org.junit.runners.Suite;
@@ -117,6 +126,9 @@ public class Categories extends Suite {
         private final Set<Class<?>> excluded;
         private final boolean includedAny;
         private final boolean excludedAny;
+        private final CategoryMatcher matcher;
+        // Guarded by itself
+        private final Map<Description, Boolean> subtreeResults = new IdentityHashMap<Description, Boolean>();
 
         public static CategoryFilter include(boolean matchAny, Class<?>... categories) {
             return new CategoryFilter(matchAny, categories, true, null);
@@ -153,6 +165,7 @@ public class Categories extends Suite {
             excludedAny = true;
             included = nullableClassToSet(includedCategory);
             excluded = nullableClassToSet(excludedCategory);
+            matcher = new CategoryMatcher(includedAny, included, excludedAny, excluded);
         }
 
         protected CategoryFilter(boolean matchAnyIncludes, Set<Class<?>> includes,
@@ -161,6 +174,7 @@ public class Categories extends Suite {
             excludedAny = matchAnyExcludes;
             included = copyAndRefine(includes);
             excluded = copyAndRefine(excludes);
+            matcher = new CategoryMatcher(includedAny, included, excludedAny, excluded);
         }
 
         private CategoryFilter(boolean matchAnyIncludes, Class<?>[] inclusions,
@@ -169,6 +183,7 @@ public class Categories extends Suite {
             excludedAny = matchAnyExcludes;
             included = createSet(inclusions);
             excluded = createSet(exclusions);
+            matcher = new CategoryMatcher(includedAny, included, excludedAny, excluded);
         }
 
         /**
@@ -203,96 +218,85 @@ public class Categories extends Suite {
 
         @Override
         public boolean shouldRun(Description description) {
-            if (hasCorrectCategoryAnnotation(description)) {
-                return true;
+            if (description.isTest() || !description.isSealed()) {
+                return hasCorrectCategoryAnnotationInSubtree(description);
             }
-
-            for (Description each : description.getChildren()) {
-                if (shouldRun(each)) {
-                    return true;
+            // the children of a sealed suite do not change, so neither does the result
+            synchronized (subtreeResults) {
+                Boolean result = subtreeResults.get(description);
+                if (result != null) {
+                    return result;
                 }
             }
-
-            return false;
-        }
-
-        private boolean hasCorrectCategoryAnnotation(Description description) {
-            final Set<Class<?>> childCategories= categories(description);
-
-            // If a child has no categories, immediately return.
-            if (childCategories.isEmpty()) {
-                return included.isEmpty();
+            boolean result = hasCorrectCategoryAnnotationInSubtree(description);
+            synchronized (subtreeResults) {
+                subtreeResults.put(description, result);
             }
+            return result;
+        }
 
-            if (!excluded.isEmpty()) {
-                if (excludedAny) {
-                    if (matchesAnyParentCategories(childCategories, excluded)) {
-                        return false;
+        /**
+         * Returns {@code false} if none of the tests of the class can have
+         * the right categories. This can only be told for classes that are
+         * run by the default runner of JUnit 4 and have no categories on the
+         * methods they declare or inherit, because then every test has just
+         * the categories of the class.
+         */
+        @Override
+        public boolean shouldRunClass(ClassMetadata metadata) {
+            try {
+                List<String> categoryNames = null;
+                ClassMetadata each = metadata;
+                while (true) {
+                    if (each.hasAnnotation(RunWith.class.getName())
+                            || each.hasMethodAnnotation(Category.class.getName())
+                            || each.getMethodNames().contains("suite")
+                            || "junit.framework.TestCase".equals(each.getClassName())) {
+                        return true;
                     }
-                } else {
-                    if (matchesAllParentCategories(childCategories, excluded)) {
-                        return false;
+                    // @Category is inherited from the nearest superclass that has it
+                    if (categoryNames == null && each.hasAnnotation(Category.class.getName())) {
+                        categoryNames = each.getAnnotationValues(Category.class.getName(), "value");
+                    }
+                    String superclassName = each.getSuperclassName();
+                    if (superclassName == null || superclassName.equals(Object.class.getName())) {
+                        break;
+                    }
+                    each = each.readSuperclass();
+                    if (each == null) {
+                        return true;
                     }
                 }
-            }
-
-            if (included.isEmpty()) {
-                // Couldn't be excluded, and with no suite's included categories treated as should run.
-                return true;
-            } else {
-                if (includedAny) {
-                    return matchesAnyParentCategories(childCategories, included);
-                } else {
-                    return matchesAllParentCategories(childCategories, included);
+                ClassLoader classLoader = metadata.getClassLoader() == null
+                        ? getClass().getClassLoader() : metadata.getClassLoader();
+                List<Class<?>> categories = new ArrayList<Class<?>>();
+                if (categoryNames != null) {
+                    for (String name : categoryNames) {
+                        categories.add(Class.forName(name, false, classLoader));
+                    }
                 }
+                return matcher.hasCorrectCategories(categories);
+            } catch (IOException e) {
+                return true;
+            } catch (ClassNotFoundException e) {
+                return true;
+            } catch (LinkageError e) {
+                return true;
             }
         }
 
-        /**
-         * @return <tt>true</tt> if at least one (any) parent category match a child, otherwise <tt>false</tt>.
-         * If empty <tt>parentCategories</tt>, returns <tt>false</tt>.
-         */
-        private boolean matchesAnyParentCategories(Set<Class<?>> childCategories, Set<Class<?>> parentCategories) {
-            for (Class<?> parentCategory : parentCategories) {
-                if (hasAssignableTo(childCategories, parentCategory)) {
-                    return true;
-                }
+        private boolean hasCorrectCategoryAnnotationInSubtree(Description description) {
+            if (matcher.hasCorrectCategoryAnnotation(description)) {
+                return true;
             }
-            return false;
-        }
 
-        /**
-         * @return <tt>false</tt> if at least one parent category does not match children, otherwise <tt>true</tt>.
-         * If empty <tt>parentCategories</tt>, returns <tt>true</tt>.
-         */
-        private boolean matchesAllParentCategories(Set<Class<?>> childCategories, Set<Class<?>> parentCategories) {
-            for (Class<?> parentCategory : parentCategories) {
-                if (!hasAssignableTo(childCategories, parentCategory)) {
-                    return false;
+            for (Description each : description.getChildrenView()) {
+                if (shouldRun(each)) {
+                    return true;
                 }
             }
-            return true;
-        }
-
-        private static Set<Class<?>> categories(Description description) {
-            Set<Class<?>> categories= new HashSet<Class<?>>();
-            Collections.addAll(categories, directCategories(description));
-            Collections.addAll(categories, directCategories(parentDescription(description)));
-            return categories;
-        }
-
-        private static Description parentDescription(Description description) {
-            Class<?> testClass= description.getTestClass();
-            return testClass == null ? null : Description.createSuiteDescription(testClass);
-        }
-
-        private static Class<?>[] directCategories(Description description) {
-            if (description == null) {
-                return new Class<?>[0];
-            }
 
-            Category annotation= description.getAnnotation(Category.class);
-            return annotation == null ? new Class<?>[0] : annotation.value();
+            return false;
         }
 
         private static Set<Class<?>> copyAndRefine(Set<Class<?>> classes) {
@@ -339,15 +343,6 @@ public class Categories extends Suite {
         return annotation == null || annotation.matchAny();
     }
 
-    private static boolean hasAssignableTo(Set<Class<?>> assigns, Class<?> to) {
-        for (final Class<?> from : assigns) {
-            if (to.isAssignableFrom(from)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private static Set<Class<?>> createSet(Class<?>[] classes) {
         // Not throwing a NPE if t is null is a bad idea, but it's the behavior from JUnit 4.12
         // for include(boolean, Class<?>...) and exclude(boolean, Class<?>...)
@@ -372,4 +367,134 @@ public class Categories extends Suite {
                 ? Collections.<Class<?>>emptySet()
                 : Collections.<Class<?>>singleton(nullableClass);
     }
+
+    /**
+     * Decides whether a test has the right categories. The included and the
+     * excluded categories are numbered, and each category of a test is
+     * compiled into a {@link BitSet} of the included and excluded categories
+     * that it is assignable to. The bits of each category and the categories
+     * of each test class are computed only once.
+     */
+    private static final class CategoryMatcher {
+        // marks test classes without categories
+        private static final BitSet NO_CATEGORIES = new BitSet(0);
+
+        private final boolean includedAny;
+        private final boolean excludedAny;
+        // included categories are numbered from 0, excluded ones after them
+        private final Class<?>[] categories;
+        private final int includedCount;
+        private final ConcurrentMap<Class<?>, BitSet> bitsByCategory =
+                new ConcurrentHashMap<Class<?>, BitSet>();
+        private final ConcurrentMap<Class<?>, BitSet> bitsByTestClass =
+                new ConcurrentHashMap<Class<?>, BitSet>();
+
+        CategoryMatcher(boolean includedAny, Set<Class<?>> included,
+                        boolean excludedAny, Set<Class<?>> excluded) {
+            this.includedAny = includedAny;
+            this.excludedAny = excludedAny;
+            List<Class<?>> all = new ArrayList<Class<?>>(included);
+            all.addAll(excluded);
+            categories = all.toArray(new Class<?>[all.size()]);
+            includedCount = included.size();
+        }
+
+        boolean hasCorrectCategoryAnnotation(Description description) {
+            Category annotation = description.getAnnotation(Category.class);
+            BitSet bits = bitsOfTestClass(description.getTestClass());
+
+            if (annotation == null || annotation.value().length == 0) {
+                if (bits == NO_CATEGORIES) {
+                    return hasCorrectCategories(Collections.<Class<?>>emptyList());
+                }
+            } else {
+                bits = copyOf(bits);
+                addBits(annotation.value(), bits);
+            }
+            return matches(bits);
+        }
+
+        /**
+         * Returns whether a test with exactly {@code testCategories} has the
+         * right categories.
+         */
+        boolean hasCorrectCategories(List<Class<?>> testCategories) {
+            // If a child has no categories, immediately return.
+            if (testCategories.isEmpty()) {
+                return includedCount == 0;
+            }
+            BitSet bits = new BitSet(categories.length);
+            addBits(testCategories.toArray(new Class<?>[testCategories.size()]), bits);
+            return matches(bits);
+        }
+
+        private boolean matches(BitSet bits) {
+            int excludedCount = categories.length - includedCount;
+            if (excludedCount > 0) {
+                int matched = countBits(bits, includedCount, categories.length);
+                if (excludedAny ? matched > 0 : matched == excludedCount) {
+                    return false;
+                }
+            }
+
+            if (includedCount == 0) {
+                // Couldn't be excluded, and with no suite's included categories treated as should run.
+                return true;
+            }
+            int matched = countBits(bits, 0, includedCount);
+            return includedAny ? matched > 0 : matched == includedCount;
+        }
+
+        private BitSet bitsOfTestClass(Class<?> testClass) {
+            if (testClass == null) {
+                return NO_CATEGORIES;
+            }
+            BitSet bits = bitsByTestClass.get(testClass);
+            if (bits == null) {
+                Category annotation = testClass.getAnnotation(Category.class);
+                if (annotation == null || annotation.value().length == 0) {
+                    bits = NO_CATEGORIES;
+                } else {
+                    bits = new BitSet(categories.length);
+                    addBits(annotation.value(), bits);
+                }
+                bitsByTestClass.putIfAbsent(testClass, bits);
+            }
+            return bits;
+        }
+
+        private void addBits(Class<?>[] testCategories, BitSet bits) {
+            for (Class<?> each : testCategories) {
+                bits.or(bitsOfCategory(each));
+            }
+        }
+
+        private BitSet bitsOfCategory(Class<?> category) {
+            BitSet bits = bitsByCategory.get(category);
+            if (bits == null) {
+                bits = new BitSet(categories.length);
+                for (int i = 0; i < categories.length; i++) {
+                    if (categories[i].isAssignableFrom(category)) {
+                        bits.set(i);
+                    }
+                }
+                bitsByCategory.putIfAbsent(category, bits);
+            }
+            return bits;
+        }
+
+        private BitSet copyOf(BitSet bits) {
+            BitSet copy = new BitSet(categories.length);
+            copy.or(bits);
+            return copy;
+        }
+
+        private static int countBits(BitSet bits, int from, int to) {
+            int count = 0;
+            for (int i = bits.nextSetBit(from); i >= 0 && i < to; i = bits.nextSetBit(i + 1)) {
+                count++;
+            }
+            return count;
+        }
+    }
 }
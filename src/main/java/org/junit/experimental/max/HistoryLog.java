@@ -0,0 +1,536 @@
+package org.junit.experimental.max;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The history of {@link MaxHistory} as an append-only log of binary records.
+ * A test's name is written once, in a key record that implicitly assigns it
+ * the next id. The name of its class is written once per class, in a class
+ * record, and the key record refers to it. After that, each result of the
+ * test is a fixed-size update record with the test's id, its duration and its
+ * failure timestamp.
+ *
+ * <p>The records are kept in memory in an open-addressing hash table of
+ * names with primitive {@code long} values. Updates are appended to the log
+ * when they happen; every {@code recordsPerSync} records the log is forced to
+ * the disk, so a crash loses at most that many results. A record that was
+ * cut off by a crash is ignored when the log is read, and removed before the
+ * log is written again. When the log holds
+ * more than twice as many records as necessary, {@link #close()} rewrites
+ * it with one key and one update record per test.
+ *
+ * <p>Not thread-safe.
+ */
+final class HistoryLog {
+    static final long NONE = Long.MIN_VALUE;
+
+    private static final int MAGIC = 0x4a4d4158; // "JMAX"
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 8;
+
+    private static final byte CLASS = 'C';
+
+    private static final byte KEY = 'K';
+
+    private static final int NO_CLASS = -1;
+
+    private static final byte UPDATE = 'U';
+
+    private static final String ENCODING = "UTF-8";
+
+    private static final int MIN_RECORDS_TO_COMPACT = 1024;
+
+    private final File file;
+
+    private final int recordsPerSync;
+
+    private final boolean readOnly;
+
+    // open-addressing hash table; null keys are free slots
+    private String[] keys = new String[16];
+    private int[] ids = new int[16];
+    private long[] durations = new long[16];
+    private long[] failureTimestamps = new long[16];
+    private int size;
+
+    // the slot of each id
+    private int[] slots = new int[16];
+
+    private Map<String, Integer> classIds = new HashMap<String, Integer>();
+
+    private long records;
+
+    private int unsyncedRecords;
+
+    // the length of the valid records that were read, or -1
+    private long validLength = -1;
+
+    // whether the next write replaces the file
+    private boolean replaceFile;
+
+    private FileOutputStream out;
+
+    private DataOutputStream data;
+
+    private HistoryLog(File file, int recordsPerSync, boolean readOnly) {
+        this.file = file;
+        this.recordsPerSync = recordsPerSync;
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Reads the log in {@code file}, if it exists.
+     *
+     * @throws IOException if the file is not a valid log
+     */
+    static HistoryLog open(File file, int recordsPerSync) throws IOException {
+        HistoryLog log = new HistoryLog(file, recordsPerSync, false);
+        File compacted = compactedFile(file);
+        if (!file.exists() && compacted.exists() && !compacted.renameTo(file)) {
+            throw new IOException("Could not move " + compacted + " to " + file);
+        }
+        if (file.exists()) {
+            log.read();
+        }
+        return log;
+    }
+
+    /**
+     * Reads the log in {@code file}, if it exists, or else the compacted log
+     * that would replace it, without changing either file. The returned log
+     * cannot be written.
+     *
+     * @throws IOException if the file is not a valid log
+     */
+    static HistoryLog openReadOnly(File file) throws IOException {
+        File compacted = compactedFile(file);
+        File source = !file.exists() && compacted.exists() ? compacted : file;
+        HistoryLog log = new HistoryLog(source, 1, true);
+        if (source.exists()) {
+            log.read();
+        }
+        return log;
+    }
+
+    /**
+     * Creates an empty log that replaces {@code file} when it is written.
+     */
+    static HistoryLog create(File file, int recordsPerSync) {
+        HistoryLog log = new HistoryLog(file, recordsPerSync, false);
+        log.replaceFile = true;
+        return log;
+    }
+
+    private void read() throws IOException {
+        ByteBuffer buffer = readFile(file);
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IOException("Not a history log: " + file);
+        }
+        validLength = readRecords(buffer);
+    }
+
+    /**
+     * Reads the whole file into a heap buffer. A mapped file could not be
+     * truncated or replaced on Windows until the mapping is garbage collected.
+     */
+    private static ByteBuffer readFile(File file) throws IOException {
+        FileInputStream input = new FileInputStream(file);
+        try {
+            FileChannel channel = input.getChannel();
+            long length = channel.size();
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("History log is too large: " + file);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) length);
+            while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+                // read the rest
+            }
+            buffer.flip();
+            return buffer;
+        } finally {
+            input.close();
+        }
+    }
+
+    private long readRecords(ByteBuffer buffer) throws IOException {
+        int position = buffer.position();
+        List<String> classNames = new ArrayList<String>();
+        try {
+            while (buffer.hasRemaining()) {
+                byte type = buffer.get();
+                if (type == CLASS) {
+                    String className = readString(buffer);
+                    if (className == null || classIds.containsKey(className)) {
+                        break;
+                    }
+                    classIds.put(className, classNames.size());
+                    classNames.add(className);
+                } else if (type == KEY) {
+                    int classId = buffer.getInt();
+                    String methodName = readString(buffer);
+                    if (classId < NO_CLASS || classId >= classNames.size() || methodName == null) {
+                        break;
+                    }
+                    String name = classId == NO_CLASS ? methodName
+                            : methodName + "(" + classNames.get(classId) + ")";
+                    if (find(name) >= 0) {
+                        break;
+                    }
+                    add(name);
+                } else if (type == UPDATE) {
+                    int id = buffer.getInt();
+                    long duration = buffer.getLong();
+                    long failureTimestamp = buffer.getLong();
+                    if (id < 0 || id >= size) {
+                        break;
+                    }
+                    update(slots[id], duration, failureTimestamp);
+                } else {
+                    break;
+                }
+                records++;
+                position = buffer.position();
+            }
+        } catch (BufferUnderflowException e) {
+            // the last record is incomplete
+        }
+        return position;
+    }
+
+    /**
+     * @return the string, or {@code null} if its length is invalid
+     */
+    private static String readString(ByteBuffer buffer) throws IOException {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, ENCODING);
+    }
+
+    private void truncate(long length) throws IOException {
+        RandomAccessFile output = new RandomAccessFile(file, "rw");
+        try {
+            output.setLength(length);
+        } finally {
+            output.close();
+        }
+    }
+
+    boolean contains(String name) {
+        int slot = find(name);
+        return slot >= 0 && durations[slot] != NONE;
+    }
+
+    /**
+     * @return the last duration of the test, or {@link #NONE}
+     */
+    long getDuration(String name) {
+        int slot = find(name);
+        return slot < 0 ? NONE : durations[slot];
+    }
+
+    /**
+     * @return the timestamp of the last failure of the test, or {@link #NONE}
+     */
+    long getFailureTimestamp(String name) {
+        int slot = find(name);
+        return slot < 0 ? NONE : failureTimestamps[slot];
+    }
+
+    /**
+     * @return the last duration of each test that has one
+     */
+    Map<String, Long> getDurations() {
+        Map<String, Long> result = new HashMap<String, Long>();
+        for (int id = 0; id < size; id++) {
+            int slot = slots[id];
+            if (durations[slot] != NONE) {
+                result.put(keys[slot], durations[slot]);
+            }
+        }
+        return result;
+    }
+
+    void putDuration(String name, long duration) throws IOException {
+        put(name, duration, NONE);
+    }
+
+    void putFailureTimestamp(String name, long failureTimestamp) throws IOException {
+        put(name, NONE, failureTimestamp);
+    }
+
+    /**
+     * Updates the test and appends the update to the log. {@link #NONE}
+     * leaves a value unchanged.
+     */
+    private void put(String name, long duration, long failureTimestamp) throws IOException {
+        int slot = find(name);
+        if (slot < 0) {
+            slot = add(name);
+            writeKey(name);
+        }
+        update(slot, duration, failureTimestamp);
+        writeUpdate(ids[slot], duration, failureTimestamp);
+    }
+
+    private void update(int slot, long duration, long failureTimestamp) {
+        if (duration != NONE) {
+            durations[slot] = duration;
+        }
+        if (failureTimestamp != NONE) {
+            failureTimestamps[slot] = failureTimestamp;
+        }
+    }
+
+    /**
+     * Forces the log to the disk and rewrites it if it contains too many
+     * outdated records.
+     */
+    void close() throws IOException {
+        if (readOnly) {
+            return;
+        }
+        if (records > MIN_RECORDS_TO_COMPACT && records > 4L * size) {
+            compact();
+        } else if (data != null) {
+            sync();
+        }
+        closeOutput();
+    }
+
+    private void closeOutput() throws IOException {
+        if (data != null) {
+            data.close();
+            data = null;
+            out = null;
+        }
+    }
+
+    /**
+     * Writes a new log next to the old one and moves it over the old one, so
+     * that one of them is complete at any time.
+     */
+    void compact() throws IOException {
+        checkWritable();
+        closeOutput();
+        File compacted = compactedFile(file);
+        FileOutputStream compactedOut = new FileOutputStream(compacted);
+        long compactedRecords = 0;
+        try {
+            DataOutputStream compactedData = new DataOutputStream(
+                    new BufferedOutputStream(compactedOut));
+            writeHeader(compactedData);
+            Map<String, Integer> compactedClassIds = new HashMap<String, Integer>();
+            for (int id = 0; id < size; id++) {
+                int slot = slots[id];
+                compactedRecords += writeKey(compactedData, compactedClassIds, keys[slot]);
+                writeUpdate(compactedData, id, durations[slot], failureTimestamps[slot]);
+                compactedRecords++;
+            }
+            classIds = compactedClassIds;
+            compactedData.flush();
+            compactedOut.getChannel().force(false);
+        } finally {
+            compactedOut.close();
+        }
+        if (!compacted.renameTo(file) && !(file.delete() && compacted.renameTo(file))) {
+            compacted.delete();
+            throw new IOException("Could not replace " + file);
+        }
+        records = compactedRecords;
+        unsyncedRecords = 0;
+        validLength = -1;
+    }
+
+    private static File compactedFile(File file) {
+        return new File(file.getPath() + ".tmp");
+    }
+
+    private void writeKey(String name) throws IOException {
+        int written = writeKey(output(), classIds, name);
+        for (int i = 0; i < written; i++) {
+            recordWritten();
+        }
+    }
+
+    private void writeUpdate(int id, long duration, long failureTimestamp) throws IOException {
+        writeUpdate(output(), id, duration, failureTimestamp);
+        recordWritten();
+    }
+
+    private void recordWritten() throws IOException {
+        records++;
+        if (++unsyncedRecords >= recordsPerSync) {
+            sync();
+        }
+    }
+
+    private void sync() throws IOException {
+        data.flush();
+        out.getChannel().force(false);
+        unsyncedRecords = 0;
+    }
+
+    private DataOutputStream output() throws IOException {
+        checkWritable();
+        if (data == null) {
+            if (!replaceFile && validLength >= 0 && validLength < file.length()) {
+                // cut off by a crash; later records must not follow the garbage
+                truncate(validLength);
+            }
+            validLength = -1;
+            boolean isNew = replaceFile || !file.exists() || file.length() == 0;
+            out = new FileOutputStream(file, !replaceFile);
+            replaceFile = false;
+            data = new DataOutputStream(new BufferedOutputStream(out));
+            if (isNew) {
+                writeHeader(data);
+            }
+        }
+        return data;
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new IllegalStateException("History log is read-only: " + file);
+        }
+    }
+
+    private static void writeHeader(DataOutputStream output) throws IOException {
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+    }
+
+    /**
+     * Writes the key record of the test {@code name}, and the class record of
+     * its class if the class is not in {@code classIds} yet.
+     *
+     * @return the number of records written
+     */
+    private static int writeKey(DataOutputStream output, Map<String, Integer> classIds,
+            String name) throws IOException {
+        int records = 1;
+        String methodName = name;
+        int classId = NO_CLASS;
+        int classNameStart = name.lastIndexOf('(') + 1;
+        if (classNameStart > 0 && name.endsWith(")")) {
+            String className = name.substring(classNameStart, name.length() - 1);
+            methodName = name.substring(0, classNameStart - 1);
+            Integer knownClassId = classIds.get(className);
+            if (knownClassId == null) {
+                classId = classIds.size();
+                classIds.put(className, classId);
+                output.writeByte(CLASS);
+                writeString(output, className);
+                records++;
+            } else {
+                classId = knownClassId;
+            }
+        }
+        output.writeByte(KEY);
+        output.writeInt(classId);
+        writeString(output, methodName);
+        return records;
+    }
+
+    private static void writeString(DataOutputStream output, String string) throws IOException {
+        byte[] bytes = string.getBytes(ENCODING);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static void writeUpdate(DataOutputStream output, int id, long duration,
+            long failureTimestamp) throws IOException {
+        output.writeByte(UPDATE);
+        output.writeInt(id);
+        output.writeLong(duration);
+        output.writeLong(failureTimestamp);
+    }
+
+    private static int hash(String name) {
+        int h = name.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private int find(String name) {
+        int mask = keys.length - 1;
+        for (int slot = hash(name) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot].equals(name)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds the unknown test {@code name} with the next id.
+     */
+    private int add(String name) {
+        if (2 * (size + 1) > keys.length) {
+            grow();
+        }
+        int id = size;
+        int mask = keys.length - 1;
+        int slot = hash(name) & mask;
+        while (keys[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = name;
+        ids[slot] = id;
+        durations[slot] = NONE;
+        failureTimestamps[slot] = NONE;
+        if (id == slots.length) {
+            int[] oldSlots = slots;
+            slots = new int[2 * oldSlots.length];
+            System.arraycopy(oldSlots, 0, slots, 0, oldSlots.length);
+        }
+        slots[id] = slot;
+        size++;
+        return slot;
+    }
+
+    private void grow() {
+        String[] oldKeys = keys;
+        int[] oldIds = ids;
+        long[] oldDurations = durations;
+        long[] oldFailureTimestamps = failureTimestamps;
+        int capacity = 2 * oldKeys.length;
+        keys = new String[capacity];
+        ids = new int[capacity];
+        durations = new long[capacity];
+        failureTimestamps = new long[capacity];
+        int mask = capacity - 1;
+        for (int oldSlot = 0; oldSlot < oldKeys.length; oldSlot++) {
+            String key = oldKeys[oldSlot];
+            if (key != null) {
+                int slot = hash(key) & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                ids[slot] = oldIds[oldSlot];
+                durations[slot] = oldDurations[oldSlot];
+                failureTimestamps[slot] = oldFailureTimestamps[oldSlot];
+                slots[oldIds[oldSlot]] = slot;
+            }
+        }
+    }
+}
@@ -49,10 +49,25 @@ public class MaxCore {
         return new MaxCore(storedResults);
     }
 
+    /**
+     * Create a new MaxCore that keeps its history in a log of binary records
+     * stored at historyLog
+     *
+     * @see MaxHistory#forLog(File)
+     * @since 4.13.3
+     */
+    public static MaxCore storedInLog(File historyLog) {
+        return new MaxCore(MaxHistory.forLog(historyLog));
+    }
+
     private final MaxHistory history;
 
     private MaxCore(File storedResults) {
-        history = MaxHistory.forFolder(storedResults);
+        this(MaxHistory.forFolder(storedResults));
+    }
+
+    private MaxCore(MaxHistory history) {
+        this.history = history;
     }
 
     /**
@@ -166,14 +181,14 @@ public class MaxCore {
     }
 
     private void findLeaves(Description parent, Description description, List<Description> results) {
-        if (description.getChildren().isEmpty()) {
+        if (description.isTest()) {
             if (description.toString().equals("warning(junit.framework.TestSuite$1)")) {
                 results.add(Description.createSuiteDescription(MALFORMED_JUNIT_3_TEST_CLASS_PREFIX + parent));
             } else {
                 results.add(description);
             }
         } else {
-            for (Description each : description.getChildren()) {
+            for (Description each : description.getChildrenView()) {
                 findLeaves(description, each, results);
             }
         }
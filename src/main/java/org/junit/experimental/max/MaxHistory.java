@@ -11,6 +11,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.junit.experimental.DurationSource;
 import org.junit.runner.Description;
 import org.junit.runner.Result;
 import org.junit.runner.notification.Failure;
@@ -22,10 +23,22 @@ import org.junit.runner.notification.RunListener;
  * <li>Last failure timestamp
  * <li>Duration of last execution
  * </ul>
+ * The history is either stored as a serialized {@code MaxHistory} (see
+ * {@link #forFolder(File)}), which is written at the end of each run, or as
+ * a log of binary records (see {@link #forLog(File)}), which is appended to
+ * while the tests run.
  */
 public class MaxHistory implements Serializable {
     private static final long serialVersionUID = 1L;
 
+    /**
+     * The number of records after which {@link #forLog(File)} forces the log
+     * to the disk.
+     *
+     * @since 4.13.3
+     */
+    public static final int DEFAULT_RECORDS_PER_SYNC = 1000;
+
     /**
      * Loads a {@link MaxHistory} from {@code file}, or generates a new one that
      * will be saved to {@code file}.
@@ -42,6 +55,73 @@ public class MaxHistory implements Serializable {
         return new MaxHistory(file);
     }
 
+    /**
+     * Loads a {@link MaxHistory} from the log in {@code file}, or creates a
+     * new log in {@code file}. The results of the tests are appended to the
+     * log while they run, and forced to the disk every
+     * {@value #DEFAULT_RECORDS_PER_SYNC} records and at the end of the run.
+     * Compared to {@link #forFolder(File)}, large histories are stored more
+     * compactly and read faster, and a crash only loses the latest results.
+     *
+     * @since 4.13.3
+     */
+    public static MaxHistory forLog(File file) {
+        return forLog(file, DEFAULT_RECORDS_PER_SYNC);
+    }
+
+    /**
+     * Loads a {@link MaxHistory} from the log in {@code file}, or creates a
+     * new log in {@code file}. The log is forced to the disk every
+     * {@code recordsPerSync} records and at the end of the run.
+     *
+     * @since 4.13.3
+     */
+    public static MaxHistory forLog(File file, int recordsPerSync) {
+        if (recordsPerSync < 1) {
+            throw new IllegalArgumentException("recordsPerSync must be positive");
+        }
+        HistoryLog log;
+        try {
+            log = HistoryLog.open(file, recordsPerSync);
+        } catch (IOException e) {
+            e.printStackTrace();
+            log = HistoryLog.create(file, recordsPerSync);
+        }
+        return new MaxHistory(file, log);
+    }
+
+    /**
+     * Reads the history in {@code file}, which was stored by
+     * {@link #forFolder(File)} or {@link #forLog(File)}, and returns the sum
+     * of the last durations of the tests of each class in nanoseconds, by
+     * class name, or an empty map if the file does not exist. Unlike the
+     * factory methods, this never changes, moves or deletes the file, even
+     * if a crash left a log incomplete or in the middle of being compacted.
+     *
+     * @throws IOException if the file does not contain a history
+     * @since 4.13.3
+     */
+    public static Map<String, Long> readClassDurations(File file) throws IOException {
+        Map<String, Long> testDurations;
+        try {
+            testDurations = HistoryLog.openReadOnly(file).getDurations();
+        } catch (IOException e) {
+            try {
+                testDurations = readHistory(file).fDurations;
+            } catch (CouldNotReadCoreException notSerialized) {
+                throw e;
+            }
+        }
+        Map<String, Long> classDurations = new HashMap<String, Long>();
+        for (Map.Entry<String, Long> each : testDurations.entrySet()) {
+            String className = Description.createSuiteDescription(each.getKey()).getClassName();
+            Long duration = classDurations.get(className);
+            classDurations.put(className,
+                    duration == null ? each.getValue() : duration + each.getValue());
+        }
+        return classDurations;
+    }
+
     private static MaxHistory readHistory(File storedResults)
             throws CouldNotReadCoreException {
         try {
@@ -70,11 +150,23 @@ public class MaxHistory implements Serializable {
     private final Map<String, Long> fFailureTimestamps = new HashMap<String, Long>();
     private final File fHistoryStore;
 
+    // null if the history is serialized
+    private final transient HistoryLog log;
+
     private MaxHistory(File storedResults) {
+        this(storedResults, null);
+    }
+
+    private MaxHistory(File storedResults, HistoryLog log) {
         fHistoryStore = storedResults;
+        this.log = log;
     }
 
     private void save() throws IOException {
+        if (log != null) {
+            log.close();
+            return;
+        }
         ObjectOutputStream stream = null;
         try {
             stream = new ObjectOutputStream(new FileOutputStream(fHistoryStore));
@@ -86,24 +178,50 @@ public class MaxHistory implements Serializable {
         }
     }
 
-    Long getFailureTimestamp(Description key) {
-        return fFailureTimestamps.get(key.toString());
+    /**
+     * @return the timestamp of the last failure, or {@code 0} if the test
+     *         never failed (that I know about)
+     */
+    long getFailureTimestamp(Description key) {
+        if (log != null) {
+            long result = log.getFailureTimestamp(key.toString());
+            return result == HistoryLog.NONE ? 0 : result;
+        }
+        Long result = fFailureTimestamps.get(key.toString());
+        return result == null ? 0 : result;
     }
 
-    void putTestFailureTimestamp(Description key, long end) {
-        fFailureTimestamps.put(key.toString(), end);
+    void putTestFailureTimestamp(Description key, long end) throws IOException {
+        if (log != null) {
+            log.putFailureTimestamp(key.toString(), end);
+        } else {
+            fFailureTimestamps.put(key.toString(), end);
+        }
     }
 
     boolean isNewTest(Description key) {
+        if (log != null) {
+            return !log.contains(key.toString());
+        }
         return !fDurations.containsKey(key.toString());
     }
 
-    Long getTestDuration(Description key) {
+    /**
+     * Must only be called for tests that are not new.
+     */
+    long getTestDuration(Description key) {
+        if (log != null) {
+            return log.getDuration(key.toString());
+        }
         return fDurations.get(key.toString());
     }
 
-    void putTestDuration(Description description, long duration) {
-        fDurations.put(description.toString(), duration);
+    void putTestDuration(Description description, long duration) throws IOException {
+        if (log != null) {
+            log.putDuration(description.toString(), duration);
+        } else {
+            fDurations.put(description.toString(), duration);
+        }
     }
 
     private final class RememberingListener extends RunListener {
@@ -145,18 +263,14 @@ public class MaxHistory implements Serializable {
                 return 1;
             }
             // Then most recently failed first
-            int result = getFailure(o2).compareTo(getFailure(o1));
+            int result = compareLongs(getFailureTimestamp(o2), getFailureTimestamp(o1));
             return result != 0 ? result
                     // Then shorter tests first
-                    : getTestDuration(o1).compareTo(getTestDuration(o2));
+                    : compareLongs(getTestDuration(o1), getTestDuration(o2));
         }
 
-        private Long getFailure(Description key) {
-            Long result = getFailureTimestamp(key);
-            if (result == null) {
-                return 0L; // 0 = "never failed (that I know about)"
-            }
-            return result;
+        private int compareLongs(long first, long second) {
+            return first < second ? -1 : (first == second ? 0 : 1);
         }
     }
 
@@ -168,6 +282,20 @@ public class MaxHistory implements Serializable {
         return new RememberingListener();
     }
 
+    /**
+     * @return the durations of the tests in this history, for example to
+     *         schedule them with a
+     *         {@link org.junit.experimental.DurationBalancedComputer}
+     * @since 4.13.3
+     */
+    public DurationSource durations() {
+        return new DurationSource() {
+            public long getDuration(Description test) {
+                return isNewTest(test) ? UNKNOWN : getTestDuration(test);
+            }
+        };
+    }
+
     /**
      * @return a comparator that ranks tests based on the JUnit Max sorting
      *         rules, as described in the {@link MaxCore} class comment.
@@ -6,6 +6,11 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Assert;
 import org.junit.Assume;
@@ -125,9 +130,14 @@ public class Theories extends BlockJUnit4ClassRunner {
     @Override
     protected void validateTestMethods(List<Throwable> errors) {
         for (FrameworkMethod each : computeTestMethods()) {
-            if (each.getAnnotation(Theory.class) != null) {
+            Theory theory = each.getAnnotation(Theory.class);
+            if (theory != null) {
                 each.validatePublicVoid(false, errors);
                 each.validateNoTypeParametersOnArgs(errors);
+                if (theory.parallelism() < 1) {
+                    errors.add(new Error("Theory " + each.getName()
+                            + " must have a parallelism of at least 1"));
+                }
             } else {
                 each.validatePublicVoidNoArg(false, errors);
             }
@@ -178,6 +188,13 @@ public class Theories extends BlockJUnit4ClassRunner {
 
         private List<AssumptionViolatedException> fInvalidParameters = new ArrayList<AssumptionViolatedException>();
 
+        // the runner of the thread that enumerates the assignments; only set
+        // while evaluate() runs, and only used by that thread
+        private AssignmentRunner enumeratingRunner;
+
+        // null unless complete assignments are evaluated in parallel
+        private ParallelEvaluation parallelEvaluation;
+
         public TheoryAnchor(FrameworkMethod testMethod, TestClass testClass) {
             this.testMethod = testMethod;
             this.testClass = testClass;
@@ -189,8 +206,19 @@ public class Theories extends BlockJUnit4ClassRunner {
 
         @Override
         public void evaluate() throws Throwable {
-            runWithAssignment(Assignments.allUnassigned(
-                    testMethod.getMethod(), getTestClass()));
+            Assignments unassigned = Assignments.allUnassigned(
+                    testMethod.getMethod(), getTestClass());
+            enumeratingRunner = new AssignmentRunner(getTestClass());
+            try {
+                int parallelism = parallelism();
+                if (parallelism > 1) {
+                    runInParallel(unassigned, parallelism);
+                } else {
+                    runWithAssignment(unassigned);
+                }
+            } finally {
+                enumeratingRunner = null;
+            }
             
             //if this test method is not annotated with Theory, then no successes is a valid case
             boolean hasTheoryAnnotation = testMethod.getAnnotation(Theory.class) != null;
@@ -201,10 +229,27 @@ public class Theories extends BlockJUnit4ClassRunner {
             }
         }
 
+        private void runInParallel(Assignments unassigned, int parallelism) throws Throwable {
+            parallelEvaluation = new ParallelEvaluation(parallelism);
+            try {
+                runWithAssignment(unassigned);
+            } catch (StopEnumeration e) {
+                // an assignment failed
+            } catch (Throwable e) {
+                parallelEvaluation.enumerationFailed(e);
+            } finally {
+                ParallelEvaluation evaluation = parallelEvaluation;
+                parallelEvaluation = null;
+                evaluation.finish();
+            }
+        }
+
         protected void runWithAssignment(Assignments parameterAssignment)
                 throws Throwable {
             if (!parameterAssignment.isComplete()) {
                 runWithIncompleteAssignment(parameterAssignment);
+            } else if (parallelEvaluation != null) {
+                parallelEvaluation.dispatch(parameterAssignment);
             } else {
                 runWithCompleteAssignment(parameterAssignment);
             }
@@ -220,49 +265,200 @@ public class Theories extends BlockJUnit4ClassRunner {
 
         protected void runWithCompleteAssignment(final Assignments complete)
                 throws Throwable {
-            new BlockJUnit4ClassRunner(getTestClass()) {
-                @Override
-                protected void collectInitializationErrors(
-                        List<Throwable> errors) {
-                    // do nothing
+            AssignmentRunner runner;
+            Thread thread = Thread.currentThread();
+            if (thread instanceof Worker && ((Worker) thread).getAnchor() == this) {
+                runner = ((Worker) thread).getRunner();
+            } else if (enumeratingRunner != null) {
+                runner = enumeratingRunner;
+            } else {
+                // called outside of evaluate()
+                runner = new AssignmentRunner(getTestClass());
+            }
+            runner.methodBlock(testMethod, complete).evaluate();
+        }
+
+        /**
+         * A thread that evaluates complete assignments in parallel, with its
+         * own runner. The runner is dropped together with the thread.
+         */
+        private final class Worker extends Thread {
+            private AssignmentRunner runner;
+
+            Worker(Runnable target, String name) {
+                super(target, name);
+                setDaemon(true);
+            }
+
+            TheoryAnchor getAnchor() {
+                return TheoryAnchor.this;
+            }
+
+            // only called by this thread
+            AssignmentRunner getRunner() throws InitializationError {
+                if (runner == null) {
+                    runner = new AssignmentRunner(getTestClass());
                 }
+                return runner;
+            }
+        }
 
-                @Override
-                public Statement methodBlock(FrameworkMethod method) {
-                    final Statement statement = super.methodBlock(method);
-                    return new Statement() {
-                        @Override
-                        public void evaluate() throws Throwable {
-                            try {
-                                statement.evaluate();
+        /**
+         * Builds the statements that evaluate the theory for complete
+         * assignments. The enumerating thread and each worker thread reuse
+         * their own runner for all assignments of one evaluation.
+         */
+        private final class AssignmentRunner extends BlockJUnit4ClassRunner {
+            // the assignment whose statement is being built
+            private Assignments complete;
+
+            AssignmentRunner(TestClass testClass) throws InitializationError {
+                super(testClass);
+            }
+
+            Statement methodBlock(FrameworkMethod method, Assignments complete) {
+                this.complete = complete;
+                try {
+                    return methodBlock(method);
+                } finally {
+                    this.complete = null;
+                }
+            }
+
+            @Override
+            protected void collectInitializationErrors(
+                    List<Throwable> errors) {
+                // do nothing
+            }
+
+            @Override
+            public Statement methodBlock(FrameworkMethod method) {
+                final Assignments complete = this.complete;
+                final Statement statement = super.methodBlock(method);
+                return new Statement() {
+                    @Override
+                    public void evaluate() throws Throwable {
+                        try {
+                            statement.evaluate();
+                            synchronized (TheoryAnchor.this) {
                                 handleDataPointSuccess();
-                            } catch (AssumptionViolatedException e) {
+                            }
+                        } catch (AssumptionViolatedException e) {
+                            synchronized (TheoryAnchor.this) {
                                 handleAssumptionViolation(e);
-                            } catch (Throwable e) {
-                                reportParameterizedError(e, complete
-                                        .getArgumentStrings(nullsOk()));
                             }
+                        } catch (Throwable e) {
+                            reportParameterizedError(e, complete
+                                    .getArgumentStrings(nullsOk()));
                         }
+                    }
+
+                };
+            }
+
+            @Override
+            protected Statement methodInvoker(FrameworkMethod method, Object test) {
+                return methodCompletesWithParameters(method, complete, test);
+            }
 
-                    };
+            @Override
+            public Object createTest() throws Exception {
+                Object[] params = complete.getConstructorArguments();
+                
+                if (!nullsOk()) {
+                    Assume.assumeNotNull(params);
                 }
+                
+                return getTestClass().getOnlyConstructor().newInstance(params);
+            }
+        }
 
-                @Override
-                protected Statement methodInvoker(FrameworkMethod method, Object test) {
-                    return methodCompletesWithParameters(method, complete, test);
+        /**
+         * Evaluates complete assignments on a bounded number of threads while
+         * they are enumerated. Reports the failure of the first failing
+         * assignment in the order of enumeration, as evaluating them one
+         * after the other would.
+         */
+        private final class ParallelEvaluation {
+            private final ThreadPoolExecutor executor;
+
+            // only used by the enumerating thread
+            private long dispatched = 0;
+
+            // Guarded by this
+            private long failureIndex = Long.MAX_VALUE;
+
+            // Guarded by this
+            private Throwable failure;
+
+            ParallelEvaluation(int parallelism) {
+                final AtomicInteger threads = new AtomicInteger();
+                // once all threads are busy, the enumerating thread evaluates
+                // assignments itself instead of enumerating further
+                executor = new ThreadPoolExecutor(parallelism - 1, parallelism - 1,
+                        0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<Runnable>(parallelism),
+                        new ThreadFactory() {
+                            public Thread newThread(Runnable r) {
+                                return new Worker(r, "Theories-worker-"
+                                        + threads.incrementAndGet());
+                            }
+                        },
+                        new ThreadPoolExecutor.CallerRunsPolicy());
+            }
+
+            void dispatch(final Assignments complete) {
+                final long index = dispatched++;
+                if (hasFailedBefore(index)) {
+                    throw new StopEnumeration();
                 }
+                executor.execute(new Runnable() {
+                    public void run() {
+                        if (hasFailedBefore(index)) {
+                            return;
+                        }
+                        try {
+                            runWithCompleteAssignment(complete);
+                        } catch (Throwable e) {
+                            failed(index, e);
+                        }
+                    }
+                });
+            }
 
-                @Override
-                public Object createTest() throws Exception {
-                    Object[] params = complete.getConstructorArguments();
-                    
-                    if (!nullsOk()) {
-                        Assume.assumeNotNull(params);
+            void enumerationFailed(Throwable e) {
+                failed(dispatched, e);
+            }
+
+            private synchronized boolean hasFailedBefore(long index) {
+                return failureIndex < index;
+            }
+
+            private synchronized void failed(long index, Throwable e) {
+                if (index < failureIndex) {
+                    failureIndex = index;
+                    failure = e;
+                }
+            }
+
+            /**
+             * Waits for the dispatched assignments and throws the failure of
+             * the first failing one.
+             */
+            void finish() throws Throwable {
+                executor.shutdown();
+                try {
+                    executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    executor.shutdownNow();
+                    throw e;
+                }
+                synchronized (this) {
+                    if (failure != null) {
+                        throw failure;
                     }
-                    
-                    return getTestClass().getOnlyConstructor().newInstance(params);
                 }
-            }.methodBlock(testMethod).evaluate();
+            }
         }
 
         private Statement methodCompletesWithParameters(
@@ -294,6 +490,12 @@ public class Theories extends BlockJUnit4ClassRunner {
                     params);
         }
 
+        private int parallelism() {
+            Theory annotation = testMethod.getMethod().getAnnotation(
+                    Theory.class);
+            return annotation == null ? 1 : annotation.parallelism();
+        }
+
         private boolean nullsOk() {
             Theory annotation = testMethod.getMethod().getAnnotation(
                     Theory.class);
@@ -307,4 +509,11 @@ public class Theories extends BlockJUnit4ClassRunner {
             successes++;
         }
     }
+
+    /**
+     * Stops enumerating assignments once an assignment has failed.
+     */
+    private static final class StopEnumeration extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+    }
 }
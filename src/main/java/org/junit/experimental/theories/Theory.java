@@ -15,4 +15,17 @@ import java.lang.annotation.Target;
 @Target(METHOD)
 public @interface Theory {
     boolean nullsAccepted() default true;
+
+    /**
+     * The number of assignments of data points that are evaluated at the
+     * same time. If it is greater than 1, the theory is evaluated for
+     * different assignments concurrently, each with its own instance of the
+     * test class, so the theory must not modify static state without
+     * synchronization. As when evaluating one assignment after the other, the
+     * first failing assignment in the order of the data points is reported,
+     * and no further assignments are started once an assignment has failed.
+     *
+     * @since 4.13.3
+     */
+    int parallelism() default 1;
 }
\ No newline at end of file
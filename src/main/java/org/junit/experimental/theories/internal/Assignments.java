@@ -4,7 +4,6 @@ import static java.util.Collections.emptyList;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.experimental.theories.ParameterSignature;
@@ -19,16 +18,29 @@ import org.junit.runners.model.TestClass;
  * parameters
  */
 public class Assignments {
-    private final List<PotentialAssignment> assigned;
+    // the assignments before the last one; null if nothing is assigned
+    private final Assignments previous;
 
-    private final List<ParameterSignature> unassigned;
+    // null if nothing is assigned
+    private final PotentialAssignment lastAssigned;
+
+    private final int assignedCount;
+
+    // the parameters of the constructor followed by those of the method
+    private final List<ParameterSignature> signatures;
+
+    private final int constructorParameterCount;
 
     private final TestClass clazz;
 
-    private Assignments(List<PotentialAssignment> assigned,
-            List<ParameterSignature> unassigned, TestClass clazz) {
-        this.unassigned = unassigned;
-        this.assigned = assigned;
+    private Assignments(Assignments previous, PotentialAssignment lastAssigned,
+            int assignedCount, List<ParameterSignature> signatures,
+            int constructorParameterCount, TestClass clazz) {
+        this.previous = previous;
+        this.lastAssigned = lastAssigned;
+        this.assignedCount = assignedCount;
+        this.signatures = signatures;
+        this.constructorParameterCount = constructorParameterCount;
         this.clazz = clazz;
     }
 
@@ -41,36 +53,54 @@ public class Assignments {
         List<ParameterSignature> signatures;
         signatures = ParameterSignature.signatures(testClass
                 .getOnlyConstructor());
+        int constructorParameterCount = signatures.size();
         signatures.addAll(ParameterSignature.signatures(testMethod));
-        return new Assignments(new ArrayList<PotentialAssignment>(),
-                signatures, testClass);
+        return new Assignments(null, null, 0, signatures,
+                constructorParameterCount, testClass);
     }
 
     public boolean isComplete() {
-        return unassigned.isEmpty();
+        return assignedCount == signatures.size();
     }
 
     public ParameterSignature nextUnassigned() {
-        return unassigned.get(0);
+        return signatures.get(assignedCount);
     }
 
+    /**
+     * Returns the assignments of this list followed by {@code source}. Both
+     * lists share the assignments of this list, which is not changed.
+     */
     public Assignments assignNext(PotentialAssignment source) {
-        List<PotentialAssignment> potentialAssignments = new ArrayList<PotentialAssignment>(assigned);
-        potentialAssignments.add(source);
-
-        return new Assignments(potentialAssignments, unassigned.subList(1,
-                unassigned.size()), clazz);
+        return new Assignments(this, source, assignedCount + 1, signatures,
+                constructorParameterCount, clazz);
     }
 
     public Object[] getActualValues(int start, int stop) 
             throws CouldNotGenerateValueException {
-        Object[] values = new Object[stop - start];
-        for (int i = start; i < stop; i++) {
-            values[i - start] = assigned.get(i).getValue();
+        PotentialAssignment[] sources = getAssigned(start, stop);
+        Object[] values = new Object[sources.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = sources[i].getValue();
         }
         return values;
     }
 
+    private PotentialAssignment[] getAssigned(int start, int stop) {
+        if (start < 0 || stop > assignedCount || start > stop) {
+            throw new IndexOutOfBoundsException(
+                    "start: " + start + ", stop: " + stop + ", assigned: " + assignedCount);
+        }
+        PotentialAssignment[] sources = new PotentialAssignment[stop - start];
+        for (Assignments each = this; each.assignedCount > start; each = each.previous) {
+            int index = each.assignedCount - 1;
+            if (index < stop) {
+                sources[index - start] = each.lastAssigned;
+            }
+        }
+        return sources;
+    }
+
     public List<PotentialAssignment> potentialsForNextUnassigned()
             throws Throwable {
         ParameterSignature unassigned = nextUnassigned();
@@ -124,29 +154,23 @@ public class Assignments {
 
     public Object[] getConstructorArguments()
             throws CouldNotGenerateValueException {
-        return getActualValues(0, getConstructorParameterCount());
+        return getActualValues(0, constructorParameterCount);
     }
 
     public Object[] getMethodArguments() throws CouldNotGenerateValueException {
-        return getActualValues(getConstructorParameterCount(), assigned.size());
+        return getActualValues(constructorParameterCount, assignedCount);
     }
 
     public Object[] getAllArguments() throws CouldNotGenerateValueException {
-        return getActualValues(0, assigned.size());
-    }
-
-    private int getConstructorParameterCount() {
-        List<ParameterSignature> signatures = ParameterSignature
-                .signatures(clazz.getOnlyConstructor());
-        int constructorParameterCount = signatures.size();
-        return constructorParameterCount;
+        return getActualValues(0, assignedCount);
     }
 
     public Object[] getArgumentStrings(boolean nullsOk)
             throws CouldNotGenerateValueException {
-        Object[] values = new Object[assigned.size()];
+        PotentialAssignment[] sources = getAssigned(0, assignedCount);
+        Object[] values = new Object[sources.length];
         for (int i = 0; i < values.length; i++) {
-            values[i] = assigned.get(i).getDescription();
+            values[i] = sources[i].getDescription();
         }
         return values;
     }
@@ -57,7 +57,9 @@ public abstract class ComparisonCriteria {
         }
         int prefixLength = Math.min(actualsLength, expectedsLength);
 
-        for (int i = 0; i < prefixLength; i++) {
+        // Only box the elements from the first one that may differ.
+        int firstDifference = indexOfFirstDifference(expecteds, actuals, prefixLength);
+        for (int i = firstDifference; i < prefixLength; i++) {
             Object expected = Array.get(expecteds, i);
             Object actual = Array.get(actuals, i);
 
@@ -128,5 +130,16 @@ public abstract class ComparisonCriteria {
         return expected != null && expected.getClass().isArray();
     }
 
+    /**
+     * Returns the index of the first of the first {@code length} elements of
+     * the arrays that may not be equal according to
+     * {@link #assertElementsEqual(Object, Object)}. All elements before it must
+     * be equal. Implementations in this package find it for primitive arrays
+     * without boxing their elements.
+     */
+    int indexOfFirstDifference(Object expecteds, Object actuals, int length) {
+        return 0;
+    }
+
     protected abstract void assertElementsEqual(Object expected, Object actual);
 }
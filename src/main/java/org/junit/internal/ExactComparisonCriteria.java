@@ -3,6 +3,15 @@ package org.junit.internal;
 import org.junit.Assert;
 
 public class ExactComparisonCriteria extends ComparisonCriteria {
+    @Override
+    int indexOfFirstDifference(Object expecteds, Object actuals, int length) {
+        if (getClass() != ExactComparisonCriteria.class) {
+            // subclasses may compare the elements differently
+            return 0;
+        }
+        return PrimitiveArrays.indexOfFirstDifference(expecteds, actuals, length);
+    }
+
     @Override
     protected void assertElementsEqual(Object expected, Object actual) {
         Assert.assertEquals(expected, actual);
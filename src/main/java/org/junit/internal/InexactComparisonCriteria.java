@@ -13,6 +13,25 @@ public class InexactComparisonCriteria extends ComparisonCriteria {
         fDelta = delta;
     }
 
+    @Override
+    int indexOfFirstDifference(Object expecteds, Object actuals, int length) {
+        if (getClass() != InexactComparisonCriteria.class) {
+            // subclasses may compare the elements differently
+            return 0;
+        }
+        if (expecteds instanceof double[] && actuals instanceof double[]
+                && fDelta instanceof Double) {
+            return PrimitiveArrays.indexOfFirstDifference(
+                    (double[]) expecteds, (double[]) actuals, (Double) fDelta, length);
+        }
+        if (expecteds instanceof float[] && actuals instanceof float[]
+                && fDelta instanceof Float) {
+            return PrimitiveArrays.indexOfFirstDifference(
+                    (float[]) expecteds, (float[]) actuals, (Float) fDelta, length);
+        }
+        return 0;
+    }
+
     @Override
     protected void assertElementsEqual(Object expected, Object actual) {
         if (expected instanceof Double) {
@@ -0,0 +1,185 @@
+package org.junit.internal;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Finds the first difference of two primitive arrays without boxing their
+ * elements.
+ */
+final class PrimitiveArrays {
+    private static final Class<?>[] PRIMITIVE_ARRAY_TYPES = {
+            boolean[].class, byte[].class, char[].class, short[].class,
+            int[].class, long[].class, float[].class, double[].class
+    };
+
+    /*
+     * Arrays.mismatch() (Java 9 and later) for each type of primitive array.
+     * It is an intrinsic that compares many elements at a time.
+     */
+    private static final Map<Class<?>, Method> VECTORIZED_MISMATCH = findVectorizedMismatch();
+
+    private static Map<Class<?>, Method> findVectorizedMismatch() {
+        Map<Class<?>, Method> methods = new HashMap<Class<?>, Method>();
+        for (Class<?> type : PRIMITIVE_ARRAY_TYPES) {
+            try {
+                methods.put(type, Arrays.class.getMethod("mismatch", type, type));
+            } catch (NoSuchMethodException e) {
+                // Java 8 or older
+                return new HashMap<Class<?>, Method>();
+            }
+        }
+        return methods;
+    }
+
+    /**
+     * Returns the index of the first of the first {@code length} elements
+     * that are not equal according to their boxed values' {@code equals()}
+     * methods, or {@code length} if all of them are equal. Returns {@code 0}
+     * if the arrays are not primitive arrays of the same type.
+     */
+    static int indexOfFirstDifference(Object expecteds, Object actuals, int length) {
+        Class<?> type = expecteds.getClass();
+        if (type != actuals.getClass() || !type.getComponentType().isPrimitive()) {
+            return 0;
+        }
+        Method vectorizedMismatch = VECTORIZED_MISMATCH.get(type);
+        if (vectorizedMismatch != null) {
+            try {
+                int index = (Integer) vectorizedMismatch.invoke(null, expecteds, actuals);
+                return index < 0 || index > length ? length : index;
+            } catch (Exception e) {
+                // fall back to comparing the elements one at a time
+            }
+        }
+        if (type == int[].class) {
+            return indexOfFirstDifference((int[]) expecteds, (int[]) actuals, length);
+        } else if (type == long[].class) {
+            return indexOfFirstDifference((long[]) expecteds, (long[]) actuals, length);
+        } else if (type == double[].class) {
+            return indexOfFirstDifference((double[]) expecteds, (double[]) actuals, length);
+        } else if (type == float[].class) {
+            return indexOfFirstDifference((float[]) expecteds, (float[]) actuals, length);
+        } else if (type == byte[].class) {
+            return indexOfFirstDifference((byte[]) expecteds, (byte[]) actuals, length);
+        } else if (type == char[].class) {
+            return indexOfFirstDifference((char[]) expecteds, (char[]) actuals, length);
+        } else if (type == short[].class) {
+            return indexOfFirstDifference((short[]) expecteds, (short[]) actuals, length);
+        } else {
+            return indexOfFirstDifference((boolean[]) expecteds, (boolean[]) actuals, length);
+        }
+    }
+
+    private static int indexOfFirstDifference(int[] expecteds, int[] actuals, int length) {
+        for (int i = 0; i < length; i++) {
+            if (expecteds[i] != actuals[i]) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    private static int indexOfFirstDifference(long[] expecteds, long[] actuals, int length) {
+        for (int i = 0; i < length; i++) {
+            if (expecteds[i] != actuals[i]) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    private static int indexOfFirstDifference(double[] expecteds, double[] actuals, int length) {
+        for (int i = 0; i < length; i++) {
+            // Double.equals() compares the bits, so NaN equals NaN and 0.0 does not equal -0.0
+            if (Double.doubleToLongBits(expecteds[i]) != Double.doubleToLongBits(actuals[i])) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    private static int indexOfFirstDifference(float[] expecteds, float[] actuals, int length) {
+        for (int i = 0; i < length; i++) {
+            if (Float.floatToIntBits(expecteds[i]) != Float.floatToIntBits(actuals[i])) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    private static int indexOfFirstDifference(byte[] expecteds, byte[] actuals, int length) {
+        for (int i = 0; i < length; i++) {
+            if (expecteds[i] != actuals[i]) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    private static int indexOfFirstDifference(char[] expecteds, char[] actuals, int length) {
+        for (int i = 0; i < length; i++) {
+            if (expecteds[i] != actuals[i]) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    private static int indexOfFirstDifference(short[] expecteds, short[] actuals, int length) {
+        for (int i = 0; i < length; i++) {
+            if (expecteds[i] != actuals[i]) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    private static int indexOfFirstDifference(boolean[] expecteds, boolean[] actuals, int length) {
+        for (int i = 0; i < length; i++) {
+            if (expecteds[i] != actuals[i]) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Returns the index of the first of the first {@code length} elements
+     * that differ by more than {@code delta}, or {@code length} if none of
+     * them do.
+     */
+    static int indexOfFirstDifference(double[] expecteds, double[] actuals, double delta,
+            int length) {
+        for (int i = 0; i < length; i++) {
+            double expected = expecteds[i];
+            double actual = actuals[i];
+            if (Double.compare(expected, actual) != 0 && !(Math.abs(expected - actual) <= delta)) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Returns the index of the first of the first {@code length} elements
+     * that differ by more than {@code delta}, or {@code length} if none of
+     * them do.
+     */
+    static int indexOfFirstDifference(float[] expecteds, float[] actuals, float delta,
+            int length) {
+        for (int i = 0; i < length; i++) {
+            float expected = expecteds[i];
+            float actual = actuals[i];
+            if (Float.compare(expected, actual) != 0 && !(Math.abs(expected - actual) <= delta)) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    private PrimitiveArrays() {
+    }
+}
@@ -6,9 +6,7 @@ import java.io.PrintWriter;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.lang.reflect.Method;
-import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -20,6 +18,8 @@ import java.util.List;
  */
 public final class Throwables {
 
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
     private Throwables() {
     }
 
@@ -71,38 +71,66 @@ public final class Throwables {
      * @return a trimmed stack trace, or the original trace if trimming wasn't possible
      */
     public static String getTrimmedStackTrace(Throwable exception) {
-        List<String> trimmedStackTraceLines = getTrimmedStackTraceLines(exception);
-        if (trimmedStackTraceLines.isEmpty()) {
+        StackTraceElement[] stackTrace = exception.getStackTrace();
+        int trimmedLength = getTrimmedLength(stackTrace);
+        if (trimmedLength < 0) {
             return getFullStackTrace(exception);
         }
 
         StringBuilder result = new StringBuilder(exception.toString());
-        appendStackTraceLines(trimmedStackTraceLines, result);
+        appendStackTraceLines(getTrimmedStackTraceLines(exception, stackTrace, trimmedLength), result);
         appendStackTraceLines(getCauseStackTraceLines(exception), result);
         return result.toString();
     }
 
-    private static List<String> getTrimmedStackTraceLines(Throwable exception) {
-        List<StackTraceElement> stackTraceElements = Arrays.asList(exception.getStackTrace());
-        int linesToInclude = stackTraceElements.size();
+    /**
+     * Gets the elements of the stack trace of the given exception that are
+     * above the test method, without printing the stack trace. Stack trace
+     * elements that are below the test method are filtered out.
+     *
+     * @return the trimmed stack trace elements, or all elements if trimming wasn't possible
+     * @since 4.13.3
+     */
+    public static StackTraceElement[] getTrimmedStackTraceElements(Throwable exception) {
+        StackTraceElement[] stackTrace = exception.getStackTrace();
+        int trimmedLength = getTrimmedLength(stackTrace);
+        if (trimmedLength < 0) {
+            return stackTrace;
+        }
+        StackTraceElement[] trimmed = new StackTraceElement[trimmedLength];
+        System.arraycopy(stackTrace, 0, trimmed, 0, trimmedLength);
+        return trimmed;
+    }
+
+    /**
+     * Returns the number of elements of {@code stackTrace} that are above the
+     * test method, or {@code -1} if trimming isn't possible.
+     */
+    private static int getTrimmedLength(StackTraceElement[] stackTrace) {
+        int linesToInclude = stackTrace.length;
 
         State state = State.PROCESSING_OTHER_CODE;
-        for (StackTraceElement stackTraceElement : asReversedList(stackTraceElements)) {
-            state = state.processStackTraceElement(stackTraceElement);
+        for (int i = stackTrace.length - 1; i >= 0; i--) {
+            state = state.processStackTraceElement(stackTrace[i]);
             if (state == State.DONE) {
-                List<String> trimmedLines = new ArrayList<String>(linesToInclude + 2);
-                trimmedLines.add("");
-                for (StackTraceElement each : stackTraceElements.subList(0, linesToInclude)) {
-                    trimmedLines.add("\tat " + each);
-                }
-                if (exception.getCause() != null) {
-                    trimmedLines.add("\t... " + (stackTraceElements.size() - trimmedLines.size()) + " trimmed");
-                }
-                return trimmedLines;
+                return linesToInclude;
             }
             linesToInclude--;
         }
-        return Collections.emptyList();
+        return -1;
+    }
+
+    private static List<String> getTrimmedStackTraceLines(Throwable exception,
+            StackTraceElement[] stackTrace, int linesToInclude) {
+        List<String> trimmedLines = new ArrayList<String>(linesToInclude + 2);
+        trimmedLines.add("");
+        for (int i = 0; i < linesToInclude; i++) {
+            trimmedLines.add("\tat " + stackTrace[i]);
+        }
+        if (exception.getCause() != null) {
+            trimmedLines.add("\t... " + (stackTrace.length - trimmedLines.size()) + " trimmed");
+        }
+        return trimmedLines;
     }
 
     private static final Method getSuppressed = initGetSuppressed();
@@ -163,25 +191,10 @@ public final class Throwables {
     private static void appendStackTraceLines(
             List<String> stackTraceLines, StringBuilder destBuilder) {
         for (String stackTraceLine : stackTraceLines) {
-            destBuilder.append(String.format("%s%n", stackTraceLine));
+            destBuilder.append(stackTraceLine).append(LINE_SEPARATOR);
         }
     }
 
-    private static <T> List<T> asReversedList(final List<T> list) {
-        return new AbstractList<T>() {
-
-            @Override
-            public T get(int index) {
-                return list.get(list.size() - index - 1);
-            }
-
-            @Override
-            public int size() {
-                return list.size();
-            }
-        };
-    }
-
     private enum State {
         PROCESSING_OTHER_CODE {
             @Override public State processLine(String methodName) {
@@ -251,6 +264,7 @@ public final class Throwables {
         "sun.reflect.",
         "java.lang.reflect.",
         "jdk.internal.reflect.",
+        "org.junit.runners.model.MethodHandleInvoker", // and its generated accessors
         "org.junit.rules.RunRules.<init>(",
         "org.junit.rules.RunRules.applyAll(", // calls TestRules
         "org.junit.runners.RuleContainer.apply(", // calls MethodRules & TestRules
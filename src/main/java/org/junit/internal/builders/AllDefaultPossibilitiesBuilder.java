@@ -1,19 +1,49 @@
 package org.junit.internal.builders;
 
-import java.util.Arrays;
-import java.util.List;
+import java.io.IOException;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import org.junit.runner.Runner;
+import org.junit.runner.manipulation.ClassMetadata;
+import org.junit.runner.manipulation.Filter;
 import org.junit.runners.model.RunnerBuilder;
 
 public class AllDefaultPossibilitiesBuilder extends RunnerBuilder {
+    private static final int BUILDER_COUNT = 5;
+
+    /*
+     * The index of the builder that built the runner of each class (see
+     * builder(int)), so that the runners for later runs of the class are
+     * built by that builder without asking the others first. Like the
+     * validation cache of ParentRunner, it does not keep classes alive (see
+     * TestClass).
+     */
+    private static final Map<Class<?>, Integer> BUILDER_INDEXES = new WeakHashMap<Class<?>, Integer>();
+
     private final boolean canUseSuiteMethod;
 
+    private final Filter classFilter;
+
     /**
      * @since 4.13
      */
     public AllDefaultPossibilitiesBuilder() {
+        this(Filter.ALL);
+    }
+
+    /**
+     * Creates a builder that does not build runners for the classes of
+     * suites that {@code classFilter} rejects by
+     * {@link Filter#shouldRunClass(ClassMetadata)}. The filter is only asked
+     * about classes; it still has to be applied to the runners to filter
+     * their tests.
+     *
+     * @since 4.13.3
+     */
+    public AllDefaultPossibilitiesBuilder(Filter classFilter) {
         canUseSuiteMethod = true;
+        this.classFilter = classFilter;
     }
 
     /**
@@ -22,26 +52,79 @@ public class AllDefaultPossibilitiesBuilder extends RunnerBuilder {
     @Deprecated
     public AllDefaultPossibilitiesBuilder(boolean canUseSuiteMethod) {
         this.canUseSuiteMethod = canUseSuiteMethod;
+        classFilter = Filter.ALL;
+    }
+
+    @Override
+    public boolean shouldBuildRunnerFor(Class<?> testClass) {
+        if (classFilter == Filter.ALL) {
+            return true;
+        }
+        try {
+            ClassMetadata metadata = ClassMetadata.forClass(testClass);
+            return metadata == null || classFilter.shouldRunClass(metadata);
+        } catch (IOException e) {
+            // cannot tell without the class file
+            return true;
+        }
     }
 
     @Override
     public Runner runnerForClass(Class<?> testClass) throws Throwable {
-        List<RunnerBuilder> builders = Arrays.asList(
-                ignoredBuilder(),
-                annotatedBuilder(),
-                suiteMethodBuilder(),
-                junit3Builder(),
-                junit4Builder());
-
-        for (RunnerBuilder each : builders) {
-            Runner runner = each.safeRunnerForClass(testClass);
+        boolean canReuseBuilder = canReuseBuilders();
+        if (canReuseBuilder) {
+            Integer index;
+            synchronized (BUILDER_INDEXES) {
+                index = BUILDER_INDEXES.get(testClass);
+            }
+            if (index != null) {
+                Runner runner = builder(index).safeRunnerForClass(testClass);
+                if (runner != null) {
+                    return runner;
+                }
+            }
+        }
+
+        for (int i = 0; i < BUILDER_COUNT; i++) {
+            Runner runner = builder(i).safeRunnerForClass(testClass);
             if (runner != null) {
+                if (canReuseBuilder) {
+                    synchronized (BUILDER_INDEXES) {
+                        BUILDER_INDEXES.put(testClass, i);
+                    }
+                }
                 return runner;
             }
         }
         return null;
     }
 
+    /**
+     * Subclasses may return other builders, so the builder that built the
+     * runner of a class is only reused by plain instances.
+     */
+    private boolean canReuseBuilders() {
+        return getClass() == AllDefaultPossibilitiesBuilder.class && canUseSuiteMethod;
+    }
+
+    /**
+     * Returns the builders in the order in which they are asked for a runner.
+     */
+    private RunnerBuilder builder(int index) {
+        switch (index) {
+            case 0:
+                return ignoredBuilder();
+            case 1:
+                return annotatedBuilder();
+            case 2:
+                return suiteMethodBuilder();
+            case 3:
+                return junit3Builder();
+            default:
+                return junit4Builder();
+        }
+    }
+
     protected JUnit4Builder junit4Builder() {
         return new JUnit4Builder();
     }
@@ -21,6 +21,7 @@ public class FailOnTimeout extends Statement {
     private final TimeUnit timeUnit;
     private final long timeout;
     private final boolean lookForStuckThread;
+    private final boolean usePooledThreads;
 
     /**
      * Returns a new builder for building an instance.
@@ -48,6 +49,7 @@ public class FailOnTimeout extends Statement {
         timeout = builder.timeout;
         timeUnit = builder.unit;
         lookForStuckThread = builder.lookForStuckThread;
+        usePooledThreads = builder.usePooledThreads;
     }
 
     /**
@@ -57,6 +59,7 @@ public class FailOnTimeout extends Statement {
      */
     public static class Builder {
         private boolean lookForStuckThread = false;
+        private boolean usePooledThreads = false;
         private long timeout = 0;
         private TimeUnit unit = TimeUnit.SECONDS;
 
@@ -102,6 +105,25 @@ public class FailOnTimeout extends Statement {
             return this;
         }
 
+        /**
+         * Specifies whether to run the test on a thread taken from a shared pool
+         * instead of a new thread. Threads are reused by later tests, which saves
+         * creating a thread (and, when looking for a stuck thread, a
+         * {@code ThreadGroup}) for every test. The test is still interrupted when
+         * it times out. A thread of the pool may have been created by a different
+         * thread than the one running the test, so it does not inherit the
+         * {@code InheritableThreadLocal} values of the latter. This feature is
+         * experimental.
+         *
+         * @param enable {@code true} to enable the feature
+         * @return {@code this} for method chaining.
+         * @since 4.13.3
+         */
+        public Builder withPooledThreads(boolean enable) {
+            this.usePooledThreads = enable;
+            return this;
+        }
+
         /**
          * Builds a {@link FailOnTimeout} instance using the values in this builder,
          * wrapping the given statement.
@@ -119,12 +141,22 @@ public class FailOnTimeout extends Statement {
     @Override
     public void evaluate() throws Throwable {
         CallableStatement callable = new CallableStatement();
-        FutureTask<Throwable> task = new FutureTask<Throwable>(callable);
-        ThreadGroup threadGroup = threadGroupForNewThread();
-        Thread thread = new Thread(threadGroup, task, "Time-limited test");
-        thread.setDaemon(true);
-        thread.start();
-        callable.awaitStarted();
+        FutureTask<Throwable> task;
+        Thread thread;
+        if (usePooledThreads) {
+            TimeLimitedThreadPool.Task pooledTask = TimeLimitedThreadPool.get(lookForStuckThread)
+                    .execute(callable);
+            callable.awaitStarted();
+            task = pooledTask;
+            thread = pooledTask.getThread();
+        } else {
+            task = new FutureTask<Throwable>(callable);
+            ThreadGroup threadGroup = threadGroupForNewThread();
+            thread = new Thread(threadGroup, task, "Time-limited test");
+            thread.setDaemon(true);
+            thread.start();
+            callable.awaitStarted();
+        }
         Throwable throwable = getResult(task, thread);
         if (throwable != null) {
             throw throwable;
@@ -174,17 +206,17 @@ public class FailOnTimeout extends Statement {
             // test failed; have caller re-throw the exception thrown by the test
             return e.getCause();
         } catch (TimeoutException e) {
-            return createTimeoutException(thread);
+            return createTimeoutException(task, thread);
         }
     }
 
-    private Exception createTimeoutException(Thread thread) {
+    private Exception createTimeoutException(FutureTask<Throwable> task, Thread thread) {
         StackTraceElement[] stackTrace = thread.getStackTrace();
         final Thread stuckThread = lookForStuckThread ? getStuckThread(thread) : null;
         Exception currThreadException = new TestTimedOutException(timeout, timeUnit);
         if (stackTrace != null) {
             currThreadException.setStackTrace(stackTrace);
-            thread.interrupt();
+            interrupt(task, thread);
         }
         if (stuckThread != null) {
             Exception stuckThreadException = 
@@ -198,6 +230,15 @@ public class FailOnTimeout extends Statement {
         }
     }
 
+    private void interrupt(FutureTask<Throwable> task, Thread thread) {
+        if (task instanceof TimeLimitedThreadPool.Task) {
+            // the thread may already be running another test
+            ((TimeLimitedThreadPool.Task) task).interruptIfRunning();
+        } else {
+            thread.interrupt();
+        }
+    }
+
     /**
      * Retrieves the stack trace for a given thread.
      * @param thread The thread whose stack is to be retrieved.
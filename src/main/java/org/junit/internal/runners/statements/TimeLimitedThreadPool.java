@@ -0,0 +1,198 @@
+package org.junit.internal.runners.statements;
+
+import java.util.LinkedList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A pool of reusable threads that {@link FailOnTimeout} runs statements on
+ * when pooled threads are enabled. Idle threads are discarded after a minute.
+ *
+ * <p>Unlike a plain executor, the pool makes sure that a thread interrupted
+ * because its statement timed out does not carry the interrupt over to the
+ * next statement it runs.
+ */
+final class TimeLimitedThreadPool {
+    private static final long KEEP_ALIVE_MILLIS = TimeUnit.SECONDS.toMillis(60);
+
+    private static final TimeLimitedThreadPool SHARED_THREAD_GROUP = new TimeLimitedThreadPool(false);
+
+    private static final TimeLimitedThreadPool THREAD_GROUP_PER_THREAD = new TimeLimitedThreadPool(true);
+
+    private final boolean threadGroupPerThread;
+
+    // Guarded by this
+    private final LinkedList<Worker> idleWorkers = new LinkedList<Worker>();
+
+    private TimeLimitedThreadPool(boolean threadGroupPerThread) {
+        this.threadGroupPerThread = threadGroupPerThread;
+    }
+
+    /**
+     * Returns the pool to use.
+     *
+     * @param threadGroupPerThread whether each thread of the pool should be
+     * created in its own {@code ThreadGroup}, so that threads started by a
+     * statement can be told apart from the ones started by statements running
+     * on other threads of the pool. A thread is not reused if threads started
+     * by its statement are still alive.
+     */
+    static TimeLimitedThreadPool get(boolean threadGroupPerThread) {
+        return threadGroupPerThread ? THREAD_GROUP_PER_THREAD : SHARED_THREAD_GROUP;
+    }
+
+    /**
+     * Runs {@code callable} on a thread of the pool, using the context class
+     * loader of the calling thread.
+     */
+    Task execute(Callable<Throwable> callable) {
+        Task task = new Task(callable, Thread.currentThread().getContextClassLoader());
+        Worker worker = pollIdleWorker();
+        if (worker == null || !worker.offer(task)) {
+            worker = new Worker(task);
+            Thread thread = new Thread(threadGroupForNewThread(), worker, "Time-limited test");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return task;
+    }
+
+    private synchronized Worker pollIdleWorker() {
+        return idleWorkers.poll();
+    }
+
+    private synchronized void release(Worker worker) {
+        idleWorkers.addFirst(worker);
+    }
+
+    private synchronized void remove(Worker worker) {
+        idleWorkers.remove(worker);
+    }
+
+    private ThreadGroup threadGroupForNewThread() {
+        if (!threadGroupPerThread) {
+            return null;
+        }
+        // Unlike FailOnTimeout, the group is not made a daemon, because
+        // ThreadGroup.setDaemon() is deprecated for removal; the pool's threads
+        // are daemons themselves (see execute()). Before Java 19, each group
+        // stays in its parent until the JVM exits, but the pool creates few
+        // threads since it reuses them.
+        return new ThreadGroup("FailOnTimeoutGroup");
+    }
+
+    private final class Worker implements Runnable {
+        // Guarded by this
+        private Task task;
+
+        // Guarded by this
+        private boolean retired;
+
+        Worker(Task firstTask) {
+            task = firstTask;
+        }
+
+        synchronized boolean offer(Task next) {
+            if (retired) {
+                return false;
+            }
+            task = next;
+            notifyAll();
+            return true;
+        }
+
+        public void run() {
+            Task next;
+            while ((next = take()) != null) {
+                next.run();
+                if (!isReusable()) {
+                    return;
+                }
+                release(this);
+            }
+            remove(this);
+        }
+
+        private boolean isReusable() {
+            // Threads left behind by the statement would be mistaken for
+            // stuck threads of the next statement.
+            return !threadGroupPerThread
+                    || Thread.currentThread().getThreadGroup().activeCount() <= 1;
+        }
+
+        private synchronized Task take() {
+            long deadline = System.currentTimeMillis() + KEEP_ALIVE_MILLIS;
+            while (task == null) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    retired = true;
+                    return null;
+                }
+                try {
+                    wait(remaining);
+                } catch (InterruptedException e) {
+                    retired = true;
+                    return null;
+                }
+            }
+            Task next = task;
+            task = null;
+            return next;
+        }
+    }
+
+    static final class Task extends FutureTask<Throwable> {
+        private final ClassLoader contextClassLoader;
+
+        private volatile Thread thread;
+
+        // Guarded by this
+        private boolean running;
+
+        Task(Callable<Throwable> callable, ClassLoader contextClassLoader) {
+            super(callable);
+            this.contextClassLoader = contextClassLoader;
+        }
+
+        /**
+         * Returns the thread the task was started on, or {@code null} if it
+         * has not been started yet.
+         */
+        Thread getThread() {
+            return thread;
+        }
+
+        /**
+         * Interrupts the thread running this task, unless the task has
+         * already finished and the thread may be running another one.
+         */
+        synchronized void interruptIfRunning() {
+            if (running) {
+                thread.interrupt();
+            }
+        }
+
+        @Override
+        public void run() {
+            Thread current = Thread.currentThread();
+            ClassLoader poolClassLoader = current.getContextClassLoader();
+            current.setContextClassLoader(contextClassLoader);
+            synchronized (this) {
+                thread = current;
+                running = true;
+            }
+            try {
+                super.run();
+            } finally {
+                synchronized (this) {
+                    running = false;
+                }
+                // Clear an interrupt meant for this task; no further ones can
+                // arrive because the task is no longer running.
+                Thread.interrupted();
+                current.setContextClassLoader(poolClassLoader);
+            }
+        }
+    }
+}
@@ -41,6 +41,7 @@ public class Timeout implements TestRule {
     private final long timeout;
     private final TimeUnit timeUnit;
     private final boolean lookForStuckThread;
+    private final boolean usePooledThreads;
 
     /**
      * Returns a new builder for building an instance.
@@ -81,6 +82,7 @@ public class Timeout implements TestRule {
         this.timeout = timeout;
         this.timeUnit = timeUnit;
         lookForStuckThread = false;
+        usePooledThreads = false;
     }
 
     /**
@@ -93,6 +95,7 @@ public class Timeout implements TestRule {
         timeout = builder.getTimeout();
         timeUnit = builder.getTimeUnit();
         lookForStuckThread = builder.getLookingForStuckThread();
+        usePooledThreads = builder.getUsingPooledThreads();
     }
 
     /**
@@ -134,6 +137,16 @@ public class Timeout implements TestRule {
         return lookForStuckThread;
     }
 
+    /**
+     * Gets whether this {@code Timeout} runs tests on threads taken
+     * from a shared pool.
+     *
+     * @since 4.13.3
+     */
+    protected final boolean getUsingPooledThreads() {
+        return usePooledThreads;
+    }
+
     /**
      * Creates a {@link Statement} that will run the given
      * {@code statement}, and timeout the operation based
@@ -147,6 +160,7 @@ public class Timeout implements TestRule {
         return FailOnTimeout.builder()
             .withTimeout(timeout, timeUnit)
             .withLookingForStuckThread(lookForStuckThread)
+            .withPooledThreads(usePooledThreads)
             .build(statement);
     }
 
@@ -169,6 +183,7 @@ public class Timeout implements TestRule {
      */
     public static class Builder {
         private boolean lookForStuckThread = false;
+        private boolean usePooledThreads = false;
         private long timeout = 0;
         private TimeUnit timeUnit = TimeUnit.SECONDS;
 
@@ -222,6 +237,25 @@ public class Timeout implements TestRule {
             return lookForStuckThread;
         }
 
+        /**
+         * Specifies whether to run tests on threads taken from a shared pool
+         * instead of a new thread per test. This saves creating a thread for
+         * every test when the rule is applied to many tests. Tests are still
+         * interrupted when they time out. This feature is experimental.
+         *
+         * @param enable {@code true} to enable the feature
+         * @return {@code this} for method chaining.
+         * @since 4.13.3
+         */
+        public Builder withPooledThreads(boolean enable) {
+            this.usePooledThreads = enable;
+            return this;
+        }
+
+        protected boolean getUsingPooledThreads() {
+            return usePooledThreads;
+        }
+
 
         /**
          * Builds a {@link Timeout} instance using the values in this builder.,
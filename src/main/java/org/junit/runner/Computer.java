@@ -1,5 +1,6 @@
 package org.junit.runner;
 
+import org.junit.runners.LazySuite;
 import org.junit.runners.Suite;
 import org.junit.runners.model.InitializationError;
 import org.junit.runners.model.RunnerBuilder;
@@ -12,6 +13,21 @@ import org.junit.runners.model.RunnerBuilder;
  * @since 4.6
  */
 public class Computer {
+    private final boolean lazy;
+
+    public Computer() {
+        this(false);
+    }
+
+    /**
+     * @param lazy whether the runner of each class is created just before the
+     * class runs, see {@link LazySuite}
+     * @since 4.13.3
+     */
+    protected Computer(boolean lazy) {
+        this.lazy = lazy;
+    }
+
     /**
      * Returns a new default computer, which runs tests in serial order
      */
@@ -19,18 +35,43 @@ public class Computer {
         return new Computer();
     }
 
+    /**
+     * Returns a new computer, which runs tests in serial order and creates the
+     * runner of each class just before the class runs
+     *
+     * @see LazySuite
+     * @since 4.13.3
+     */
+    public static Computer lazy() {
+        return new Computer(true);
+    }
+
     /**
      * Create a suite for {@code classes}, building Runners with {@code builder}.
      * Throws an InitializationError if Runner construction fails
      */
     public Runner getSuite(final RunnerBuilder builder,
             Class<?>[] classes) throws InitializationError {
-        return new Suite(new RunnerBuilder() {
+        RunnerBuilder computerBuilder = new RunnerBuilder() {
             @Override
             public Runner runnerForClass(Class<?> testClass) throws Throwable {
                 return getRunner(builder, testClass);
             }
-        }, classes) {
+
+            @Override
+            public boolean shouldBuildRunnerFor(Class<?> testClass) {
+                return builder.shouldBuildRunnerFor(testClass);
+            }
+        };
+        if (lazy) {
+            return new LazySuite(computerBuilder, classes) {
+                @Override
+                protected String getName() {
+                    return "classes";
+                }
+            };
+        }
+        return new Suite(computerBuilder, classes) {
             @Override
             protected String getName() {
                 /*
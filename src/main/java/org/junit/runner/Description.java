@@ -1,10 +1,15 @@
 package org.junit.runner;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -22,6 +27,10 @@ import java.util.regex.Pattern;
  * to display the tree of tests. This was no longer viable in JUnit 4 because atomic tests no longer have
  * a superclass below {@link Object}. We needed a way to pass a class and name together. Description
  * emerged from this.
+ * <p>
+ * Once all children have been added, a <code>Description</code> can be {@link #seal() sealed}. A sealed
+ * <code>Description</code> keeps its children in an array, remembers its test count and no longer accepts
+ * new children.
  *
  * @see org.junit.runner.Request
  * @see org.junit.runner.Runner
@@ -33,6 +42,8 @@ public class Description implements Serializable {
     private static final Pattern METHOD_AND_CLASS_NAME_PATTERN = Pattern
             .compile("([\\s\\S]*)\\((.*)\\)");
 
+    private static final Description[] NO_CHILDREN = new Description[0];
+
     /**
      * Create a <code>Description</code> named <code>name</code>.
      * Generally, you will add children to this <code>Description</code>.
@@ -152,12 +163,19 @@ public class Description implements Serializable {
      * serialization compatibility. 
      * See https://github.com/junit-team/junit4/issues/976
      */
-    private final Collection<Description> fChildren = new ConcurrentLinkedQueue<Description>();
+    // Guarded by this when it is written, so that no child is added while it is sealed
+    private volatile Collection<Description> fChildren = new ConcurrentLinkedQueue<Description>();
     private final String fDisplayName;
     private final Serializable fUniqueId;
     private final Annotation[] fAnnotations;
     private volatile /* write-once */ Class<?> fTestClass;
 
+    // null unless sealed
+    private transient volatile Description[] sealedChildren;
+
+    // 0 unless sealed and all children are sealed
+    private transient volatile int sealedTestCount;
+
     private Description(Class<?> clazz, String displayName, Annotation... annotations) {
         this(clazz, displayName, displayName, annotations);
     }
@@ -188,9 +206,16 @@ public class Description implements Serializable {
      * Add <code>Description</code> as a child of the receiver.
      *
      * @param description the soon-to-be child.
+     * @throws IllegalStateException if the receiver is {@link #seal() sealed}
      */
     public void addChild(Description description) {
-        fChildren.add(description);
+        synchronized (this) {
+            if (sealedChildren != null) {
+                throw new IllegalStateException("Cannot add a child to the sealed description "
+                        + fDisplayName);
+            }
+            fChildren.add(description);
+        }
     }
 
     /**
@@ -198,9 +223,78 @@ public class Description implements Serializable {
      * Returns an empty list if there are no children.
      */
     public ArrayList<Description> getChildren() {
+        Description[] children = sealedChildren;
+        if (children != null) {
+            return new ArrayList<Description>(Arrays.asList(children));
+        }
         return new ArrayList<Description>(fChildren);
     }
 
+    /**
+     * Gets an unmodifiable list of the children of this {@code Description}.
+     * If the description is {@link #seal() sealed}, the list is a view of its
+     * children and nothing is copied.
+     *
+     * @since 4.13.3
+     */
+    public List<Description> getChildrenView() {
+        if (sealedChildren != null) {
+            // seal() replaces fChildren before it sets sealedChildren
+            return (List<Description>) fChildren;
+        }
+        return Collections.unmodifiableList(new ArrayList<Description>(fChildren));
+    }
+
+    /**
+     * Seals this {@code Description}: no children can be added afterwards. The
+     * children are stored in an array. If all children are sealed, too, the
+     * test count is computed once.
+     *
+     * <p>Runners seal the descriptions that they keep for themselves and
+     * return {@link #mutableCopy() copies} of them from
+     * {@link Runner#getDescription()}. The children of a sealed description
+     * are not sealed by this method. Use {@link #childlessCopy()} or
+     * {@link #mutableCopy()} to get a description that accepts children again.
+     *
+     * @return this {@code Description}
+     * @since 4.13.3
+     */
+    public Description seal() {
+        synchronized (this) {
+            if (sealedChildren == null) {
+                Description[] children = fChildren.toArray(NO_CHILDREN);
+                fChildren = children.length == 0 ? Collections.<Description>emptyList()
+                        : Collections.unmodifiableList(Arrays.asList(children));
+                sealedTestCount = countTestsIfSealed(children);
+                sealedChildren = children;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @return <code>true</code> if {@link #seal()} has been called
+     * @since 4.13.3
+     */
+    public boolean isSealed() {
+        return sealedChildren != null;
+    }
+
+    private static int countTestsIfSealed(Description[] children) {
+        if (children.length == 0) {
+            return 1;
+        }
+        int result = 0;
+        for (Description child : children) {
+            int childCount = child.sealedTestCount;
+            if (childCount == 0) {
+                return 0;
+            }
+            result += childCount;
+        }
+        return result;
+    }
+
     /**
      * @return <code>true</code> if the receiver is a suite
      */
@@ -212,13 +306,18 @@ public class Description implements Serializable {
      * @return <code>true</code> if the receiver is an atomic test
      */
     public boolean isTest() {
-        return fChildren.isEmpty();
+        Description[] children = sealedChildren;
+        return children != null ? children.length == 0 : fChildren.isEmpty();
     }
 
     /**
      * @return the total number of atomic tests in the receiver
      */
     public int testCount() {
+        int sealedCount = sealedTestCount;
+        if (sealedCount != 0) {
+            return sealedCount;
+        }
         if (isTest()) {
             return 1;
         }
@@ -263,6 +362,21 @@ public class Description implements Serializable {
         return new Description(fTestClass, fDisplayName, fAnnotations);
     }
 
+    /**
+     * Returns a copy of this description and of all its descendants that is not
+     * {@link #seal() sealed}, so that children can be added to any of its nodes.
+     * The copies keep the unique ids of the originals.
+     *
+     * @since 4.13.3
+     */
+    public Description mutableCopy() {
+        Description copy = new Description(fTestClass, fDisplayName, fUniqueId, fAnnotations);
+        for (Description child : getChildrenView()) {
+            copy.fChildren.add(child.mutableCopy());
+        }
+        return copy;
+    }
+
     /**
      * @return the annotation of type annotationType that is attached to this description node,
      *         or null if none exists
@@ -324,4 +438,31 @@ public class Description implements Serializable {
         Matcher matcher = METHOD_AND_CLASS_NAME_PATTERN.matcher(toString());
         return matcher.matches() ? matcher.group(group) : defaultString;
     }
+
+    /*
+     * A sealed description writes its children in a ConcurrentLinkedQueue,
+     * like an unsealed one, so that versions without seal() can add children
+     * to it after reading it. Whether it is sealed is written after the
+     * fields, where these versions ignore it.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        Description[] children = sealedChildren;
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("fChildren", children == null ? fChildren
+                : new ConcurrentLinkedQueue<Description>(Arrays.asList(children)));
+        fields.put("fDisplayName", fDisplayName);
+        fields.put("fUniqueId", fUniqueId);
+        fields.put("fAnnotations", fAnnotations);
+        fields.put("fTestClass", fTestClass);
+        out.writeFields();
+        out.writeBoolean(children != null);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        // -1 if written by a version without seal()
+        if (in.read() == 1) {
+            seal();
+        }
+    }
 }
\ No newline at end of file
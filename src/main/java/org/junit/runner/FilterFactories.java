@@ -19,7 +19,11 @@ class FilterFactories {
      */
     public static Filter createFilterFromFilterSpec(Request request, String filterSpec)
             throws FilterFactory.FilterNotCreatedException {
-        Description topLevelDescription = request.getRunner().getDescription();
+        return createFilterFromFilterSpec(request.getRunner().getDescription(), filterSpec);
+    }
+
+    static Filter createFilterFromFilterSpec(Description topLevelDescription, String filterSpec)
+            throws FilterFactory.FilterNotCreatedException {
         String[] tuple;
 
         if (filterSpec.contains("=")) {
@@ -1,18 +1,44 @@
 package org.junit.runner;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+import org.junit.experimental.categories.ExcludeCategories;
+import org.junit.experimental.categories.IncludeCategories;
+import org.junit.experimental.max.MaxHistory;
 import org.junit.internal.Classes;
+import org.junit.internal.builders.AllDefaultPossibilitiesBuilder;
 import org.junit.runner.FilterFactory.FilterNotCreatedException;
+import org.junit.runner.manipulation.ClassMetadata;
 import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.IncludeMethodsFromFile;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.manipulation.ShardFilter;
+import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.model.InitializationError;
 
 class JUnitCommandLineParseResult {
+    private static final Pattern SHARD_SPEC = Pattern.compile(
+            "(\\d+)/(\\d+)(?::(class|method|durations=(.+)))?");
+
     private final List<String> filterSpecs = new ArrayList<String>();
     private final List<Class<?>> classes = new ArrayList<Class<?>>();
     private final List<Throwable> parserErrors = new ArrayList<Throwable>();
+    private String shardSpec;
+    private ShardFilter shardFilter;
+    // the shard and the filters of the filter specs that can be created
+    // before the classes are loaded
+    private Filter classFilter = Filter.ALL;
+    // the filters of classFilter by their filter specs
+    private final Map<String, Filter> filtersBySpec = new HashMap<String, Filter>();
 
     /**
      * Do not use. Testing purposes only.
@@ -73,6 +99,19 @@ class JUnitCommandLineParseResult {
                     }
 
                     filterSpecs.add(filterSpec);
+                } else if (arg.startsWith("--shard=") || arg.equals("--shard")) {
+                    if (arg.equals("--shard")) {
+                        ++i;
+
+                        if (i < args.length) {
+                            addShardSpec(args[i]);
+                        } else {
+                            parserErrors.add(new CommandLineParserError(arg + " value not specified"));
+                            break;
+                        }
+                    } else {
+                        addShardSpec(arg.substring(arg.indexOf('=') + 1));
+                    }
                 } else {
                     parserErrors.add(new CommandLineParserError("JUnit knows nothing about the " + arg + " option"));
                 }
@@ -84,6 +123,17 @@ class JUnitCommandLineParseResult {
         return new String[]{};
     }
 
+    private void addShardSpec(String spec) {
+        if (shardSpec != null) {
+            parserErrors.add(new CommandLineParserError("--shard can only be specified once"));
+        } else if (!SHARD_SPEC.matcher(spec).matches()) {
+            parserErrors.add(new CommandLineParserError("Invalid shard [" + spec
+                    + "], expected i/N, i/N:class, i/N:method or i/N:durations=<history file>"));
+        } else {
+            shardSpec = spec;
+        }
+    }
+
     private String[] copyArray(String[] args, int from, int to) {
         String[] result = new String[to - from];
         for (int j = from; j != to; ++j) {
@@ -93,7 +143,16 @@ class JUnitCommandLineParseResult {
     }
 
     void parseParameters(String[] args) {
+        if (shardSpec != null) {
+            createShardFilter(Arrays.asList(args));
+        }
+        createClassFilter();
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
         for (String arg : args) {
+            if (!shouldLoadClass(arg, classLoader)) {
+                // e.g. classes of other shards
+                continue;
+            }
             try {
                 classes.add(Classes.getClass(arg));
             } catch (ClassNotFoundException e) {
@@ -102,6 +161,86 @@ class JUnitCommandLineParseResult {
         }
     }
 
+    private void createClassFilter() {
+        if (shardFilter != null) {
+            classFilter = shardFilter;
+        }
+        for (String filterSpec : filterSpecs) {
+            if (!isIndependentOfRequest(filterSpec)) {
+                // created with the description of the request
+                continue;
+            }
+            try {
+                Filter filter = FilterFactories.createFilterFromFilterSpec(
+                        Description.EMPTY, filterSpec);
+                filtersBySpec.put(filterSpec, filter);
+                classFilter = classFilter.intersect(filter);
+            } catch (FilterNotCreatedException e) {
+                // reported when the filter is applied to the request
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} if the filter factory of {@code filterSpec} is one
+     * of JUnit's factories that do not look at the description of the
+     * request, so that its filter can be created before the classes are
+     * loaded. Other factories may need the description.
+     */
+    private static boolean isIndependentOfRequest(String filterSpec) {
+        String factoryName = filterSpec.split("=", 2)[0];
+        return factoryName.equals(IncludeCategories.class.getName())
+                || factoryName.equals(ExcludeCategories.class.getName())
+                || factoryName.equals(IncludeMethodsFromFile.class.getName());
+    }
+
+    /**
+     * Returns {@code false} if the shard or the filter specs reject the class
+     * named {@code className} by the metadata of its class file. Classes that
+     * may contain the tests of other classes, like suites, are loaded by
+     * every shard.
+     */
+    private boolean shouldLoadClass(String className, ClassLoader classLoader) {
+        if (classFilter == Filter.ALL) {
+            return true;
+        }
+        try {
+            ClassMetadata metadata = ClassMetadata.forClassName(className, classLoader);
+            if (metadata == null) {
+                // the class cannot be loaded anyway
+                return shardFilter == null || shardFilter.shouldRunClass(className);
+            }
+            return classFilter.shouldRunClass(metadata);
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    private void createShardFilter(List<String> classNames) {
+        Matcher matcher = SHARD_SPEC.matcher(shardSpec);
+        matcher.matches();
+        try {
+            int index = Integer.parseInt(matcher.group(1));
+            int count = Integer.parseInt(matcher.group(2));
+            String assignment = matcher.group(3);
+            if (assignment == null || assignment.equals("class")) {
+                shardFilter = ShardFilter.byClass(index, count);
+            } else if (assignment.equals("method")) {
+                shardFilter = ShardFilter.byMethod(index, count);
+            } else {
+                Map<String, Long> durations = MaxHistory.readClassDurations(
+                        new File(matcher.group(4)));
+                shardFilter = ShardFilter.byDuration(index, count, classNames, durations);
+            }
+        } catch (IOException e) {
+            parserErrors.add(new IllegalArgumentException(
+                    "Could not read durations for shard [" + shardSpec + "]", e));
+        } catch (IllegalArgumentException e) {
+            parserErrors.add(new IllegalArgumentException(
+                    "Invalid shard [" + shardSpec + "]", e));
+        }
+    }
+
     private Request errorReport(Throwable cause) {
         return Request.errorReport(JUnitCommandLineParseResult.class, cause);
     }
@@ -113,19 +252,60 @@ class JUnitCommandLineParseResult {
      */
     public Request createRequest(Computer computer) {
         if (parserErrors.isEmpty()) {
-            Request request = Request.classes(
-                    computer, classes.toArray(new Class<?>[classes.size()]));
+            Request request = Request.classes(computer, new AllDefaultPossibilitiesBuilder(classFilter),
+                    classes.toArray(new Class<?>[classes.size()]));
+            if (shardFilter != null && !classes.isEmpty()) {
+                // the classes of suites are only left out when their runners are built
+                request = applyShardFilter(request);
+            }
             return applyFilterSpecs(request);
         } else {
             return errorReport(new InitializationError(parserErrors));
         }
     }
 
+    /**
+     * Applies the shard filter to {@code request}. Unlike
+     * {@link Request#filterWith(Filter)}, a shard without tests, e.g. because
+     * there are more shards than tests, runs nothing instead of failing.
+     */
+    private Request applyShardFilter(final Request request) {
+        return new Request() {
+            @Override
+            public Runner getRunner() {
+                Runner runner = request.getRunner();
+                try {
+                    shardFilter.apply(runner);
+                    return runner;
+                } catch (NoTestsRemainException e) {
+                    return emptyRunner(runner.getDescription().childlessCopy());
+                }
+            }
+        };
+    }
+
+    private static Runner emptyRunner(final Description description) {
+        return new Runner() {
+            @Override
+            public Description getDescription() {
+                return description;
+            }
+
+            @Override
+            public void run(RunNotifier notifier) {
+                // the shard has no tests
+            }
+        };
+    }
+
     private Request applyFilterSpecs(Request request) {
         try {
             for (String filterSpec : filterSpecs) {
-                Filter filter = FilterFactories.createFilterFromFilterSpec(
-                        request, filterSpec);
+                Filter filter = filtersBySpec.get(filterSpec);
+                if (filter == null) {
+                    filter = FilterFactories.createFilterFromFilterSpec(
+                            request, filterSpec);
+                }
                 request = request.filterWith(filter);
             }
             return request;
@@ -13,6 +13,12 @@ import org.junit.runner.notification.RunNotifier;
  * JUnit 3.8.x tests, and mixtures. To run tests from the command line, run
  * <code>java org.junit.runner.JUnitCore TestClass1 TestClass2 ...</code>.
  * For one-shot test runs, use the static method {@link #runClasses(Class[])}.
+ * To split a run across several JVMs, pass <code>--shard=i/N</code> to each of
+ * them, see {@link org.junit.runner.manipulation.ShardFilter}. By default, the
+ * classes are assigned to shards by the hash of their names;
+ * <code>--shard=i/N:method</code> assigns test methods instead, and
+ * <code>--shard=i/N:durations=history</code> balances the shards by the
+ * durations recorded in a {@link org.junit.experimental.max.MaxHistory} file.
  * If you want to add special listeners,
  * create an instance of {@link org.junit.runner.JUnitCore} first and use it to run the tests.
  *
@@ -11,6 +11,7 @@ import org.junit.internal.runners.ErrorReportingRunner;
 import org.junit.runner.manipulation.Filter;
 import org.junit.runner.manipulation.Ordering;
 import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerBuilder;
 
 /**
  * A <code>Request</code> is an abstract description of tests to be run. Older versions of
@@ -72,8 +73,11 @@ public abstract class Request {
      * @return a <code>Request</code> that will cause all tests in the classes to be run
      */
     public static Request classes(Computer computer, Class<?>... classes) {
+        return classes(computer, new AllDefaultPossibilitiesBuilder(), classes);
+    }
+
+    static Request classes(Computer computer, RunnerBuilder builder, Class<?>[] classes) {
         try {
-            AllDefaultPossibilitiesBuilder builder = new AllDefaultPossibilitiesBuilder();
             Runner suite = computer.getSuite(builder, classes);
             return runner(suite);
         } catch (InitializationError e) {
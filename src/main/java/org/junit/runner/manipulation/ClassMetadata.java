@@ -0,0 +1,415 @@
+package org.junit.runner.manipulation;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * What the class file of a class tells about the class: its name, modifiers,
+ * superclass, the annotations of the class, and the names and annotations of
+ * its methods. It is read from the bytes of the class file, so the class is
+ * neither loaded nor initialized, which allows deciding cheaply whether a
+ * class needs to be run at all (see
+ * {@link Filter#shouldRunClass(ClassMetadata)}).
+ *
+ * <p>Only annotations that are visible at runtime are read. The values of
+ * their elements are available as strings: class literals as the names of
+ * the classes, and other constants as their {@code String} value.
+ *
+ * @since 4.13.3
+ */
+public final class ClassMetadata {
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private final ClassLoader classLoader;
+
+    private final String className;
+
+    private final String superclassName;
+
+    private final int modifiers;
+
+    // element name to values, by annotation name
+    private final Map<String, Map<String, List<String>>> annotations;
+
+    private final Set<String> methodNames;
+
+    private final Set<String> methodAnnotationNames;
+
+    private ClassMetadata(ClassLoader classLoader, String className, String superclassName,
+            int modifiers, Map<String, Map<String, List<String>>> annotations,
+            Set<String> methodNames, Set<String> methodAnnotationNames) {
+        this.classLoader = classLoader;
+        this.className = className;
+        this.superclassName = superclassName;
+        this.modifiers = modifiers;
+        this.annotations = annotations;
+        this.methodNames = methodNames;
+        this.methodAnnotationNames = methodAnnotationNames;
+    }
+
+    /**
+     * Reads the metadata of the class named {@code className} from its class
+     * file, as found by {@code classLoader}, without loading the class.
+     *
+     * @return the metadata, or {@code null} if there is no class file
+     * @throws IOException if the class file cannot be read
+     */
+    public static ClassMetadata forClassName(String className, ClassLoader classLoader)
+            throws IOException {
+        ClassLoader loader = classLoader == null ? ClassLoader.getSystemClassLoader() : classLoader;
+        InputStream in = loader.getResourceAsStream(className.replace('.', '/') + ".class");
+        if (in == null) {
+            return null;
+        }
+        try {
+            return read(in, loader);
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Reads the metadata of {@code testClass} from its class file, without
+     * initializing it.
+     *
+     * @return the metadata, or {@code null} if there is no class file
+     * @throws IOException if the class file cannot be read
+     */
+    public static ClassMetadata forClass(Class<?> testClass) throws IOException {
+        return forClassName(testClass.getName(), testClass.getClassLoader());
+    }
+
+    /**
+     * Reads the metadata of a class from the bytes of its class file.
+     *
+     * @throws IOException if {@code in} cannot be read or is not a class file
+     */
+    public static ClassMetadata read(InputStream in) throws IOException {
+        return read(in, null);
+    }
+
+    private static ClassMetadata read(InputStream in, ClassLoader classLoader)
+            throws IOException {
+        return new Parser(new DataInputStream(new BufferedInputStream(in))).parse(classLoader);
+    }
+
+    /**
+     * Returns the binary name of the class, as returned by
+     * {@link Class#getName()}.
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * Returns the binary name of the superclass, or {@code null} for
+     * {@code java.lang.Object} and interfaces without a superclass.
+     */
+    public String getSuperclassName() {
+        return superclassName;
+    }
+
+    /**
+     * Returns the modifiers of the class, as defined by {@link Modifier}.
+     * Whether a nested class is static is not recorded here.
+     */
+    public int getModifiers() {
+        return modifiers;
+    }
+
+    /**
+     * Reads the metadata of the superclass with the class loader that found
+     * this class file.
+     *
+     * @return the metadata, or {@code null} if there is no superclass or its
+     *         class file cannot be found
+     * @throws IOException if the class file cannot be read
+     */
+    public ClassMetadata readSuperclass() throws IOException {
+        return superclassName == null ? null : forClassName(superclassName, classLoader);
+    }
+
+    /**
+     * Returns the class loader that found the class file, or {@code null}
+     * if the metadata was read from a stream.
+     */
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    /**
+     * Returns the names of the annotations of the class that are visible at
+     * runtime, not including inherited ones.
+     */
+    public Set<String> getAnnotationNames() {
+        return Collections.unmodifiableSet(annotations.keySet());
+    }
+
+    public boolean hasAnnotation(String annotationName) {
+        return annotations.containsKey(annotationName);
+    }
+
+    /**
+     * Returns the values of the element {@code elementName} of the annotation
+     * {@code annotationName} of the class. Class literals are returned as the
+     * names of the classes. Values that are not set explicitly are not
+     * returned, since the defaults are only known to the annotation type.
+     *
+     * @return the values, or an empty list if the class has no such
+     *         annotation or the element is not set
+     */
+    public List<String> getAnnotationValues(String annotationName, String elementName) {
+        Map<String, List<String>> elements = annotations.get(annotationName);
+        if (elements == null) {
+            return Collections.emptyList();
+        }
+        List<String> values = elements.get(elementName);
+        return values == null ? Collections.<String>emptyList() : values;
+    }
+
+    /**
+     * Returns the names of the methods and constructors declared by the
+     * class.
+     */
+    public Set<String> getMethodNames() {
+        return Collections.unmodifiableSet(methodNames);
+    }
+
+    /**
+     * Returns {@code true} if a method declared by the class has the
+     * annotation {@code annotationName}.
+     */
+    public boolean hasMethodAnnotation(String annotationName) {
+        return methodAnnotationNames.contains(annotationName);
+    }
+
+    @Override
+    public String toString() {
+        return "ClassMetadata[" + className + "]";
+    }
+
+    /**
+     * Reads the parts of a class file that make up a {@link ClassMetadata}.
+     * See chapter 4 of the Java Virtual Machine Specification.
+     */
+    private static final class Parser {
+        private final DataInputStream in;
+
+        // the UTF-8 entries of the constant pool; null for other entries
+        private String[] strings;
+
+        // the name index of the Class entries of the constant pool
+        private int[] classNameIndexes;
+
+        // the value of numeric constants of the constant pool
+        private Map<Integer, Object> numbers;
+
+        Parser(DataInputStream in) {
+            this.in = in;
+        }
+
+        ClassMetadata parse(ClassLoader classLoader) throws IOException {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a class file");
+            }
+            in.readUnsignedShort(); // minor version
+            in.readUnsignedShort(); // major version
+            readConstantPool();
+            int modifiers = in.readUnsignedShort();
+            String className = className(in.readUnsignedShort());
+            int superclassIndex = in.readUnsignedShort();
+            String superclassName = superclassIndex == 0 ? null : className(superclassIndex);
+            skip(2 * in.readUnsignedShort()); // interfaces
+
+            int fields = in.readUnsignedShort();
+            for (int i = 0; i < fields; i++) {
+                skip(6); // access flags, name and descriptor
+                skipAttributes();
+            }
+
+            Set<String> methodNames = new LinkedHashSet<String>();
+            Set<String> methodAnnotationNames = new LinkedHashSet<String>();
+            int methods = in.readUnsignedShort();
+            for (int i = 0; i < methods; i++) {
+                in.readUnsignedShort(); // access flags
+                methodNames.add(strings[in.readUnsignedShort()]);
+                in.readUnsignedShort(); // descriptor
+                int attributes = in.readUnsignedShort();
+                for (int j = 0; j < attributes; j++) {
+                    String name = strings[in.readUnsignedShort()];
+                    int length = in.readInt();
+                    if ("RuntimeVisibleAnnotations".equals(name)) {
+                        methodAnnotationNames.addAll(readAnnotations().keySet());
+                    } else {
+                        skip(length);
+                    }
+                }
+            }
+
+            Map<String, Map<String, List<String>>> annotations = Collections.emptyMap();
+            int attributes = in.readUnsignedShort();
+            for (int i = 0; i < attributes; i++) {
+                String name = strings[in.readUnsignedShort()];
+                int length = in.readInt();
+                if ("RuntimeVisibleAnnotations".equals(name)) {
+                    annotations = readAnnotations();
+                } else {
+                    skip(length);
+                }
+            }
+
+            return new ClassMetadata(classLoader, className, superclassName,
+                    modifiers & ~0x20, annotations, methodNames, methodAnnotationNames);
+        }
+
+        private void readConstantPool() throws IOException {
+            int count = in.readUnsignedShort();
+            strings = new String[count];
+            classNameIndexes = new int[count];
+            numbers = new HashMap<Integer, Object>();
+            for (int i = 1; i < count; i++) {
+                int tag = in.readUnsignedByte();
+                switch (tag) {
+                    case 1: // Utf8
+                        strings[i] = in.readUTF();
+                        break;
+                    case 3: // Integer
+                        numbers.put(i, in.readInt());
+                        break;
+                    case 4: // Float
+                        numbers.put(i, in.readFloat());
+                        break;
+                    case 5: // Long
+                        numbers.put(i, in.readLong());
+                        i++;
+                        break;
+                    case 6: // Double
+                        numbers.put(i, in.readDouble());
+                        i++;
+                        break;
+                    case 7: // Class
+                        classNameIndexes[i] = in.readUnsignedShort();
+                        break;
+                    case 8: // String
+                    case 16: // MethodType
+                    case 19: // Module
+                    case 20: // Package
+                        skip(2);
+                        break;
+                    case 9: // Fieldref
+                    case 10: // Methodref
+                    case 11: // InterfaceMethodref
+                    case 12: // NameAndType
+                    case 17: // Dynamic
+                    case 18: // InvokeDynamic
+                        skip(4);
+                        break;
+                    case 15: // MethodHandle
+                        skip(3);
+                        break;
+                    default:
+                        throw new IOException("Unknown constant pool tag " + tag);
+                }
+            }
+        }
+
+        private String className(int classIndex) {
+            return strings[classNameIndexes[classIndex]].replace('/', '.');
+        }
+
+        private void skipAttributes() throws IOException {
+            int attributes = in.readUnsignedShort();
+            for (int i = 0; i < attributes; i++) {
+                skip(2);
+                skip(in.readInt());
+            }
+        }
+
+        private Map<String, Map<String, List<String>>> readAnnotations() throws IOException {
+            Map<String, Map<String, List<String>>> annotations =
+                    new LinkedHashMap<String, Map<String, List<String>>>();
+            int count = in.readUnsignedShort();
+            for (int i = 0; i < count; i++) {
+                String name = typeName(strings[in.readUnsignedShort()]);
+                annotations.put(name, readElements());
+            }
+            return annotations;
+        }
+
+        private Map<String, List<String>> readElements() throws IOException {
+            Map<String, List<String>> elements = new HashMap<String, List<String>>();
+            int count = in.readUnsignedShort();
+            for (int i = 0; i < count; i++) {
+                String name = strings[in.readUnsignedShort()];
+                List<String> values = new ArrayList<String>();
+                readElementValue(values);
+                elements.put(name, values);
+            }
+            return elements;
+        }
+
+        private void readElementValue(List<String> values) throws IOException {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 's':
+                    values.add(strings[in.readUnsignedShort()]);
+                    break;
+                case 'B': case 'C': case 'D': case 'F': case 'I': case 'J': case 'S': case 'Z':
+                    values.add(String.valueOf(numbers.get(in.readUnsignedShort())));
+                    break;
+                case 'e':
+                    in.readUnsignedShort(); // type
+                    values.add(strings[in.readUnsignedShort()]);
+                    break;
+                case 'c':
+                    values.add(typeName(strings[in.readUnsignedShort()]));
+                    break;
+                case '@':
+                    in.readUnsignedShort(); // type
+                    readElements();
+                    break;
+                case '[':
+                    int count = in.readUnsignedShort();
+                    for (int i = 0; i < count; i++) {
+                        readElementValue(values);
+                    }
+                    break;
+                default:
+                    throw new IOException("Unknown element value tag " + (char) tag);
+            }
+        }
+
+        /**
+         * Turns a field descriptor like {@code Lorg/junit/Test;} into a class
+         * name. Other descriptors are returned as they are.
+         */
+        private static String typeName(String descriptor) {
+            if (descriptor.startsWith("L") && descriptor.endsWith(";")) {
+                return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+            }
+            return descriptor;
+        }
+
+        private void skip(int bytes) throws IOException {
+            int remaining = bytes;
+            while (remaining > 0) {
+                int skipped = in.skipBytes(remaining);
+                if (skipped <= 0) {
+                    throw new IOException("Unexpected end of class file");
+                }
+                remaining -= skipped;
+            }
+        }
+    }
+}
@@ -53,7 +53,7 @@ public abstract class Filter {
                 }
 
                 // explicitly check if any children want to run
-                for (Description each : description.getChildren()) {
+                for (Description each : description.getChildrenView()) {
                     if (shouldRun(each)) {
                         return true;
                     }
@@ -75,6 +75,22 @@ public abstract class Filter {
      */
     public abstract boolean shouldRun(Description description);
 
+    /**
+     * Returns {@code false} if none of the tests of the class described by
+     * {@code metadata} can pass this filter, so that the class does not have
+     * to be loaded, and no runner has to be built for it. This is asked
+     * before the tests of the class are known, so a filter that cannot tell
+     * from the metadata must return {@code true}, which is what the default
+     * implementation does.
+     *
+     * @param metadata what the class file tells about the class
+     * @see org.junit.runners.model.RunnerBuilder#shouldBuildRunnerFor(Class)
+     * @since 4.13.3
+     */
+    public boolean shouldRunClass(ClassMetadata metadata) {
+        return true;
+    }
+
     /**
      * Returns a textual description of this Filter
      *
@@ -113,6 +129,12 @@ public abstract class Filter {
                         && second.shouldRun(description);
             }
 
+            @Override
+            public boolean shouldRunClass(ClassMetadata metadata) {
+                return first.shouldRunClass(metadata)
+                        && second.shouldRunClass(metadata);
+            }
+
             @Override
             public String describe() {
                 return first.describe() + " and " + second.describe();
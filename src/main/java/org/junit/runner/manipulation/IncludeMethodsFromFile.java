@@ -0,0 +1,58 @@
+package org.junit.runner.manipulation;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.runner.FilterFactory;
+import org.junit.runner.FilterFactoryParams;
+
+/**
+ * {@link FilterFactory} that creates a {@link SelectedMethodsFilter} from the
+ * lines of a UTF-8 encoded file. Each line is either
+ * {@code pkg.of.Class#method} or {@code pkg.of.Class}. Empty lines and lines
+ * starting with {@code #} are ignored.
+ *
+ * Usage from command line:
+ * <code>
+ *     --filter=org.junit.runner.manipulation.IncludeMethodsFromFile=path/to/selection.txt
+ * </code>
+ *
+ * @since 4.13.3
+ */
+public final class IncludeMethodsFromFile implements FilterFactory {
+    private static final String COMMENT = "#";
+
+    /**
+     * Creates a {@link SelectedMethodsFilter} for the methods and classes that
+     * are listed in the file {@code params.getArgs()}.
+     */
+    public Filter createFilter(FilterFactoryParams params) throws FilterNotCreatedException {
+        try {
+            return SelectedMethodsFilter.forMethodNames(readMethodNames(params.getArgs()));
+        } catch (IOException e) {
+            throw new FilterNotCreatedException(e);
+        }
+    }
+
+    private static List<String> readMethodNames(String fileName) throws IOException {
+        List<String> methodNames = new ArrayList<String>();
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(fileName), "UTF-8"));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.length() != 0 && !line.startsWith(COMMENT)) {
+                    methodNames.add(line);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return methodNames;
+    }
+}
@@ -0,0 +1,245 @@
+package org.junit.runner.manipulation;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.runner.Description;
+
+/**
+ * A {@link Filter} that runs a selection of test methods and test classes,
+ * for example the tests that a test impact analysis picked. Unlike
+ * {@link Filter#matchMethodDescription(Description)}, the selection can be
+ * large: each test is looked up in a hash index on its class name and method
+ * name instead of being compared with every selected method. A suite of a
+ * class that is selected as a whole is accepted without looking at its tests,
+ * and the result for a {@link Description#seal() sealed} suite is computed
+ * once, so that filtering a tree of suites does not walk its subtrees again.
+ *
+ * <p>Methods are selected by their name. The name of a parameterized test,
+ * e.g. {@code test[0]}, matches both {@code test[0]} and {@code test}.
+ *
+ * @see IncludeMethodsFromFile
+ * @since 4.13.3
+ */
+public final class SelectedMethodsFilter extends Filter {
+    private static final char METHOD_SEPARATOR = '#';
+
+    // the selected methods of each class; null selects the whole class
+    private final Map<String, Set<String>> methodsByClassName;
+
+    // Guarded by itself
+    private final Map<Description, Boolean> subtreeResults = new IdentityHashMap<Description, Boolean>();
+
+    private SelectedMethodsFilter(Map<String, Set<String>> methodsByClassName) {
+        this.methodsByClassName = methodsByClassName;
+    }
+
+    /**
+     * Returns a {@code Filter} that runs the tests described by
+     * {@code descriptions}. A suite selects all of its tests.
+     */
+    public static SelectedMethodsFilter forDescriptions(Collection<Description> descriptions) {
+        Map<String, Set<String>> methodsByClassName = new HashMap<String, Set<String>>();
+        for (Description each : descriptions) {
+            addTests(methodsByClassName, each);
+        }
+        return new SelectedMethodsFilter(methodsByClassName);
+    }
+
+    private static void addTests(Map<String, Set<String>> methodsByClassName,
+            Description description) {
+        if (description.isTest()) {
+            String className = description.getClassName();
+            String methodName = description.getMethodName();
+            if (methodName == null) {
+                methodsByClassName.put(className, null);
+            } else {
+                addMethod(methodsByClassName, className, methodName);
+            }
+        } else {
+            for (Description each : description.getChildrenView()) {
+                addTests(methodsByClassName, each);
+            }
+        }
+    }
+
+    /**
+     * Returns a {@code Filter} that runs the given methods and classes. Each
+     * name is either {@code pkg.of.Class#method}, which selects a single
+     * method, or {@code pkg.of.Class}, which selects the whole class.
+     */
+    public static SelectedMethodsFilter forMethodNames(Collection<String> names) {
+        Map<String, Set<String>> methodsByClassName = new HashMap<String, Set<String>>();
+        for (String each : names) {
+            int separator = each.indexOf(METHOD_SEPARATOR);
+            if (separator < 0) {
+                methodsByClassName.put(each, null);
+            } else {
+                addMethod(methodsByClassName, each.substring(0, separator),
+                        each.substring(separator + 1));
+            }
+        }
+        return new SelectedMethodsFilter(methodsByClassName);
+    }
+
+    private static void addMethod(Map<String, Set<String>> methodsByClassName, String className,
+            String methodName) {
+        Set<String> methods = methodsByClassName.get(className);
+        if (methods == null) {
+            if (methodsByClassName.containsKey(className)) {
+                return; // the whole class is selected
+            }
+            methods = new HashSet<String>();
+            methodsByClassName.put(className, methods);
+        }
+        methods.add(methodName);
+    }
+
+    @Override
+    public boolean shouldRun(Description description) {
+        if (description.isTest()) {
+            return isSelected(description);
+        }
+        if (!description.isSealed()) {
+            return hasSelectedTestInSubtree(description);
+        }
+        // the children of a sealed suite do not change, so neither does the result
+        synchronized (subtreeResults) {
+            Boolean result = subtreeResults.get(description);
+            if (result != null) {
+                return result;
+            }
+        }
+        boolean result = hasSelectedTestInSubtree(description);
+        synchronized (subtreeResults) {
+            subtreeResults.put(description, result);
+        }
+        return result;
+    }
+
+    private boolean hasSelectedTestInSubtree(Description description) {
+        String className = description.getClassName();
+        if (methodsByClassName.containsKey(className)
+                && methodsByClassName.get(className) == null) {
+            return true;
+        }
+        for (Description each : description.getChildrenView()) {
+            if (shouldRun(each)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isSelected(Description test) {
+        String displayName = test.getDisplayName();
+        int classNameStart = getClassNameStart(displayName);
+        if (classNameStart < 0) {
+            return isSelected(test.getClassName(), test.getMethodName());
+        }
+        return isSelected(displayName.substring(classNameStart, displayName.length() - 1),
+                displayName.substring(0, classNameStart - 1));
+    }
+
+    private boolean isSelected(String className, String methodName) {
+        Set<String> methods = methodsByClassName.get(className);
+        if (methods == null) {
+            return methodsByClassName.containsKey(className);
+        }
+        return methodName != null && isSelected(methodName, methods);
+    }
+
+    /**
+     * Splits display names of the form {@code method(pkg.of.Class)} without
+     * the regular expression of {@link Description#getMethodName()}. Returns
+     * {@code -1} if the display name has to be split by {@code Description}.
+     */
+    private static int getClassNameStart(String displayName) {
+        int end = displayName.length() - 1;
+        if (end < 0 || displayName.charAt(end) != ')') {
+            return -1;
+        }
+        int start = displayName.lastIndexOf('(') + 1;
+        if (start == 0) {
+            return -1;
+        }
+        for (int i = start; i < end; i++) {
+            char c = displayName.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return -1;
+            }
+        }
+        return start;
+    }
+
+    private static boolean isSelected(String methodName, Set<String> methods) {
+        if (methods.contains(methodName)) {
+            return true;
+        }
+        int parameters = methodName.indexOf('[');
+        return parameters > 0 && methods.contains(methodName.substring(0, parameters));
+    }
+
+    private static void addSelectedMethods(Set<String> result, Set<String> methods,
+            Set<String> selection) {
+        for (String each : methods) {
+            if (isSelected(each, selection)) {
+                result.add(each);
+            }
+        }
+    }
+
+    @Override
+    public String describe() {
+        int methods = 0;
+        int classes = 0;
+        for (Set<String> each : methodsByClassName.values()) {
+            if (each == null) {
+                classes++;
+            } else {
+                methods += each.size();
+            }
+        }
+        return String.format("%d selected methods and %d selected classes", methods, classes);
+    }
+
+    /**
+     * Returns a new Filter that accepts the intersection of the tests accepted
+     * by this Filter and {@code second}. The intersection with another
+     * {@code SelectedMethodsFilter} is computed once instead of asking both
+     * filters for every test.
+     */
+    @Override
+    public Filter intersect(Filter second) {
+        if (!(second instanceof SelectedMethodsFilter) || second == this) {
+            return super.intersect(second);
+        }
+        Map<String, Set<String>> otherMethods = ((SelectedMethodsFilter) second).methodsByClassName;
+        Map<String, Set<String>> intersection = new HashMap<String, Set<String>>();
+        for (Map.Entry<String, Set<String>> each : methodsByClassName.entrySet()) {
+            String className = each.getKey();
+            if (!otherMethods.containsKey(className)) {
+                continue;
+            }
+            Set<String> methods = each.getValue();
+            Set<String> other = otherMethods.get(className);
+            if (methods == null) {
+                intersection.put(className, other);
+            } else if (other == null) {
+                intersection.put(className, methods);
+            } else {
+                Set<String> common = new HashSet<String>();
+                addSelectedMethods(common, methods, other);
+                addSelectedMethods(common, other, methods);
+                if (!common.isEmpty()) {
+                    intersection.put(className, common);
+                }
+            }
+        }
+        return new SelectedMethodsFilter(intersection);
+    }
+}
@@ -0,0 +1,242 @@
+package org.junit.runner.manipulation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.runner.Description;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Suite;
+
+/**
+ * A {@link Filter} that runs one of {@code count} disjoint shards of the
+ * tests, so that a run can be split across several JVMs that each run one
+ * shard. Shards are numbered from {@code 1} to {@code count}, and every JVM
+ * that is given the same tests and the same shard count computes the same
+ * assignment of tests to shards.
+ *
+ * <p>Tests are assigned to shards either
+ * <ul>
+ * <li>by the hash of their class name (see {@link #byClass(int, int)}),
+ * <li>by the hash of their method (see {@link #byMethod(int, int)}), or
+ * <li>by the expected durations of their classes, so that all shards take
+ * about the same time (see {@link #byDuration(int, int, Collection, Map)}).
+ * </ul>
+ *
+ * <p>When whole classes are assigned to shards, {@link #shouldRunClass(String)}
+ * decides about a class by its name. This allows leaving out the classes of
+ * other shards before they are loaded. Suites are kept by every shard, and
+ * the classes they contain are assigned by their own names.
+ *
+ * @since 4.13.3
+ */
+public final class ShardFilter extends Filter {
+    private final int index;
+
+    private final int count;
+
+    private final boolean byMethod;
+
+    // the shard of each class with a known assignment; null if hashed
+    private final Map<String, Integer> shardsByClassName;
+
+    private ShardFilter(int index, int count, boolean byMethod,
+            Map<String, Integer> shardsByClassName) {
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        if (index < 1 || index > count) {
+            throw new IllegalArgumentException(
+                    "index must be between 1 and " + count + ", but was " + index);
+        }
+        this.index = index;
+        this.count = count;
+        this.byMethod = byMethod;
+        this.shardsByClassName = shardsByClassName;
+    }
+
+    /**
+     * Returns a {@code Filter} that runs the classes of shard {@code index}
+     * of {@code count}, assigning classes by the hash of their name.
+     */
+    public static ShardFilter byClass(int index, int count) {
+        return new ShardFilter(index, count, false, null);
+    }
+
+    /**
+     * Returns a {@code Filter} that runs the test methods of shard
+     * {@code index} of {@code count}, assigning methods by the hash of their
+     * display name. The tests of a class are spread across the shards, so the
+     * classes have to be loaded by every shard.
+     */
+    public static ShardFilter byMethod(int index, int count) {
+        return new ShardFilter(index, count, true, null);
+    }
+
+    /**
+     * Returns a {@code Filter} that runs the classes of shard {@code index}
+     * of {@code count}, assigning the classes named {@code classNames} so
+     * that the sums of the durations of the classes of every shard are about
+     * the same. Classes are assigned longest first, each to the shard with
+     * the lowest sum so far. Classes without a duration in
+     * {@code durationsByClassName} are expected to take as long as the
+     * average class with a known duration. Other classes are assigned by the
+     * hash of their name.
+     */
+    public static ShardFilter byDuration(int index, int count, Collection<String> classNames,
+            Map<String, Long> durationsByClassName) {
+        final List<String> names = new ArrayList<String>(new LinkedHashSet<String>(classNames));
+        final Map<String, Long> durations = new HashMap<String, Long>();
+        long knownDuration = 0;
+        int knownClasses = 0;
+        for (String each : names) {
+            Long duration = durationsByClassName.get(each);
+            if (duration != null) {
+                durations.put(each, duration);
+                knownDuration += duration;
+                knownClasses++;
+            }
+        }
+        long estimate = knownClasses == 0 ? 1 : knownDuration / knownClasses;
+        for (String each : names) {
+            if (!durations.containsKey(each)) {
+                durations.put(each, estimate);
+            }
+        }
+        // the order must not depend on the order of the arguments
+        Collections.sort(names, new Comparator<String>() {
+            public int compare(String o1, String o2) {
+                long first = durations.get(o1);
+                long second = durations.get(o2);
+                if (first != second) {
+                    return first > second ? -1 : 1;
+                }
+                return o1.compareTo(o2);
+            }
+        });
+        long[] loads = new long[count];
+        Map<String, Integer> shardsByClassName = new HashMap<String, Integer>();
+        for (String each : names) {
+            int shard = 0;
+            for (int i = 1; i < loads.length; i++) {
+                if (loads[i] < loads[shard]) {
+                    shard = i;
+                }
+            }
+            loads[shard] += durations.get(each);
+            shardsByClassName.put(each, shard + 1);
+        }
+        return new ShardFilter(index, count, false, shardsByClassName);
+    }
+
+    /**
+     * Returns {@code true} if tests of the class named {@code className} may
+     * belong to this shard. If tests are assigned by method, this is true for
+     * every class.
+     */
+    public boolean shouldRunClass(String className) {
+        if (byMethod) {
+            return true;
+        }
+        if (shardsByClassName != null) {
+            Integer shard = shardsByClassName.get(className);
+            if (shard != null) {
+                return shard == index;
+            }
+        }
+        return isInShard(className);
+    }
+
+    /**
+     * Returns {@link #shouldRunClass(String)} for the name of the class,
+     * unless the class may run the tests of other classes: it is run by
+     * {@link Suite} or a subclass of it other than {@link Parameterized}, or
+     * it has a {@code suite} method. Such classes may have tests of every
+     * shard, so they are not left out.
+     */
+    @Override
+    public boolean shouldRunClass(ClassMetadata metadata) {
+        try {
+            if (mayRunTestsOfOtherClasses(metadata)) {
+                return true;
+            }
+        } catch (IOException e) {
+            return true;
+        }
+        return shouldRunClass(metadata.getClassName());
+    }
+
+    private static boolean mayRunTestsOfOtherClasses(ClassMetadata metadata) throws IOException {
+        boolean hasSuiteMethod = false;
+        ClassMetadata each = metadata;
+        while (true) {
+            if (each.hasAnnotation(RunWith.class.getName())) {
+                // @RunWith is inherited, and it takes precedence over suite methods
+                List<String> runners = each.getAnnotationValues(RunWith.class.getName(), "value");
+                return runners.isEmpty() || isSuiteRunner(runners.get(0), metadata.getClassLoader());
+            }
+            hasSuiteMethod |= each.getMethodNames().contains("suite");
+            String superclassName = each.getSuperclassName();
+            if (superclassName == null || superclassName.equals(Object.class.getName())) {
+                return hasSuiteMethod;
+            }
+            each = each.readSuperclass();
+            if (each == null) {
+                // cannot tell without the class file
+                return true;
+            }
+        }
+    }
+
+    private static boolean isSuiteRunner(String runnerName, ClassLoader classLoader) {
+        try {
+            // runners are loaded without the tests they run
+            Class<?> runner = Class.forName(runnerName, false, classLoader != null ? classLoader
+                    : ShardFilter.class.getClassLoader());
+            return Suite.class.isAssignableFrom(runner)
+                    && !Parameterized.class.isAssignableFrom(runner);
+        } catch (ClassNotFoundException e) {
+            // cannot tell without the runner
+            return true;
+        } catch (LinkageError e) {
+            return true;
+        }
+    }
+
+    @Override
+    public boolean shouldRun(Description description) {
+        if (description.isTest()) {
+            return byMethod ? isInShard(description.getDisplayName())
+                    : shouldRunClass(description.getClassName());
+        }
+        for (Description each : description.getChildrenView()) {
+            if (shouldRun(each)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Assigns {@code name} to a shard by its hash code, which is the same in
+     * every JVM.
+     */
+    private boolean isInShard(String name) {
+        int h = name.hashCode();
+        h ^= h >>> 16;
+        return (h & Integer.MAX_VALUE) % count == index - 1;
+    }
+
+    @Override
+    public String describe() {
+        String assignment = byMethod ? "method" : shardsByClassName == null ? "class" : "duration";
+        return String.format("shard %d/%d by %s", index, count, assignment);
+    }
+}
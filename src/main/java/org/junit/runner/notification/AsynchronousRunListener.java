@@ -0,0 +1,318 @@
+package org.junit.runner.notification;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.runner.Description;
+import org.junit.runner.Result;
+
+/**
+ * Decorator for {@link RunListener} implementations that delivers events to
+ * the delegate on a background thread, so that slow listeners (for example
+ * ones writing reports) do not add to the time it takes to run each test.
+ *
+ * <p>Events are put into a bounded buffer and delivered to the delegate in the
+ * order in which they were received, one at a time. The delegate therefore does
+ * not have to be thread-safe. {@link #testRunFinished(Result)} waits until the
+ * delegate has processed all events, including the {@code testRunFinished}
+ * event itself. If the delegate threw an exception for any event of the run,
+ * the first one is rethrown from {@code testRunFinished}.
+ *
+ * <p>When the buffer is full, events are either delivered once there is room
+ * ({@link BackPressure#BLOCK}) or discarded ({@link BackPressure#DROP}).
+ * {@code testRunStarted} and {@code testRunFinished} are never discarded.
+ * <pre>
+ * JUnitCore core = new JUnitCore();
+ * core.addListener(new AsynchronousRunListener(new XmlReportListener()));
+ * core.run(MyTestClass.class);
+ * </pre>
+ *
+ * @since 4.13.3
+ */
+@RunListener.ThreadSafe
+public class AsynchronousRunListener extends RunListener {
+    /**
+     * What to do with an event if the buffer is full.
+     */
+    public enum BackPressure {
+        /** Wait until the delegate has caught up. */
+        BLOCK,
+
+        /** Discard the event, see {@link AsynchronousRunListener#getDroppedEventCount()}. */
+        DROP
+    }
+
+    private static final int DEFAULT_CAPACITY = 8192;
+
+    private final RunListener listener;
+    private final BlockingQueue<Event> buffer;
+    private final BackPressure backPressure;
+    private final AtomicLong droppedEvents = new AtomicLong();
+
+    // Guarded by this
+    private Thread dispatcher;
+
+    // Only accessed by the dispatcher
+    private Throwable firstException;
+
+    /**
+     * Creates a listener with room for 8192 buffered events, which blocks
+     * when the buffer is full.
+     */
+    public AsynchronousRunListener(RunListener listener) {
+        this(listener, DEFAULT_CAPACITY, BackPressure.BLOCK);
+    }
+
+    /**
+     * Creates a listener with room for {@code capacity} buffered events.
+     *
+     * @param listener the listener to deliver events to
+     * @param capacity the number of events that can wait for delivery
+     * @param backPressure what to do with events when the buffer is full
+     */
+    public AsynchronousRunListener(RunListener listener, int capacity, BackPressure backPressure) {
+        if (listener == null) {
+            throw new NullPointerException("listener cannot be null");
+        }
+        if (backPressure == null) {
+            throw new NullPointerException("backPressure cannot be null");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.listener = listener;
+        this.backPressure = backPressure;
+        buffer = new ArrayBlockingQueue<Event>(capacity);
+    }
+
+    /**
+     * Returns the number of events that were discarded because the buffer was
+     * full.
+     */
+    public long getDroppedEventCount() {
+        return droppedEvents.get();
+    }
+
+    @Override
+    public void testRunStarted(Description description) throws Exception {
+        put(new Event(EventType.TEST_RUN_STARTED, description));
+    }
+
+    @Override
+    public void testRunFinished(Result result) throws Exception {
+        Event event = new Event(EventType.TEST_RUN_FINISHED, result);
+        if (!put(event)) {
+            return;
+        }
+        Throwable exception = event.awaitDelivery();
+        if (exception instanceof Exception) {
+            throw (Exception) exception;
+        } else if (exception instanceof Error) {
+            throw (Error) exception;
+        }
+    }
+
+    @Override
+    public void testSuiteStarted(Description description) throws Exception {
+        offer(new Event(EventType.TEST_SUITE_STARTED, description));
+    }
+
+    @Override
+    public void testSuiteFinished(Description description) throws Exception {
+        offer(new Event(EventType.TEST_SUITE_FINISHED, description));
+    }
+
+    @Override
+    public void testStarted(Description description) throws Exception {
+        offer(new Event(EventType.TEST_STARTED, description));
+    }
+
+    @Override
+    public void testFinished(Description description) throws Exception {
+        offer(new Event(EventType.TEST_FINISHED, description));
+    }
+
+    @Override
+    public void testFailure(Failure failure) throws Exception {
+        offer(new Event(EventType.TEST_FAILURE, failure));
+    }
+
+    @Override
+    public void testAssumptionFailure(Failure failure) {
+        offer(new Event(EventType.TEST_ASSUMPTION_FAILURE, failure));
+    }
+
+    @Override
+    public void testIgnored(Description description) throws Exception {
+        offer(new Event(EventType.TEST_IGNORED, description));
+    }
+
+    private void offer(Event event) {
+        if (backPressure == BackPressure.DROP) {
+            if (buffer.offer(event)) {
+                startDispatcherIfNeeded();
+            } else {
+                droppedEvents.incrementAndGet();
+            }
+        } else {
+            put(event);
+        }
+    }
+
+    private boolean put(Event event) {
+        try {
+            buffer.put(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            droppedEvents.incrementAndGet();
+            return false;
+        }
+        startDispatcherIfNeeded();
+        return true;
+    }
+
+    private synchronized void startDispatcherIfNeeded() {
+        if (dispatcher == null) {
+            dispatcher = new Thread(new Runnable() {
+                public void run() {
+                    dispatchEvents();
+                }
+            }, "AsynchronousRunListener for " + listener);
+            dispatcher.setDaemon(true);
+            dispatcher.start();
+        }
+    }
+
+    /**
+     * Stops the dispatcher if there are no more events to deliver, so that no
+     * thread is kept alive between runs.
+     */
+    private synchronized boolean stopDispatcherIfIdle() {
+        if (buffer.isEmpty()) {
+            dispatcher = null;
+            return true;
+        }
+        return false;
+    }
+
+    private void dispatchEvents() {
+        while (true) {
+            Event event;
+            try {
+                event = buffer.take();
+            } catch (InterruptedException e) {
+                synchronized (this) {
+                    dispatcher = null;
+                }
+                return;
+            }
+            deliver(event);
+            if (event.type == EventType.TEST_RUN_FINISHED && stopDispatcherIfIdle()) {
+                return;
+            }
+        }
+    }
+
+    private void deliver(Event event) {
+        try {
+            event.type.notifyListener(listener, event.argument);
+        } catch (Throwable e) {
+            if (firstException == null) {
+                firstException = e;
+            }
+        }
+        if (event.type == EventType.TEST_RUN_FINISHED) {
+            event.delivered(firstException);
+            firstException = null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return listener.toString() + " (with asynchronous delivery)";
+    }
+
+    private enum EventType {
+        TEST_RUN_STARTED {
+            @Override
+            void notifyListener(RunListener listener, Object argument) throws Exception {
+                listener.testRunStarted((Description) argument);
+            }
+        },
+        TEST_RUN_FINISHED {
+            @Override
+            void notifyListener(RunListener listener, Object argument) throws Exception {
+                listener.testRunFinished((Result) argument);
+            }
+        },
+        TEST_SUITE_STARTED {
+            @Override
+            void notifyListener(RunListener listener, Object argument) throws Exception {
+                listener.testSuiteStarted((Description) argument);
+            }
+        },
+        TEST_SUITE_FINISHED {
+            @Override
+            void notifyListener(RunListener listener, Object argument) throws Exception {
+                listener.testSuiteFinished((Description) argument);
+            }
+        },
+        TEST_STARTED {
+            @Override
+            void notifyListener(RunListener listener, Object argument) throws Exception {
+                listener.testStarted((Description) argument);
+            }
+        },
+        TEST_FINISHED {
+            @Override
+            void notifyListener(RunListener listener, Object argument) throws Exception {
+                listener.testFinished((Description) argument);
+            }
+        },
+        TEST_FAILURE {
+            @Override
+            void notifyListener(RunListener listener, Object argument) throws Exception {
+                listener.testFailure((Failure) argument);
+            }
+        },
+        TEST_ASSUMPTION_FAILURE {
+            @Override
+            void notifyListener(RunListener listener, Object argument) {
+                listener.testAssumptionFailure((Failure) argument);
+            }
+        },
+        TEST_IGNORED {
+            @Override
+            void notifyListener(RunListener listener, Object argument) throws Exception {
+                listener.testIgnored((Description) argument);
+            }
+        };
+
+        abstract void notifyListener(RunListener listener, Object argument) throws Exception;
+    }
+
+    private static final class Event {
+        final EventType type;
+        final Object argument;
+        private final CountDownLatch delivered;
+        private volatile Throwable exception;
+
+        Event(EventType type, Object argument) {
+            this.type = type;
+            this.argument = argument;
+            delivered = type == EventType.TEST_RUN_FINISHED ? new CountDownLatch(1) : null;
+        }
+
+        void delivered(Throwable exception) {
+            this.exception = exception;
+            delivered.countDown();
+        }
+
+        Throwable awaitDelivery() throws InterruptedException {
+            delivered.await();
+            return exception;
+        }
+    }
+}
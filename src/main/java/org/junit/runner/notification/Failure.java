@@ -17,6 +17,15 @@ import org.junit.runner.Description;
 public class Failure implements Serializable {
     private static final long serialVersionUID = 1L;
 
+    /**
+     * If this system property is {@code true}, the printed traces of failures
+     * are kept so that the lines that several traces end with are stored
+     * once. This saves memory when many tests fail with similar traces, but
+     * each call of {@link #getTrace()} and {@link #getTrimmedTrace()} has to
+     * put the trace together again.
+     */
+    private static final String INTERN_TRACES_PROPERTY = "junit.internTraces";
+
     /*
      * We have to use the f prefix until the next major release to ensure
      * serialization compatibility. 
@@ -25,6 +34,11 @@ public class Failure implements Serializable {
     private final Description fDescription;
     private final Throwable fThrownException;
 
+    // The printed traces, computed when they are first asked for. Each is a
+    // String, or an InternedTrace if traces are interned.
+    private transient volatile Object trace;
+    private transient volatile Object trimmedTrace;
+
     /**
      * Constructs a <code>Failure</code> with the given description and exception.
      *
@@ -64,19 +78,49 @@ public class Failure implements Serializable {
     }
 
     /**
-     * Gets the printed form of the exception and its stack trace.
+     * Gets the printed form of the exception and its stack trace. The trace is
+     * printed when it is first asked for, and the same trace is returned by
+     * later calls.
      */
     public String getTrace() {
-        return Throwables.getStacktrace(getException());
+        Object result = trace;
+        if (result == null) {
+            result = keep(Throwables.getStacktrace(getException()));
+            trace = result;
+        }
+        return result.toString();
     }
 
     /**
      * Gets a the printed form of the exception, with a trimmed version of the stack trace.
      * This method will attempt to filter out frames of the stack trace that are below
-     * the test method call.
+     * the test method call. The trace is printed when it is first asked for, and the
+     * same trace is returned by later calls.
      */
     public String getTrimmedTrace() {
-        return Throwables.getTrimmedStackTrace(getException());
+        Object result = trimmedTrace;
+        if (result == null) {
+            result = keep(Throwables.getTrimmedStackTrace(getException()));
+            trimmedTrace = result;
+        }
+        return result.toString();
+    }
+
+    private static Object keep(String trace) {
+        return Boolean.getBoolean(INTERN_TRACES_PROPERTY) ? InternedTrace.intern(trace) : trace;
+    }
+
+    /**
+     * Gets the elements of the stack trace of the exception, without the
+     * frames that are below the test method call. Unlike
+     * {@link #getTrimmedTrace()}, the stack trace does not have to be printed.
+     *
+     * @return the trimmed stack trace, or the full stack trace if trimming
+     *         wasn't possible
+     * @since 4.13.3
+     */
+    public StackTraceElement[] getTrimmedStackTrace() {
+        return Throwables.getTrimmedStackTraceElements(getException());
     }
 
     /**
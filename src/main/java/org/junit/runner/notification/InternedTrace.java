@@ -0,0 +1,111 @@
+package org.junit.runner.notification;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * The printed form of a stack trace, stored as a list of lines that shares
+ * its end with the other interned traces that end with the same lines. The
+ * traces of failures that have the same cause, like a broken fixture, mostly
+ * differ in their first lines, so each of them only adds the lines before
+ * the part they have in common.
+ */
+final class InternedTrace {
+    /*
+     * The canonical instance of each line that is followed by a canonical
+     * list of lines. Lines are only referenced weakly, so that they are
+     * released together with the last trace that ends with them.
+     */
+    private static final Map<Line, WeakReference<Line>> LINES = new WeakHashMap<Line, WeakReference<Line>>();
+
+    private final Line first;
+
+    private final int length;
+
+    private InternedTrace(Line first, int length) {
+        this.first = first;
+        this.length = length;
+    }
+
+    static InternedTrace intern(String trace) {
+        // the lines keep their line terminators
+        int lineCount = 0;
+        for (int i = 0; i < trace.length(); i++) {
+            if (trace.charAt(i) == '\n') {
+                lineCount++;
+            }
+        }
+        int[] ends = new int[lineCount + 1];
+        int count = 0;
+        for (int i = 0; i < trace.length(); i++) {
+            if (trace.charAt(i) == '\n') {
+                ends[count++] = i + 1;
+            }
+        }
+        if (count == 0 || ends[count - 1] < trace.length()) {
+            ends[count++] = trace.length();
+        }
+
+        Line next = null;
+        synchronized (LINES) {
+            for (int i = count - 1; i >= 0; i--) {
+                int start = i == 0 ? 0 : ends[i - 1];
+                next = canonical(new Line(trace.substring(start, ends[i]), next));
+            }
+        }
+        return new InternedTrace(next, trace.length());
+    }
+
+    // Called while holding LINES
+    private static Line canonical(Line line) {
+        WeakReference<Line> reference = LINES.get(line);
+        Line canonical = reference == null ? null : reference.get();
+        if (canonical == null) {
+            LINES.put(line, new WeakReference<Line>(line));
+            return line;
+        }
+        return canonical;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder(length);
+        for (Line each = first; each != null; each = each.next) {
+            result.append(each.text);
+        }
+        return result.toString();
+    }
+
+    /**
+     * A line and the lines that follow it. Two lines are equal if they have
+     * the same text and are followed by the same canonical lines.
+     */
+    private static final class Line {
+        private final String text;
+
+        private final Line next;
+
+        private final int hashCode;
+
+        Line(String text, Line next) {
+            this.text = text;
+            this.next = next;
+            hashCode = 31 * text.hashCode() + System.identityHashCode(next);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Line)) {
+                return false;
+            }
+            Line that = (Line) obj;
+            return next == that.next && text.equals(that.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -4,7 +4,6 @@ import static java.util.Arrays.asList;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.junit.runner.Description;
 import org.junit.runner.Result;
@@ -19,7 +18,13 @@ import org.junit.runner.Result;
  * @since 4.0
  */
 public class RunNotifier {
-    private final List<RunListener> listeners = new CopyOnWriteArrayList<RunListener>();
+    private static final RunListener[] NO_LISTENERS = new RunListener[0];
+
+    private final Object listenersLock = new Object();
+
+    // Copy-on-write, so events can be dispatched without locking or copying
+    private volatile RunListener[] listeners = NO_LISTENERS;
+    private volatile boolean synchronizePerListener = false;
     private volatile boolean pleaseStop = false;
 
     /**
@@ -29,7 +34,7 @@ public class RunNotifier {
         if (listener == null) {
             throw new NullPointerException("Cannot add a null listener");
         }
-        listeners.add(wrapIfNotThreadSafe(listener));
+        add(wrapIfNotThreadSafe(listener), false);
     }
 
     /**
@@ -39,7 +44,49 @@ public class RunNotifier {
         if (listener == null) {
             throw new NullPointerException("Cannot remove a null listener");
         }
-        listeners.remove(wrapIfNotThreadSafe(listener));
+        RunListener wrapped = wrapIfNotThreadSafe(listener);
+        synchronized (listenersLock) {
+            RunListener[] current = listeners;
+            for (int i = 0; i < current.length; i++) {
+                if (wrapped.equals(current[i])) {
+                    RunListener[] updated = new RunListener[current.length - 1];
+                    System.arraycopy(current, 0, updated, 0, i);
+                    System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                    listeners = updated;
+                    return;
+                }
+            }
+        }
+    }
+
+    private void add(RunListener listener, boolean first) {
+        synchronized (listenersLock) {
+            RunListener[] current = listeners;
+            int position = first ? 0 : current.length;
+            RunListener[] updated = new RunListener[current.length + 1];
+            System.arraycopy(current, 0, updated, 0, position);
+            updated[position] = listener;
+            System.arraycopy(current, position, updated, position + 1, current.length - position);
+            listeners = updated;
+        }
+    }
+
+    /**
+     * Specifies how listeners that are not annotated with
+     * {@link RunListener.ThreadSafe} are synchronized. By default, calls to all
+     * of them are synchronized on one monitor, so no two of them are ever called
+     * concurrently. If enabled, each of them is synchronized on a monitor of its
+     * own instead, so that different listeners can be called concurrently when
+     * tests run in parallel. Each listener is still called by one thread at a
+     * time.
+     *
+     * <p>Only affects listeners added after this method is called.
+     *
+     * @param enable {@code true} to synchronize each listener separately
+     * @since 4.13.3
+     */
+    public void setSynchronizePerListener(boolean enable) {
+        synchronizePerListener = enable;
     }
 
     /**
@@ -47,62 +94,134 @@ public class RunNotifier {
      * it is not annotated with {@link RunListener.ThreadSafe}.
      */
     RunListener wrapIfNotThreadSafe(RunListener listener) {
-        return listener.getClass().isAnnotationPresent(RunListener.ThreadSafe.class) ?
-                listener : new SynchronizedRunListener(listener, this);
+        if (listener.getClass().isAnnotationPresent(RunListener.ThreadSafe.class)) {
+            return listener;
+        }
+        return new SynchronizedRunListener(listener, synchronizePerListener ? listener : this);
+    }
+
+    /**
+     * Delivers one type of event to a listener. Instances are stateless and
+     * shared, so firing an event does not allocate.
+     */
+    private abstract static class Event<T> {
+        abstract void notifyListener(RunListener listener, T argument) throws Exception;
     }
 
+    private static final Event<Description> TEST_RUN_STARTED = new Event<Description>() {
+        @Override
+        void notifyListener(RunListener listener, Description description) throws Exception {
+            listener.testRunStarted(description);
+        }
+    };
+
+    private static final Event<Result> TEST_RUN_FINISHED = new Event<Result>() {
+        @Override
+        void notifyListener(RunListener listener, Result result) throws Exception {
+            listener.testRunFinished(result);
+        }
+    };
 
-    private abstract class SafeNotifier {
-        private final List<RunListener> currentListeners;
+    private static final Event<Description> TEST_SUITE_STARTED = new Event<Description>() {
+        @Override
+        void notifyListener(RunListener listener, Description description) throws Exception {
+            listener.testSuiteStarted(description);
+        }
+    };
+
+    private static final Event<Description> TEST_SUITE_FINISHED = new Event<Description>() {
+        @Override
+        void notifyListener(RunListener listener, Description description) throws Exception {
+            listener.testSuiteFinished(description);
+        }
+    };
 
-        SafeNotifier() {
-            this(listeners);
+    private static final Event<Description> TEST_STARTED = new Event<Description>() {
+        @Override
+        void notifyListener(RunListener listener, Description description) throws Exception {
+            listener.testStarted(description);
         }
+    };
 
-        SafeNotifier(List<RunListener> currentListeners) {
-            this.currentListeners = currentListeners;
+    private static final Event<Failure> TEST_FAILURE = new Event<Failure>() {
+        @Override
+        void notifyListener(RunListener listener, Failure failure) throws Exception {
+            listener.testFailure(failure);
         }
+    };
 
-        void run() {
-            int capacity = currentListeners.size();
-            List<RunListener> safeListeners = new ArrayList<RunListener>(capacity);
-            List<Failure> failures = new ArrayList<Failure>(capacity);
-            for (RunListener listener : currentListeners) {
-                try {
-                    notifyListener(listener);
+    private static final Event<List<Failure>> TEST_FAILURES = new Event<List<Failure>>() {
+        @Override
+        void notifyListener(RunListener listener, List<Failure> failures) throws Exception {
+            for (Failure each : failures) {
+                listener.testFailure(each);
+            }
+        }
+    };
+
+    private static final Event<Failure> TEST_ASSUMPTION_FAILED = new Event<Failure>() {
+        @Override
+        void notifyListener(RunListener listener, Failure failure) throws Exception {
+            listener.testAssumptionFailure(failure);
+        }
+    };
+
+    private static final Event<Description> TEST_IGNORED = new Event<Description>() {
+        @Override
+        void notifyListener(RunListener listener, Description description) throws Exception {
+            listener.testIgnored(description);
+        }
+    };
+
+    private static final Event<Description> TEST_FINISHED = new Event<Description>() {
+        @Override
+        void notifyListener(RunListener listener, Description description) throws Exception {
+            listener.testFinished(description);
+        }
+    };
+
+    /**
+     * Notifies each of {@code currentListeners}. Listeners that throw are
+     * reported to the other listeners as failures. The lists needed for that
+     * are only allocated once a listener throws.
+     */
+    private <T> void fire(RunListener[] currentListeners, Event<T> event, T argument) {
+        List<RunListener> safeListeners = null;
+        List<Failure> failures = null;
+        for (int i = 0; i < currentListeners.length; i++) {
+            RunListener listener = currentListeners[i];
+            try {
+                event.notifyListener(listener, argument);
+                if (safeListeners != null) {
                     safeListeners.add(listener);
-                } catch (Exception e) {
-                    failures.add(new Failure(Description.TEST_MECHANISM, e));
                 }
+            } catch (Exception e) {
+                if (failures == null) {
+                    int capacity = currentListeners.length;
+                    safeListeners = new ArrayList<RunListener>(capacity);
+                    safeListeners.addAll(asList(currentListeners).subList(0, i));
+                    failures = new ArrayList<Failure>(capacity);
+                }
+                failures.add(new Failure(Description.TEST_MECHANISM, e));
             }
-            fireTestFailures(safeListeners, failures);
         }
-
-        protected abstract void notifyListener(RunListener each) throws Exception;
+        if (failures != null) {
+            fire(safeListeners.toArray(NO_LISTENERS), TEST_FAILURES, failures);
+        }
     }
 
     /**
      * Do not invoke.
      */
     public void fireTestRunStarted(final Description description) {
-        new SafeNotifier() {
-            @Override
-            protected void notifyListener(RunListener each) throws Exception {
-                each.testRunStarted(description);
-            }
-        }.run();
+        fire(listeners, TEST_RUN_STARTED, description);
     }
 
     /**
      * Do not invoke.
      */
     public void fireTestRunFinished(final Result result) {
-        new SafeNotifier() {
-            @Override
-            protected void notifyListener(RunListener each) throws Exception {
-                each.testRunFinished(result);
-            }
-        }.run();
+        fire(listeners, TEST_RUN_FINISHED, result);
     }
 
     /**
@@ -115,12 +234,7 @@ public class RunNotifier {
      * @since 4.13
      */
     public void fireTestSuiteStarted(final Description description) {
-        new SafeNotifier() {
-            @Override
-            protected void notifyListener(RunListener each) throws Exception {
-                each.testSuiteStarted(description);
-            }
-        }.run();
+        fire(listeners, TEST_SUITE_STARTED, description);
     }
 
     /**
@@ -132,12 +246,7 @@ public class RunNotifier {
      * @since 4.13
      */
     public void fireTestSuiteFinished(final Description description) {
-        new SafeNotifier() {
-            @Override
-            protected void notifyListener(RunListener each) throws Exception {
-                each.testSuiteFinished(description);
-            }
-        }.run();
+        fire(listeners, TEST_SUITE_FINISHED, description);
     }
 
     /**
@@ -150,12 +259,7 @@ public class RunNotifier {
         if (pleaseStop) {
             throw new StoppedByUserException();
         }
-        new SafeNotifier() {
-            @Override
-            protected void notifyListener(RunListener each) throws Exception {
-                each.testStarted(description);
-            }
-        }.run();
+        fire(listeners, TEST_STARTED, description);
     }
 
     /**
@@ -164,21 +268,7 @@ public class RunNotifier {
      * @param failure the description of the test that failed and the exception thrown
      */
     public void fireTestFailure(Failure failure) {
-        fireTestFailures(listeners, asList(failure));
-    }
-
-    private void fireTestFailures(List<RunListener> listeners,
-            final List<Failure> failures) {
-        if (!failures.isEmpty()) {
-            new SafeNotifier(listeners) {
-                @Override
-                protected void notifyListener(RunListener listener) throws Exception {
-                    for (Failure each : failures) {
-                        listener.testFailure(each);
-                    }
-                }
-            }.run();
-        }
+        fire(listeners, TEST_FAILURE, failure);
     }
 
     /**
@@ -189,12 +279,7 @@ public class RunNotifier {
      * {@link org.junit.AssumptionViolatedException} thrown
      */
     public void fireTestAssumptionFailed(final Failure failure) {
-        new SafeNotifier() {
-            @Override
-            protected void notifyListener(RunListener each) throws Exception {
-                each.testAssumptionFailure(failure);
-            }
-        }.run();
+        fire(listeners, TEST_ASSUMPTION_FAILED, failure);
     }
 
     /**
@@ -203,12 +288,7 @@ public class RunNotifier {
      * @param description the description of the ignored test
      */
     public void fireTestIgnored(final Description description) {
-        new SafeNotifier() {
-            @Override
-            protected void notifyListener(RunListener each) throws Exception {
-                each.testIgnored(description);
-            }
-        }.run();
+        fire(listeners, TEST_IGNORED, description);
     }
 
     /**
@@ -219,12 +299,7 @@ public class RunNotifier {
      * @param description the description of the test that finished
      */
     public void fireTestFinished(final Description description) {
-        new SafeNotifier() {
-            @Override
-            protected void notifyListener(RunListener each) throws Exception {
-                each.testFinished(description);
-            }
-        }.run();
+        fire(listeners, TEST_FINISHED, description);
     }
 
     /**
@@ -244,6 +319,6 @@ public class RunNotifier {
         if (listener == null) {
             throw new NullPointerException("Cannot add a null listener");
         }
-        listeners.add(0, wrapIfNotThreadSafe(listener));
+        add(wrapIfNotThreadSafe(listener), true);
     }
 }
@@ -119,7 +119,7 @@ public class BlockJUnit4ClassRunner extends ParentRunner<FrameworkMethod> {
 
         if (description == null) {
             description = Description.createTestDescription(getTestClass().getJavaClass(),
-                    testName(method), method.getAnnotations());
+                    testName(method), method.getAnnotations()).seal();
             methodDescriptions.putIfAbsent(method, description);
         }
 
@@ -131,6 +131,12 @@ public class BlockJUnit4ClassRunner extends ParentRunner<FrameworkMethod> {
         return computeTestMethods();
     }
 
+    @Override
+    protected void releaseAfterRun() {
+        super.releaseAfterRun();
+        methodDescriptions.clear();
+    }
+
     //
     // Override in subclasses
     //
@@ -156,6 +162,12 @@ public class BlockJUnit4ClassRunner extends ParentRunner<FrameworkMethod> {
         validateMethods(errors);
     }
 
+    @Override
+    boolean isValidationOfClassReusable() {
+        return (getClass() == BlockJUnit4ClassRunner.class || getClass() == JUnit4.class)
+                && getTestClass().getClass() == TestClass.class;
+    }
+
     private void validatePublicConstructor(List<Throwable> errors) {
         if (getTestClass().getJavaClass() != null) {
             errors.addAll(PUBLIC_CLASS_VALIDATOR.validateTestClass(getTestClass()));
@@ -0,0 +1,465 @@
+package org.junit.runners;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runner.manipulation.ClassMetadata;
+
+/**
+ * What the class files in directories and jar files tell about the classes
+ * that JUnit may run. It is read from the class files without loading the
+ * classes (see {@link ClassMetadata}), by several threads.
+ *
+ * <p>The index can be saved to a file. When it is loaded again, class files
+ * and jar files whose size and modification time have not changed are not
+ * read again.
+ */
+final class ClasspathIndex {
+    private static final int FORMAT_VERSION = 1;
+
+    private static final String TEST_CASE = "junit.framework.TestCase";
+
+    private final ClassLoader classLoader;
+
+    // the classes of each class file and jar file, by path
+    private Map<String, Source> sources = new LinkedHashMap<String, Source>();
+
+    // the classes outside of the scanned files, by name
+    private final Map<String, ClassEntry> otherClasses = new HashMap<String, ClassEntry>();
+
+    /**
+     * @param classLoader finds the superclasses that are not in the scanned
+     * files
+     */
+    ClasspathIndex(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Loads an index that has been saved by {@link #save(File)}. Does nothing
+     * if the file does not exist, or is not an index of this version.
+     */
+    void load(File indexFile) {
+        if (!indexFile.isFile()) {
+            return;
+        }
+        Map<String, Source> loaded = new LinkedHashMap<String, Source>();
+        try {
+            DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(new FileInputStream(indexFile)));
+            try {
+                if (in.readInt() != FORMAT_VERSION) {
+                    return;
+                }
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    String path = in.readUTF();
+                    loaded.put(path, Source.read(in));
+                }
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            // the index is read from the class files again
+            return;
+        }
+        sources = loaded;
+    }
+
+    /**
+     * Saves the index to {@code indexFile}. The index is written to another
+     * file first, so that a run that is interrupted does not leave a broken
+     * index behind.
+     */
+    void save(File indexFile) throws IOException {
+        File directory = indexFile.getAbsoluteFile().getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create directory " + directory);
+        }
+        File temporaryFile = new File(directory, indexFile.getName() + ".tmp");
+        DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(temporaryFile)));
+        try {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(sources.size());
+            for (Map.Entry<String, Source> each : sources.entrySet()) {
+                out.writeUTF(each.getKey());
+                each.getValue().write(out);
+            }
+        } finally {
+            out.close();
+        }
+        if (!temporaryFile.renameTo(indexFile)) {
+            // File.renameTo does not replace existing files on every platform
+            indexFile.delete();
+            if (!temporaryFile.renameTo(indexFile)) {
+                throw new IOException("Could not rename " + temporaryFile + " to " + indexFile);
+            }
+        }
+    }
+
+    /**
+     * Reads the class files in the directories and jar files {@code roots}
+     * that are new or have changed since the index was saved, using
+     * {@code parallelism} threads. Files that no longer exist are removed
+     * from the index.
+     */
+    void scan(List<File> roots, int parallelism) throws IOException {
+        List<File> files = new ArrayList<File>();
+        for (File each : roots) {
+            if (each.isDirectory()) {
+                addClassFiles(each, files);
+            } else if (each.isFile()) {
+                files.add(each);
+            }
+        }
+
+        Map<String, Source> scanned = new LinkedHashMap<String, Source>();
+        Map<String, Future<Source>> pending = new LinkedHashMap<String, Future<Source>>();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, new WorkerFactory());
+        try {
+            for (final File each : files) {
+                String path = each.getAbsolutePath();
+                Source source = sources.get(path);
+                if (source != null && source.isCurrent(each)) {
+                    scanned.put(path, source);
+                } else {
+                    // keeps the order of the files
+                    scanned.put(path, null);
+                    pending.put(path, executor.submit(new Callable<Source>() {
+                        public Source call() throws IOException {
+                            return Source.scan(each);
+                        }
+                    }));
+                }
+            }
+            for (Map.Entry<String, Future<Source>> each : pending.entrySet()) {
+                scanned.put(each.getKey(), get(each.getValue()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        sources = scanned;
+    }
+
+    private static Source get(Future<Source> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while scanning class files");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else {
+                throw (Error) cause;
+            }
+        }
+    }
+
+    private static void addClassFiles(File directory, List<File> files) {
+        File[] children = directory.listFiles();
+        if (children == null) {
+            return;
+        }
+        // the order must not depend on the file system
+        Arrays.sort(children);
+        for (File each : children) {
+            if (each.isDirectory()) {
+                addClassFiles(each, files);
+            } else if (isClassFile(each.getName())) {
+                files.add(each);
+            }
+        }
+    }
+
+    private static boolean isClassFile(String name) {
+        return name.endsWith(".class") && !name.endsWith("package-info.class")
+                && !name.endsWith("module-info.class");
+    }
+
+    /**
+     * Returns the names of the public, concrete, top-level classes in the
+     * index that match {@code classNamePattern} and have tests: they have
+     * or inherit {@code @RunWith}, methods annotated with {@code @Test}, or
+     * a {@code suite} method, or they extend {@code TestCase}.
+     * {@code excludedClass} and the classes that are run with
+     * {@code excludedRunner} or a subclass of it are left out.
+     */
+    List<String> getTestClassNames(Pattern classNamePattern, Class<?> excludedClass,
+            Class<?> excludedRunner) throws IOException {
+        Map<String, ClassEntry> classes = new LinkedHashMap<String, ClassEntry>();
+        for (Source each : sources.values()) {
+            for (ClassEntry entry : each.classes) {
+                // the first class of a name hides the others, as on a class path
+                if (!classes.containsKey(entry.className)) {
+                    classes.put(entry.className, entry);
+                }
+            }
+        }
+        List<String> names = new ArrayList<String>();
+        Map<String, Boolean> excludedRunners = new HashMap<String, Boolean>();
+        for (ClassEntry each : classes.values()) {
+            if (each.isRunnable() && classNamePattern.matcher(each.className).matches()
+                    && !each.className.equals(excludedClass.getName())) {
+                String runner = runnerOf(each, classes);
+                if (runner != null && !isExcluded(runner, excludedRunner, excludedRunners)) {
+                    names.add(each.className);
+                }
+            }
+        }
+        Collections.sort(names);
+        return names;
+    }
+
+    /**
+     * Returns the name of the runner that runs the tests of {@code entry},
+     * the empty string if the default runners are used, or {@code null} if
+     * it has no tests.
+     */
+    private String runnerOf(ClassEntry entry, Map<String, ClassEntry> classes) throws IOException {
+        boolean hasTests = false;
+        for (ClassEntry each = entry; each != null; each = superclassOf(each, classes)) {
+            if (each.runnerName != null) {
+                // @RunWith is inherited
+                return each.runnerName;
+            }
+            hasTests |= each.hasTestMethods || each.hasSuiteMethod
+                    || TEST_CASE.equals(each.superclassName);
+        }
+        return hasTests ? "" : null;
+    }
+
+    private boolean isExcluded(String runnerName, Class<?> excludedRunner,
+            Map<String, Boolean> excludedRunners) {
+        if (runnerName.length() == 0) {
+            return false;
+        }
+        Boolean excluded = excludedRunners.get(runnerName);
+        if (excluded == null) {
+            try {
+                // runners are loaded without the tests they run
+                excluded = excludedRunner.isAssignableFrom(
+                        Class.forName(runnerName, false, classLoader));
+            } catch (ClassNotFoundException e) {
+                // reported when the class is run
+                excluded = false;
+            } catch (LinkageError e) {
+                excluded = false;
+            }
+            excludedRunners.put(runnerName, excluded);
+        }
+        return excluded;
+    }
+
+    private ClassEntry superclassOf(ClassEntry entry, Map<String, ClassEntry> classes)
+            throws IOException {
+        String name = entry.superclassName;
+        if (name == null || name.equals(Object.class.getName()) || name.equals(TEST_CASE)) {
+            return null;
+        }
+        ClassEntry superclass = classes.get(name);
+        if (superclass == null && !otherClasses.containsKey(name)) {
+            ClassMetadata metadata = ClassMetadata.forClassName(name, classLoader);
+            otherClasses.put(name, metadata == null ? null : new ClassEntry(metadata));
+        }
+        return superclass == null ? otherClasses.get(name) : superclass;
+    }
+
+    /**
+     * The classes of a class file or jar file.
+     */
+    private static final class Source {
+        private final long lastModified;
+
+        private final long length;
+
+        private final List<ClassEntry> classes;
+
+        private Source(long lastModified, long length, List<ClassEntry> classes) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.classes = classes;
+        }
+
+        static Source scan(File file) throws IOException {
+            List<ClassEntry> classes = new ArrayList<ClassEntry>();
+            if (isClassFile(file.getName())) {
+                InputStream in = new FileInputStream(file);
+                try {
+                    classes.add(new ClassEntry(ClassMetadata.read(in)));
+                } finally {
+                    in.close();
+                }
+            } else {
+                ZipFile zipFile = new ZipFile(file);
+                try {
+                    Enumeration<? extends ZipEntry> entries = zipFile.entries();
+                    while (entries.hasMoreElements()) {
+                        ZipEntry each = entries.nextElement();
+                        // the classes for other versions of Java are left out
+                        if (isClassFile(each.getName()) && !each.getName().startsWith("META-INF/")) {
+                            classes.add(read(zipFile, each));
+                        }
+                    }
+                } finally {
+                    zipFile.close();
+                }
+            }
+            return new Source(file.lastModified(), file.length(), classes);
+        }
+
+        private static ClassEntry read(ZipFile zipFile, ZipEntry entry) throws IOException {
+            InputStream in = zipFile.getInputStream(entry);
+            try {
+                return new ClassEntry(ClassMetadata.read(in));
+            } catch (IOException e) {
+                IOException wrapped = new IOException("Could not read " + entry.getName()
+                        + " of " + zipFile.getName() + ": " + e.getMessage());
+                wrapped.initCause(e);
+                throw wrapped;
+            } finally {
+                in.close();
+            }
+        }
+
+        boolean isCurrent(File file) {
+            return file.lastModified() == lastModified && file.length() == length;
+        }
+
+        static Source read(DataInputStream in) throws IOException {
+            long lastModified = in.readLong();
+            long length = in.readLong();
+            int count = in.readInt();
+            List<ClassEntry> classes = new ArrayList<ClassEntry>(count);
+            for (int i = 0; i < count; i++) {
+                classes.add(ClassEntry.read(in));
+            }
+            return new Source(lastModified, length, classes);
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeLong(lastModified);
+            out.writeLong(length);
+            out.writeInt(classes.size());
+            for (ClassEntry each : classes) {
+                each.write(out);
+            }
+        }
+    }
+
+    /**
+     * What the index knows about a class.
+     */
+    private static final class ClassEntry {
+        private final String className;
+
+        private final String superclassName;
+
+        // the value of @RunWith, or null
+        private final String runnerName;
+
+        private final int modifiers;
+
+        private final boolean hasTestMethods;
+
+        private final boolean hasSuiteMethod;
+
+        ClassEntry(ClassMetadata metadata) {
+            className = metadata.getClassName();
+            superclassName = metadata.getSuperclassName();
+            List<String> runners = metadata.getAnnotationValues(RunWith.class.getName(), "value");
+            runnerName = runners.isEmpty() ? null : runners.get(0);
+            modifiers = metadata.getModifiers();
+            hasTestMethods = metadata.hasMethodAnnotation(Test.class.getName());
+            hasSuiteMethod = metadata.getMethodNames().contains("suite");
+        }
+
+        private ClassEntry(String className, String superclassName, String runnerName,
+                int modifiers, boolean hasTestMethods, boolean hasSuiteMethod) {
+            this.className = className;
+            this.superclassName = superclassName;
+            this.runnerName = runnerName;
+            this.modifiers = modifiers;
+            this.hasTestMethods = hasTestMethods;
+            this.hasSuiteMethod = hasSuiteMethod;
+        }
+
+        /**
+         * Returns {@code true} if JUnit can create an instance of the class.
+         * Nested classes are left out, because they are usually run by the
+         * runner of the class that contains them.
+         */
+        boolean isRunnable() {
+            return Modifier.isPublic(modifiers)
+                    && (modifiers & (Modifier.ABSTRACT | Modifier.INTERFACE)) == 0
+                    && className.indexOf('$') < 0;
+        }
+
+        static ClassEntry read(DataInputStream in) throws IOException {
+            return new ClassEntry(in.readUTF(), readNullable(in), readNullable(in),
+                    in.readInt(), in.readBoolean(), in.readBoolean());
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeUTF(className);
+            writeNullable(out, superclassName);
+            writeNullable(out, runnerName);
+            out.writeInt(modifiers);
+            out.writeBoolean(hasTestMethods);
+            out.writeBoolean(hasSuiteMethod);
+        }
+
+        private static String readNullable(DataInputStream in) throws IOException {
+            return in.readBoolean() ? in.readUTF() : null;
+        }
+
+        private static void writeNullable(DataOutputStream out, String value) throws IOException {
+            out.writeBoolean(value != null);
+            if (value != null) {
+                out.writeUTF(value);
+            }
+        }
+    }
+
+    private static final class WorkerFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "ClasspathSuite-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
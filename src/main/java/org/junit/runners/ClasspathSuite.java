@@ -0,0 +1,174 @@
+package org.junit.runners;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.net.URISyntaxException;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerBuilder;
+
+/**
+ * A {@link Suite} of the test classes that are found in directories and jar
+ * files, instead of a list of classes. The classes are found by reading their
+ * class files, so classes without tests are neither loaded nor initialized.
+ * To use it, annotate a class with <code>@RunWith(ClasspathSuite.class)</code>
+ * and, optionally, <code>@ClasspathSuite.Scan</code>:
+ * <pre>
+ * &#064;RunWith(ClasspathSuite.class)
+ * &#064;ClasspathSuite.Scan(classNamePattern = ".*Test", indexFile = "target/test-index")
+ * public class AllTests {
+ * }
+ * </pre>
+ *
+ * <p>The suite runs the public, concrete, top-level classes that have or
+ * inherit {@code @RunWith}, methods annotated with {@code @Test} or a
+ * {@code suite} method, or that extend {@code junit.framework.TestCase}, in
+ * the order of their names. Other suites that are run with
+ * {@code ClasspathSuite} or a subclass of it are left out.
+ *
+ * <p>Other suites, like classes annotated with
+ * <code>@RunWith(Suite.class)</code> or classes with a {@code suite} method,
+ * are run like any other test class. The classes they contain are found
+ * by the scan as well, so their tests run twice, unless
+ * {@code classNamePattern} leaves out either the suites or their classes.
+ *
+ * @since 4.13.3
+ */
+public class ClasspathSuite extends Suite {
+    /**
+     * Specifies where a {@link ClasspathSuite} looks for test classes.
+     *
+     * @since 4.13.3
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    @Inherited
+    public @interface Scan {
+        /**
+         * The directories and jar files to scan, relative to the working
+         * directory. If empty, the directory or jar file that contains the
+         * annotated class is scanned.
+         */
+        String[] roots() default {};
+
+        /**
+         * The regular expression that the fully qualified names of the test
+         * classes have to match.
+         */
+        String classNamePattern() default ".*";
+
+        /**
+         * The file that keeps what has been read from the class files between
+         * runs, relative to the working directory. Only the class files and
+         * jar files that have changed since are read again. If empty, all
+         * class files are read by every run.
+         */
+        String indexFile() default "";
+
+        /**
+         * The number of threads that read class files. If {@code 0}, the
+         * number of available processors.
+         */
+        int parallelism() default 0;
+    }
+
+    /**
+     * Called reflectively on classes annotated with
+     * <code>@RunWith(ClasspathSuite.class)</code>
+     *
+     * @param klass the root class
+     * @param builder builds runners for classes in the suite
+     */
+    public ClasspathSuite(Class<?> klass, RunnerBuilder builder) throws InitializationError {
+        super(builder, klass, findTestClasses(klass));
+    }
+
+    private static Class<?>[] findTestClasses(Class<?> klass) throws InitializationError {
+        Scan scan = klass.getAnnotation(Scan.class);
+        List<File> roots = new ArrayList<File>();
+        Pattern classNamePattern = Pattern.compile(".*");
+        File indexFile = null;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        if (scan != null) {
+            for (String each : scan.roots()) {
+                roots.add(new File(each));
+            }
+            try {
+                classNamePattern = Pattern.compile(scan.classNamePattern());
+            } catch (PatternSyntaxException e) {
+                throw new InitializationError(e);
+            }
+            if (scan.indexFile().length() > 0) {
+                indexFile = new File(scan.indexFile());
+            }
+            if (scan.parallelism() < 0) {
+                throw new InitializationError(
+                        "parallelism must not be negative, but was " + scan.parallelism());
+            } else if (scan.parallelism() > 0) {
+                parallelism = scan.parallelism();
+            }
+        }
+        if (roots.isEmpty()) {
+            roots.add(rootOf(klass));
+        }
+
+        ClassLoader classLoader = klass.getClassLoader();
+        List<String> classNames;
+        try {
+            ClasspathIndex index = new ClasspathIndex(classLoader);
+            if (indexFile != null) {
+                index.load(indexFile);
+            }
+            index.scan(roots, parallelism);
+            if (indexFile != null) {
+                index.save(indexFile);
+            }
+            classNames = index.getTestClassNames(classNamePattern, klass, ClasspathSuite.class);
+        } catch (IOException e) {
+            throw new InitializationError(e);
+        }
+
+        List<Class<?>> classes = new ArrayList<Class<?>>(classNames.size());
+        List<Throwable> errors = new ArrayList<Throwable>();
+        for (String each : classNames) {
+            try {
+                // the runners initialize the classes when they are run
+                classes.add(Class.forName(each, false, classLoader));
+            } catch (ClassNotFoundException e) {
+                errors.add(e);
+            } catch (LinkageError e) {
+                errors.add(e);
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new InitializationError(errors);
+        }
+        return classes.toArray(new Class<?>[classes.size()]);
+    }
+
+    private static File rootOf(Class<?> klass) throws InitializationError {
+        CodeSource codeSource = klass.getProtectionDomain().getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null) {
+            throw new InitializationError("Cannot find the location of " + klass.getName()
+                    + ", so @ClasspathSuite.Scan has to specify the roots");
+        }
+        try {
+            return new File(codeSource.getLocation().toURI());
+        } catch (URISyntaxException e) {
+            throw new InitializationError(e);
+        } catch (IllegalArgumentException e) {
+            // not a file
+            throw new InitializationError(e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.junit.runners;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.Filterable;
+import org.junit.runner.manipulation.InvalidOrderingException;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.manipulation.Orderable;
+import org.junit.runner.manipulation.Orderer;
+import org.junit.runner.manipulation.Sorter;
+
+/**
+ * Records the filters, sorters and orderers that are applied to a runner
+ * whose child runners are only created when it runs, and applies them to
+ * each of these runners once it exists.
+ */
+final class DeferredManipulations implements Filterable, Orderable {
+    private Filter filter = Filter.ALL;
+
+    // the Sorters and Orderers in the order they were applied
+    private final List<Object> orderings = new ArrayList<Object>();
+
+    public void filter(Filter filter) {
+        this.filter = this.filter.intersect(filter);
+    }
+
+    public void sort(Sorter sorter) {
+        orderings.add(sorter);
+    }
+
+    public void order(Orderer orderer) {
+        orderings.add(orderer);
+    }
+
+    /**
+     * Applies the recorded filters, sorters and orderers to {@code runner},
+     * in the order they were applied.
+     *
+     * @return {@code false} if none of the tests of {@code runner} remain
+     */
+    boolean applyTo(Runner runner) throws InvalidOrderingException {
+        if (!filter.shouldRun(runner.getDescription())) {
+            return false;
+        }
+        try {
+            filter.apply(runner);
+        } catch (NoTestsRemainException e) {
+            return false;
+        }
+        for (Object each : orderings) {
+            if (each instanceof Sorter) {
+                ((Sorter) each).apply(runner);
+            } else {
+                ((Orderer) each).apply(runner);
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,188 @@
+package org.junit.runners;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.internal.runners.ErrorReportingRunner;
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.Filterable;
+import org.junit.runner.manipulation.InvalidOrderingException;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.manipulation.Orderable;
+import org.junit.runner.manipulation.Orderer;
+import org.junit.runner.manipulation.Sorter;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerBuilder;
+
+/**
+ * A {@link Suite} that creates the runner of each class just before the class
+ * runs, and drops it when the class has finished. Unlike {@link Suite}, which
+ * creates and validates the runners of all classes up front, the first test
+ * starts without waiting for the other classes, and only the runner of the
+ * running class is kept in memory. To use it, annotate a class with
+ * <code>@RunWith(LazySuite.class)</code> and
+ * <code>@SuiteClasses({TestClass1.class, ...})</code>, or run the classes with
+ * {@link org.junit.runner.Computer#lazy()}.
+ *
+ * <p>Because the runners do not exist yet, the {@link Description} of the
+ * suite only describes each class, not its tests. Filters, sorters and
+ * orderers that are applied to the suite are applied to the runner of each
+ * class when it is created. A class whose tests are all filtered out is
+ * skipped; the suite itself never reports that no tests remain.
+ *
+ * @since 4.13.3
+ */
+public class LazySuite extends Suite {
+    // the enclosing suite classes of the runner that this thread creates
+    private static final ThreadLocal<List<Class<?>>> ENCLOSING_SUITES = new ThreadLocal<List<Class<?>>>();
+
+    /**
+     * Called reflectively on classes annotated with
+     * <code>@RunWith(LazySuite.class)</code>
+     *
+     * @param klass the root class
+     * @param builder builds runners for classes in the suite
+     */
+    public LazySuite(Class<?> klass, RunnerBuilder builder) throws InitializationError {
+        this(builder, klass, getAnnotatedClasses(klass));
+    }
+
+    /**
+     * Call this when there is no single root class (for example, multiple
+     * class names passed on the command line)
+     *
+     * @param builder builds runners for classes in the suite
+     * @param classes the classes in the suite
+     */
+    public LazySuite(RunnerBuilder builder, Class<?>[] classes) throws InitializationError {
+        this(builder, null, classes);
+    }
+
+    /**
+     * Called by this class and subclasses once the classes making up the
+     * suite have been determined
+     *
+     * @param builder builds runners for classes in the suite
+     * @param klass the root of the suite
+     * @param suiteClasses the classes in the suite
+     */
+    protected LazySuite(RunnerBuilder builder, Class<?> klass, Class<?>[] suiteClasses)
+            throws InitializationError {
+        super(klass, lazyRunners(builder, klass, suiteClasses));
+    }
+
+    private static List<Runner> lazyRunners(RunnerBuilder builder, Class<?> klass,
+            Class<?>[] classes) {
+        // the runners are created after this suite has been built, so the
+        // builder no longer knows the enclosing suites then
+        List<Class<?>> enclosingSuites = new ArrayList<Class<?>>();
+        List<Class<?>> outerSuites = ENCLOSING_SUITES.get();
+        if (outerSuites != null) {
+            enclosingSuites.addAll(outerSuites);
+        }
+        if (klass != null) {
+            enclosingSuites.add(klass);
+        }
+        List<Runner> runners = new ArrayList<Runner>(classes.length);
+        for (Class<?> each : classes) {
+            if (builder.shouldBuildRunnerFor(each)) {
+                runners.add(new LazyRunner(builder, each, enclosingSuites));
+            }
+        }
+        return runners;
+    }
+
+    /**
+     * Passes {@code filter} on to the runners of the classes. Whether a class
+     * has tests that pass the filter is only known once its runner exists.
+     */
+    @Override
+    public void filter(Filter filter) throws NoTestsRemainException {
+        for (Runner each : getChildren()) {
+            filter.apply(each);
+        }
+    }
+
+    /**
+     * Creates the runner of a class when it is run and applies the filters,
+     * sorters and orderers that were applied to it until then.
+     */
+    private static final class LazyRunner extends Runner implements Filterable, Orderable {
+        private final RunnerBuilder builder;
+        private final Class<?> testClass;
+        private final List<Class<?>> enclosingSuites;
+        private final Description description;
+        private final DeferredManipulations manipulations = new DeferredManipulations();
+
+        LazyRunner(RunnerBuilder builder, Class<?> testClass, List<Class<?>> enclosingSuites) {
+            this.builder = builder;
+            this.testClass = testClass;
+            this.enclosingSuites = enclosingSuites;
+            description = Description.createSuiteDescription(testClass).seal();
+        }
+
+        @Override
+        public Description getDescription() {
+            return description.mutableCopy();
+        }
+
+        @Override
+        public void run(RunNotifier notifier) {
+            Runner runner = createRunner();
+            if (runner != null) {
+                runner.run(notifier);
+            }
+        }
+
+        /**
+         * @return the runner, or {@code null} if no tests remain
+         */
+        private Runner createRunner() {
+            if (enclosingSuites.contains(testClass)) {
+                return new ErrorReportingRunner(testClass, new InitializationError(String.format(
+                        "class '%s' (possibly indirectly) contains itself as a SuiteClass",
+                        testClass.getName())));
+            }
+            List<Class<?>> outerSuites = ENCLOSING_SUITES.get();
+            List<Class<?>> suites = new ArrayList<Class<?>>(enclosingSuites);
+            suites.add(testClass);
+            ENCLOSING_SUITES.set(suites);
+            Runner runner;
+            try {
+                // the builder keeps track of the suites that are being built
+                synchronized (builder) {
+                    runner = builder.safeRunnerForClass(testClass);
+                }
+            } finally {
+                if (outerSuites == null) {
+                    ENCLOSING_SUITES.remove();
+                } else {
+                    ENCLOSING_SUITES.set(outerSuites);
+                }
+            }
+            if (runner == null) {
+                return null;
+            }
+            try {
+                return manipulations.applyTo(runner) ? runner : null;
+            } catch (InvalidOrderingException e) {
+                return new ErrorReportingRunner(testClass, e);
+            }
+        }
+
+        public void filter(Filter filter) {
+            manipulations.filter(filter);
+        }
+
+        public void sort(Sorter sorter) {
+            manipulations.sort(sorter);
+        }
+
+        public void order(Orderer orderer) {
+            manipulations.order(orderer);
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package org.junit.runners;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.notification.StoppedByUserException;
+import org.junit.runners.model.RunnerScheduler;
+
+/**
+ * Runs the sets of parameters of a {@link Parameterized} test class on a
+ * bounded number of threads, and reports their results in the order of the
+ * sets of parameters.
+ *
+ * <p>The events of the first set of parameters that has not finished yet are
+ * reported while it runs. The events of the sets after it are buffered, and
+ * reported once all sets before them have finished.
+ */
+final class ParameterSetScheduler implements RunnerScheduler {
+    // the set of parameters that this scheduler runs on the current thread
+    private final ThreadLocal<OrderedReport.Slot> currentSlot =
+            new ThreadLocal<OrderedReport.Slot>();
+
+    private final int parallelism;
+
+    private final List<Runnable> children = new ArrayList<Runnable>();
+
+    ParameterSetScheduler(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns the notifier that the set of parameters running on the current
+     * thread has to report to, which is {@code notifier} if it is not run by
+     * this scheduler.
+     */
+    RunNotifier notifierFor(RunNotifier notifier) {
+        OrderedReport.Slot slot = currentSlot.get();
+        return slot == null ? notifier : slot.notifierFor(notifier);
+    }
+
+    public void schedule(Runnable childStatement) {
+        children.add(childStatement);
+    }
+
+    public void finished() {
+        try {
+            run(children.toArray(new Runnable[children.size()]));
+        } finally {
+            children.clear();
+        }
+    }
+
+    private void run(final Runnable[] statements) {
+        final OrderedReport report = new OrderedReport(statements.length);
+        final AtomicInteger next = new AtomicInteger();
+        final Throwable[] failure = new Throwable[1];
+        Thread[] threads = new Thread[Math.min(parallelism, statements.length)];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(new Runnable() {
+                public void run() {
+                    int index;
+                    // sets are started in order, so that few have to be buffered
+                    while ((index = next.getAndIncrement()) < statements.length) {
+                        currentSlot.set(report.slot(index));
+                        try {
+                            statements[index].run();
+                        } catch (Throwable e) {
+                            synchronized (failure) {
+                                if (failure[0] == null) {
+                                    failure[0] = e;
+                                }
+                            }
+                        } finally {
+                            currentSlot.remove();
+                            report.finished(index);
+                        }
+                    }
+                }
+            }, "Parameterized-worker-" + (i + 1));
+        }
+        for (Thread each : threads) {
+            each.start();
+        }
+        try {
+            for (Thread each : threads) {
+                each.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        if (report.stopped) {
+            throw new StoppedByUserException();
+        }
+        synchronized (failure) {
+            if (failure[0] instanceof RuntimeException) {
+                throw (RuntimeException) failure[0];
+            } else if (failure[0] instanceof Error) {
+                throw (Error) failure[0];
+            }
+        }
+    }
+
+    /**
+     * Reports the events of the sets of parameters in their order.
+     */
+    private static final class OrderedReport {
+        private final Slot[] slots;
+
+        // Guarded by this
+        private int head = 0;
+
+        // Guarded by this
+        private RunNotifier target;
+
+        private volatile boolean stopped = false;
+
+        OrderedReport(int size) {
+            slots = new Slot[size];
+            for (int i = 0; i < size; i++) {
+                slots[i] = new Slot(i);
+            }
+        }
+
+        Slot slot(int index) {
+            return slots[index];
+        }
+
+        synchronized void fire(int index, Event event) {
+            if (index == head) {
+                fireOnTarget(event);
+            } else {
+                slots[index].buffer.add(event);
+            }
+        }
+
+        /**
+         * Called when the set of parameters at {@code index} has finished.
+         * Reports the buffered events of the sets after it that can now be
+         * reported.
+         */
+        synchronized void finished(int index) {
+            slots[index].finished = true;
+            while (head < slots.length && slots[head].finished) {
+                head++;
+                if (head < slots.length) {
+                    flush(slots[head]);
+                }
+            }
+        }
+
+        private void flush(Slot slot) {
+            for (Event each : slot.buffer) {
+                fireOnTarget(each);
+            }
+            slot.buffer.clear();
+        }
+
+        synchronized void pleaseStop() {
+            stopped = true;
+            if (target != null) {
+                target.pleaseStop();
+            }
+        }
+
+        private void fireOnTarget(Event event) {
+            if (stopped) {
+                return;
+            }
+            try {
+                event.fireOn(target);
+            } catch (StoppedByUserException e) {
+                stopped = true;
+            }
+        }
+
+        /**
+         * A set of parameters.
+         */
+        final class Slot {
+            private final int index;
+
+            private final OrderedNotifier notifier = new OrderedNotifier(this);
+
+            // Guarded by OrderedReport.this
+            private final List<Event> buffer = new ArrayList<Event>();
+
+            // Guarded by OrderedReport.this
+            private boolean finished = false;
+
+            Slot(int index) {
+                this.index = index;
+            }
+
+            RunNotifier notifierFor(RunNotifier target) {
+                synchronized (OrderedReport.this) {
+                    // all sets of parameters report to the same notifier
+                    OrderedReport.this.target = target;
+                }
+                return notifier;
+            }
+
+            void fire(Event event) {
+                OrderedReport.this.fire(index, event);
+            }
+
+            boolean isStopped() {
+                return stopped;
+            }
+
+            void pleaseStop() {
+                OrderedReport.this.pleaseStop();
+            }
+        }
+    }
+
+    private interface Event {
+        void fireOn(RunNotifier notifier);
+    }
+
+    /**
+     * The notifier of a set of parameters, which passes its events on to
+     * {@link OrderedReport}.
+     */
+    private static final class OrderedNotifier extends RunNotifier {
+        private final OrderedReport.Slot slot;
+
+        OrderedNotifier(OrderedReport.Slot slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        public void fireTestSuiteStarted(final Description description) {
+            slot.fire(new Event() {
+                public void fireOn(RunNotifier notifier) {
+                    notifier.fireTestSuiteStarted(description);
+                }
+            });
+        }
+
+        @Override
+        public void fireTestSuiteFinished(final Description description) {
+            slot.fire(new Event() {
+                public void fireOn(RunNotifier notifier) {
+                    notifier.fireTestSuiteFinished(description);
+                }
+            });
+        }
+
+        @Override
+        public void fireTestStarted(final Description description) throws StoppedByUserException {
+            if (slot.isStopped()) {
+                throw new StoppedByUserException();
+            }
+            slot.fire(new Event() {
+                public void fireOn(RunNotifier notifier) {
+                    notifier.fireTestStarted(description);
+                }
+            });
+            if (slot.isStopped()) {
+                throw new StoppedByUserException();
+            }
+        }
+
+        @Override
+        public void fireTestFailure(final Failure failure) {
+            slot.fire(new Event() {
+                public void fireOn(RunNotifier notifier) {
+                    notifier.fireTestFailure(failure);
+                }
+            });
+        }
+
+        @Override
+        public void fireTestAssumptionFailed(final Failure failure) {
+            slot.fire(new Event() {
+                public void fireOn(RunNotifier notifier) {
+                    notifier.fireTestAssumptionFailed(failure);
+                }
+            });
+        }
+
+        @Override
+        public void fireTestIgnored(final Description description) {
+            slot.fire(new Event() {
+                public void fireOn(RunNotifier notifier) {
+                    notifier.fireTestIgnored(description);
+                }
+            });
+        }
+
+        @Override
+        public void fireTestFinished(final Description description) {
+            slot.fire(new Event() {
+                public void fireOn(RunNotifier notifier) {
+                    notifier.fireTestFinished(description);
+                }
+            });
+        }
+
+        @Override
+        public void pleaseStop() {
+            slot.pleaseStop();
+        }
+    }
+}
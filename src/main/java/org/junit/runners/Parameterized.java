@@ -11,12 +11,20 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 import org.junit.internal.AssumptionViolatedException;
 import org.junit.runner.Description;
 import org.junit.runner.Result;
 import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.Filterable;
+import org.junit.runner.manipulation.InvalidOrderingException;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.manipulation.Orderable;
+import org.junit.runner.manipulation.Orderer;
+import org.junit.runner.manipulation.Sorter;
 import org.junit.runner.notification.Failure;
 import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.model.FrameworkMethod;
@@ -185,6 +193,35 @@ import org.junit.runners.parameterized.TestWithParameters;
  * }
  * </pre>
  *
+ * <h3>Streaming parameters</h3>
+ * <p>Normally all parameters are created, and a runner is created for each
+ * set of parameters, before the first test runs. For large data sets, use
+ * <code>&#064;Parameters(streaming = true)</code>. The
+ * <code>&#064;Parameters</code> method, which may then also return an
+ * {@link java.util.Iterator}, is only called when the test class runs, and
+ * each set of parameters is read, run and dropped before the next one is read.
+ * <pre>
+ * &#064;Parameters(name = &quot;{0}&quot;, streaming = true)
+ * public static Iterator&lt;Object[]&gt; data() throws IOException {
+ *     return new CsvRows(&quot;rows.csv&quot;);
+ * }
+ * </pre>
+ * <p>Because the parameters are not known up front, the {@link Description}
+ * of the test class has no children. Filters, sorters and orderers that are
+ * applied to the test class are applied to the runner of each set of
+ * parameters before it runs, but a filter applied to an enclosing suite only
+ * sees the test class. The sets of parameters are run one after the other.
+ *
+ * <h3>Running sets of parameters in parallel</h3>
+ * <p>Use <code>&#064;Parameters(parallelism = 4)</code> to run up to four sets
+ * of parameters at the same time, each on its own thread. The tests of a set
+ * of parameters still run one after the other, between the
+ * <code>&#064;BeforeParam</code> and <code>&#064;AfterParam</code> methods of
+ * that set, which may therefore run concurrently for different sets. The
+ * results are reported in the order of the sets of parameters: the events of
+ * a set are held back until all sets before it have been reported. Streamed
+ * parameters are always run one after the other.
+ *
  * <h3>Avoid creating parameters</h3>
  * <p>With {@link org.junit.Assume assumptions} you can dynamically skip tests.
  * Assumptions are also supported by the <code>&#064;Parameters</code> method.
@@ -230,6 +267,24 @@ public class Parameterized extends Suite {
          * @see MessageFormat
          */
         String name() default "{index}";
+
+        /**
+         * Whether the parameters are read and run one set after the other,
+         * instead of all being read before the first test runs. See
+         * "Streaming parameters" in {@link Parameterized}.
+         *
+         * @since 4.13.3
+         */
+        boolean streaming() default false;
+
+        /**
+         * The number of sets of parameters that are run at the same time.
+         * See "Running sets of parameters in parallel" in
+         * {@link Parameterized}.
+         *
+         * @since 4.13.3
+         */
+        int parallelism() default 1;
     }
 
     /**
@@ -296,6 +351,12 @@ public class Parameterized extends Suite {
     public @interface AfterParam {
     }
 
+    // null unless the parameters are streamed
+    private final ParameterStream stream;
+
+    // null unless the sets of parameters are run in parallel
+    private final ParameterSetScheduler parameterSetScheduler;
+
     /**
      * Only called reflectively. Do not use programmatically.
      */
@@ -306,6 +367,56 @@ public class Parameterized extends Suite {
     private Parameterized(Class<?> klass, RunnersFactory runnersFactory) throws Exception {
         super(klass, runnersFactory.createRunners());
         validateBeforeParamAndAfterParamMethods(runnersFactory.parameterCount);
+        stream = runnersFactory.streaming
+                ? (ParameterStream) getChildren().get(0) : null;
+        int parallelism = runnersFactory.getParallelism();
+        if (parallelism < 1) {
+            throw new InvalidTestClassError(klass, Collections.<Throwable>singletonList(
+                    new Exception("parallelism must be at least 1, but was " + parallelism)));
+        }
+        if (parallelism > 1 && stream == null) {
+            parameterSetScheduler = new ParameterSetScheduler(parallelism);
+            setScheduler(parameterSetScheduler);
+        } else {
+            parameterSetScheduler = null;
+        }
+    }
+
+    /**
+     * If the sets of parameters are run in parallel, runs {@code runner} with
+     * a notifier that reports its results in the order of the sets.
+     */
+    @Override
+    protected void runChild(Runner runner, RunNotifier notifier) {
+        super.runChild(runner, parameterSetScheduler == null
+                ? notifier : parameterSetScheduler.notifierFor(notifier));
+    }
+
+    /**
+     * If the parameters are streamed, returns a description of the test
+     * class without children.
+     */
+    @Override
+    public Description getDescription() {
+        return stream == null ? super.getDescription() : stream.getDescription();
+    }
+
+    @Override
+    Description describeForParent() {
+        return stream == null ? sealedDescription() : stream.description;
+    }
+
+    /**
+     * If the parameters are streamed, applies {@code filter} to the runner of
+     * each set of parameters when it is created.
+     */
+    @Override
+    public void filter(Filter filter) throws NoTestsRemainException {
+        if (stream == null) {
+            super.filter(filter);
+        } else {
+            stream.filter(filter);
+        }
     }
 
     private void validateBeforeParamAndAfterParamMethods(Integer parameterCount)
@@ -357,43 +468,113 @@ public class Parameterized extends Suite {
         }
     }
 
+    /**
+     * Reads the parameters when the test class runs, and creates and runs the
+     * runner of each set of parameters before reading the next one.
+     */
+    private static class ParameterStream extends Runner implements Filterable, Orderable {
+        private final RunnersFactory runnersFactory;
+        private final Description description;
+        private final DeferredManipulations manipulations = new DeferredManipulations();
+
+        ParameterStream(RunnersFactory runnersFactory) {
+            this.runnersFactory = runnersFactory;
+            description = Description.createSuiteDescription(
+                    runnersFactory.testClass.getJavaClass()).seal();
+        }
+
+        @Override
+        public Description getDescription() {
+            return description.mutableCopy();
+        }
+
+        @Override
+        public void run(RunNotifier notifier) {
+            try {
+                runnersFactory.runStreamed(notifier, this);
+            } catch (AssumptionViolatedException e) {
+                throw e;
+            } catch (Throwable e) {
+                notifier.fireTestFailure(new Failure(description, e));
+            }
+        }
+
+        /**
+         * @return {@code runner} after applying the filters, sorters and
+         *         orderers, or {@code null} if none of its tests remain
+         */
+        Runner manipulate(Runner runner) throws InvalidOrderingException {
+            return manipulations.applyTo(runner) ? runner : null;
+        }
+
+        public void filter(Filter filter) {
+            manipulations.filter(filter);
+        }
+
+        public void sort(Sorter sorter) {
+            manipulations.sort(sorter);
+        }
+
+        public void order(Orderer orderer) {
+            manipulations.order(orderer);
+        }
+    }
+
     private static class RunnersFactory {
         private static final ParametersRunnerFactory DEFAULT_FACTORY = new BlockJUnit4ClassRunnerWithParametersFactory();
 
         private final TestClass testClass;
         private final FrameworkMethod parametersMethod;
+        private final boolean streaming;
         private final List<Object> allParameters;
-        private final int parameterCount;
+        // null if the parameters are streamed
+        private final Integer parameterCount;
         private final Runner runnerOverride;
 
         private RunnersFactory(Class<?> klass) throws Throwable {
             testClass = new TestClass(klass);
             parametersMethod = getParametersMethod(testClass);
+            streaming = parametersMethod.getAnnotation(Parameters.class).streaming();
             List<Object> allParametersResult;
             AssumptionViolationRunner assumptionViolationRunner = null;
-            try {
-                allParametersResult = allParameters(testClass, parametersMethod);
-            } catch (AssumptionViolatedException e) {
+            if (streaming) {
                 allParametersResult = Collections.emptyList();
-                assumptionViolationRunner = new AssumptionViolationRunner(testClass,
-                        parametersMethod.getName(), e);
+            } else {
+                try {
+                    allParametersResult = allParameters(testClass, parametersMethod);
+                } catch (AssumptionViolatedException e) {
+                    allParametersResult = Collections.emptyList();
+                    assumptionViolationRunner = new AssumptionViolationRunner(testClass,
+                            parametersMethod.getName(), e);
+                }
             }
             allParameters = allParametersResult;
             runnerOverride = assumptionViolationRunner;
-            parameterCount =
-                    allParameters.isEmpty() ? 0 : normalizeParameters(allParameters.get(0)).length;
+            if (streaming) {
+                parameterCount = null;
+            } else {
+                parameterCount = allParameters.isEmpty()
+                        ? 0 : normalizeParameters(allParameters.get(0)).length;
+            }
         }
 
         private List<Runner> createRunners() throws Exception {
             if (runnerOverride != null) {
                 return Collections.singletonList(runnerOverride);
             }
+            if (streaming) {
+                return Collections.<Runner>singletonList(new ParameterStream(this));
+            }
             Parameters parameters = parametersMethod.getAnnotation(Parameters.class);
             return Collections.unmodifiableList(createRunnersForParameters(
                     allParameters, parameters.name(),
                     getParametersRunnerFactory()));
         }
 
+        private int getParallelism() {
+            return parametersMethod.getAnnotation(Parameters.class).parallelism();
+        }
+
         private ParametersRunnerFactory getParametersRunnerFactory()
                 throws InstantiationException, IllegalAccessException {
             UseParametersRunnerFactory annotation = testClass
@@ -407,6 +588,41 @@ public class Parameterized extends Suite {
             }
         }
 
+        private void runStreamed(RunNotifier notifier, ParameterStream stream)
+                throws Throwable {
+            Iterator<?> parameters = parametersIterator();
+            String namePattern = parametersMethod.getAnnotation(Parameters.class).name();
+            ParametersRunnerFactory runnerFactory = getParametersRunnerFactory();
+            int index = 0;
+            while (parameters.hasNext()) {
+                TestWithParameters test;
+                try {
+                    test = createTestWithNotNormalizedParameters(namePattern, index++,
+                            parameters.next());
+                } catch (ClassCastException e) {
+                    throw parametersMethodReturnedWrongType(testClass, parametersMethod);
+                }
+                Runner runner = stream.manipulate(
+                        runnerFactory.createRunnerForTestWithParameters(test));
+                if (runner != null) {
+                    runner.run(notifier);
+                }
+            }
+        }
+
+        private Iterator<?> parametersIterator() throws Throwable {
+            Object parameters = parametersMethod.invokeExplosively(null);
+            if (parameters instanceof Iterator) {
+                return (Iterator<?>) parameters;
+            } else if (parameters instanceof Iterable) {
+                return ((Iterable<?>) parameters).iterator();
+            } else if (parameters instanceof Object[]) {
+                return Arrays.asList((Object[]) parameters).iterator();
+            } else {
+                throw parametersMethodReturnedWrongType(testClass, parametersMethod);
+            }
+        }
+
         private TestWithParameters createTestWithNotNormalizedParameters(
                 String pattern, int index, Object parametersOrSingleParameter) {
             Object[] parameters = normalizeParameters(parametersOrSingleParameter);
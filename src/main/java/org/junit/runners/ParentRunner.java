@@ -7,12 +7,13 @@ import static org.junit.internal.runners.rules.RuleMemberValidator.CLASS_RULE_VA
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -36,6 +37,7 @@ import org.junit.runner.manipulation.Orderer;
 import org.junit.runner.manipulation.InvalidOrderingException;
 import org.junit.runner.manipulation.NoTestsRemainException;
 import org.junit.runner.manipulation.Orderable;
+import org.junit.runner.manipulation.Sortable;
 import org.junit.runner.manipulation.Sorter;
 import org.junit.runner.notification.RunNotifier;
 import org.junit.runner.notification.StoppedByUserException;
@@ -68,12 +70,37 @@ public abstract class ParentRunner<T> extends Runner implements Filterable,
     private static final List<TestClassValidator> VALIDATORS = Collections.<TestClassValidator>singletonList(
             new AnnotationsValidator());
 
+    /**
+     * If this system property is {@code true}, runners release the state
+     * that is only needed to run their children when they have run. See
+     * {@link #releaseAfterRun()}.
+     */
+    private static final String RELEASE_AFTER_RUN_PROPERTY = "junit.releaseAfterRun";
+
+    /*
+     * The classes that have been validated without errors by runners whose
+     * validation depends on nothing but the class (see
+     * isValidationOfClassReusable()). A class that is loaded again by
+     * another class loader is validated again. See ANNOTATED_MEMBERS_CACHE in
+     * TestClass for which of the caches of classes keep them alive.
+     */
+    private static final Map<Class<?>, Boolean> VALID_CLASSES = new WeakHashMap<Class<?>, Boolean>();
+
     private final Lock childrenLock = new ReentrantLock();
     private final TestClass testClass;
 
     // Guarded by childrenLock
     private volatile List<T> filteredChildren = null;
 
+    // Guarded by childrenLock
+    private volatile Description description = null;
+
+    // Guarded by childrenLock. Has the same order as filteredChildren.
+    // Contains null for children that have to be described again.
+    private List<Description> childDescriptions = null;
+
+    private volatile boolean released = false;
+
     private volatile RunnerScheduler scheduler = new RunnerScheduler() {
         public void schedule(Runnable childStatement) {
             childStatement.run();
@@ -385,8 +412,53 @@ public abstract class ParentRunner<T> extends Runner implements Filterable,
     // Implementation of Runner
     //
 
+    /**
+     * Returns a {@link Description} of this runner and its children. Each call
+     * returns a new {@link Description#mutableCopy() copy} of a sealed
+     * description that is created once and created again after the children
+     * have been filtered, sorted or ordered, so that callers can add children
+     * to it.
+     */
     @Override
     public Description getDescription() {
+        return sealedDescription().mutableCopy();
+    }
+
+    /**
+     * Returns the description that a parent runner includes in its own
+     * description: the sealed description of this runner, or the result of
+     * {@link #getDescription()} if a subclass overrides it.
+     */
+    Description describeForParent() {
+        return overridesGetDescription() ? getDescription() : sealedDescription();
+    }
+
+    private boolean overridesGetDescription() {
+        try {
+            return getClass().getMethod("getDescription").getDeclaringClass() != ParentRunner.class;
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+    }
+
+    Description sealedDescription() {
+        Description result = description;
+        if (result == null) {
+            childrenLock.lock();
+            try {
+                result = description;
+                if (result == null) {
+                    result = createDescription().seal();
+                    description = result;
+                }
+            } finally {
+                childrenLock.unlock();
+            }
+        }
+        return result;
+    }
+
+    private Description createDescription() {
         Class<?> clazz = getTestClass().getJavaClass();
         Description description;
         // if subclass overrides `getName()` then we should use it
@@ -397,8 +469,8 @@ public abstract class ParentRunner<T> extends Runner implements Filterable,
             description = Description.createSuiteDescription(clazz, getRunnerAnnotations());
         }
 
-        for (T child : getFilteredChildren()) {
-            description.addChild(describeChild(child));
+        for (Description child : getChildDescriptions()) {
+            description.addChild(child);
         }
         return description;
     }
@@ -406,9 +478,13 @@ public abstract class ParentRunner<T> extends Runner implements Filterable,
     @Override
     public void run(final RunNotifier notifier) {
         EachTestNotifier testNotifier = new EachTestNotifier(notifier,
-                getDescription());
+                describeForParent());
         testNotifier.fireTestSuiteStarted();
         try {
+            if (released) {
+                throw new IllegalStateException(
+                        "The runner has released its children and cannot run again");
+            }
             Statement statement = classBlock(notifier);
             statement.evaluate();
         } catch (AssumptionViolatedException e) {
@@ -419,6 +495,36 @@ public abstract class ParentRunner<T> extends Runner implements Filterable,
             testNotifier.addFailure(e);
         } finally {
             testNotifier.fireTestSuiteFinished();
+            if (!released && Boolean.getBoolean(RELEASE_AFTER_RUN_PROPERTY)) {
+                releaseAfterRun();
+            }
+        }
+    }
+
+    /**
+     * Drops the references to the children and to other state that is only
+     * needed to run them, keeping the {@link Description}. Called at the end
+     * of {@link #run(RunNotifier)} if the system property
+     * {@code junit.releaseAfterRun} is {@code true}, so that a suite does not
+     * keep the children of runners that have finished (for example the
+     * parameters of a {@link Parameterized} test) until the whole suite has
+     * finished. The runner cannot be run, filtered, sorted or ordered
+     * afterwards.
+     *
+     * <p>Subclasses that keep such state themselves should override this
+     * method to drop it, and call {@code super.releaseAfterRun()}.
+     *
+     * @since 4.13.3
+     */
+    protected void releaseAfterRun() {
+        sealedDescription();
+        childrenLock.lock();
+        try {
+            filteredChildren = Collections.emptyList();
+            childDescriptions = null;
+            released = true;
+        } finally {
+            childrenLock.unlock();
         }
     }
 
@@ -429,20 +535,24 @@ public abstract class ParentRunner<T> extends Runner implements Filterable,
     public void filter(Filter filter) throws NoTestsRemainException {
         childrenLock.lock();
         try {
-            List<T> children = new ArrayList<T>(getFilteredChildren());
-            for (Iterator<T> iter = children.iterator(); iter.hasNext(); ) {
-                T each = iter.next();
-                if (shouldRun(filter, each)) {
+            List<T> oldChildren = getFilteredChildren();
+            List<Description> oldDescriptions = getChildDescriptions();
+            List<T> children = new ArrayList<T>(oldChildren.size());
+            List<Description> descriptions = new ArrayList<Description>(oldChildren.size());
+            for (int i = 0; i < oldChildren.size(); i++) {
+                T each = oldChildren.get(i);
+                Description eachDescription = oldDescriptions.get(i);
+                if (filter.shouldRun(eachDescription)) {
                     try {
                         filter.apply(each);
+                        children.add(each);
+                        descriptions.add(each instanceof Filterable ? null : eachDescription);
                     } catch (NoTestsRemainException e) {
-                        iter.remove();
+                        // remove it
                     }
-                } else {
-                    iter.remove();
                 }
             }
-            filteredChildren = Collections.unmodifiableList(children);
+            setFilteredChildren(children, descriptions);
             if (filteredChildren.isEmpty()) {
                 throw new NoTestsRemainException();
             }
@@ -458,12 +568,24 @@ public abstract class ParentRunner<T> extends Runner implements Filterable,
 
         childrenLock.lock();
         try {
-            for (T each : getFilteredChildren()) {
+            List<T> children = getFilteredChildren();
+            for (T each : children) {
                 sorter.apply(each);
             }
-            List<T> sortedChildren = new ArrayList<T>(getFilteredChildren());
-            Collections.sort(sortedChildren, comparator(sorter));
-            filteredChildren = Collections.unmodifiableList(sortedChildren);
+            invalidateChildDescriptions(Sortable.class);
+            List<Description> descriptions = getChildDescriptions();
+            Integer[] order = new Integer[children.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, comparator(sorter, descriptions));
+            List<T> sortedChildren = new ArrayList<T>(order.length);
+            List<Description> sortedDescriptions = new ArrayList<Description>(order.length);
+            for (Integer index : order) {
+                sortedChildren.add(children.get(index));
+                sortedDescriptions.add(descriptions.get(index));
+            }
+            setFilteredChildren(sortedChildren, sortedDescriptions);
         } finally {
             childrenLock.unlock();
         }
@@ -482,28 +604,36 @@ public abstract class ParentRunner<T> extends Runner implements Filterable,
         childrenLock.lock();
         try {
             List<T> children = getFilteredChildren();
+            for (T each : children) {
+                orderer.apply(each);
+            }
+            invalidateChildDescriptions(Orderable.class);
+            List<Description> descriptions = getChildDescriptions();
             // In theory, we could have duplicate Descriptions. De-dup them before ordering,
             // and add them back at the end.
-            Map<Description, List<T>> childMap = new LinkedHashMap<Description, List<T>>(
+            Map<Description, List<Integer>> childMap = new LinkedHashMap<Description, List<Integer>>(
                     children.size());
-            for (T child : children) {
-                Description description = describeChild(child);
-                List<T> childrenWithDescription = childMap.get(description);
+            for (int i = 0; i < children.size(); i++) {
+                Description description = descriptions.get(i);
+                List<Integer> childrenWithDescription = childMap.get(description);
                 if (childrenWithDescription == null) {
-                    childrenWithDescription = new ArrayList<T>(1);
+                    childrenWithDescription = new ArrayList<Integer>(1);
                     childMap.put(description, childrenWithDescription);
                 }
-                childrenWithDescription.add(child);
-                orderer.apply(child);
+                childrenWithDescription.add(i);
             }
 
             List<Description> inOrder = orderer.order(childMap.keySet());
 
-            children = new ArrayList<T>(children.size());
+            List<T> orderedChildren = new ArrayList<T>(children.size());
+            List<Description> orderedDescriptions = new ArrayList<Description>(children.size());
             for (Description description : inOrder) {
-                children.addAll(childMap.get(description));
+                for (Integer index : childMap.get(description)) {
+                    orderedChildren.add(children.get(index));
+                    orderedDescriptions.add(descriptions.get(index));
+                }
             }
-            filteredChildren = Collections.unmodifiableList(children);
+            setFilteredChildren(orderedChildren, orderedDescriptions);
         } finally {
             childrenLock.unlock();
         }
@@ -515,17 +645,42 @@ public abstract class ParentRunner<T> extends Runner implements Filterable,
 
     private boolean shouldNotReorder() {
         // If the test specifies a specific order, do not reorder.
-        return getDescription().getAnnotation(FixMethodOrder.class) != null;
+        return sealedDescription().getAnnotation(FixMethodOrder.class) != null;
     }
 
     private void validate() throws InitializationError {
+        Class<?> javaClass = testClass.getJavaClass();
+        boolean reusable = javaClass != null && isValidationOfClassReusable();
+        if (reusable) {
+            synchronized (VALID_CLASSES) {
+                if (VALID_CLASSES.containsKey(javaClass)) {
+                    return;
+                }
+            }
+        }
         List<Throwable> errors = new ArrayList<Throwable>();
         collectInitializationErrors(errors);
         if (!errors.isEmpty()) {
-            throw new InvalidTestClassError(testClass.getJavaClass(), errors);
+            throw new InvalidTestClassError(javaClass, errors);
+        }
+        if (reusable) {
+            synchronized (VALID_CLASSES) {
+                VALID_CLASSES.put(javaClass, Boolean.TRUE);
+            }
         }
     }
 
+    /**
+     * Returns {@code true} if {@link #collectInitializationErrors(List)}
+     * finds the same errors for every runner of the test class, so that a
+     * class that has been validated once does not have to be validated by
+     * the runners created for later runs. This is only known for the runners
+     * of this package, because subclasses may validate differently.
+     */
+    boolean isValidationOfClassReusable() {
+        return false;
+    }
+
     private List<T> getFilteredChildren() {
         if (filteredChildren == null) {
             childrenLock.lock();
@@ -541,14 +696,56 @@ public abstract class ParentRunner<T> extends Runner implements Filterable,
         return filteredChildren;
     }
 
-    private boolean shouldRun(Filter filter, T each) {
-        return filter.shouldRun(describeChild(each));
+    /**
+     * Must be called with {@code childrenLock} held. The descriptions are in
+     * the same order as the filtered children. {@code null} descriptions are
+     * created again.
+     */
+    private void setFilteredChildren(List<T> children, List<Description> descriptions) {
+        filteredChildren = Collections.unmodifiableList(children);
+        childDescriptions = descriptions;
+        description = null;
+    }
+
+    /**
+     * Returns the descriptions of the filtered children, in the same order.
+     * Each child is only described once, unless it has been filtered, sorted
+     * or ordered. Must be called with {@code childrenLock} held.
+     */
+    private List<Description> getChildDescriptions() {
+        List<T> children = getFilteredChildren();
+        if (childDescriptions == null) {
+            childDescriptions = new ArrayList<Description>(
+                    Collections.<Description>nCopies(children.size(), null));
+        }
+        for (int i = 0; i < children.size(); i++) {
+            if (childDescriptions.get(i) == null) {
+                childDescriptions.set(i, describeChild(children.get(i)));
+            }
+        }
+        return childDescriptions;
+    }
+
+    /**
+     * Forgets the descriptions of the children that are instances of
+     * {@code type}, because they may have changed.
+     */
+    private void invalidateChildDescriptions(Class<?> type) {
+        if (childDescriptions != null) {
+            List<T> children = getFilteredChildren();
+            for (int i = 0; i < children.size(); i++) {
+                if (type.isInstance(children.get(i))) {
+                    childDescriptions.set(i, null);
+                }
+            }
+        }
     }
 
-    private Comparator<? super T> comparator(final Sorter sorter) {
-        return new Comparator<T>() {
-            public int compare(T o1, T o2) {
-                return sorter.compare(describeChild(o1), describeChild(o2));
+    private Comparator<Integer> comparator(final Sorter sorter,
+            final List<Description> descriptions) {
+        return new Comparator<Integer>() {
+            public int compare(Integer o1, Integer o2) {
+                return sorter.compare(descriptions.get(o1), descriptions.get(o2));
             }
         };
     }
@@ -50,7 +50,7 @@ public class Suite extends ParentRunner<Runner> {
         Class<?>[] value();
     }
 
-    private static Class<?>[] getAnnotatedClasses(Class<?> klass) throws InitializationError {
+    static Class<?>[] getAnnotatedClasses(Class<?> klass) throws InitializationError {
         SuiteClasses annotation = klass.getAnnotation(SuiteClasses.class);
         if (annotation == null) {
             throw new InitializationError(String.format("class '%s' must have a SuiteClasses annotation", klass.getName()));
@@ -58,7 +58,7 @@ public class Suite extends ParentRunner<Runner> {
         return annotation.value();
     }
 
-    private final List<Runner> runners;
+    private volatile List<Runner> runners;
 
     /**
      * Called reflectively on classes annotated with <code>@RunWith(Suite.class)</code>
@@ -118,8 +118,18 @@ public class Suite extends ParentRunner<Runner> {
         return runners;
     }
 
+    @Override
+    protected void releaseAfterRun() {
+        super.releaseAfterRun();
+        runners = Collections.emptyList();
+    }
+
     @Override
     protected Description describeChild(Runner child) {
+        if (child instanceof ParentRunner<?>) {
+            // avoids copying the description of the child
+            return ((ParentRunner<?>) child).describeForParent();
+        }
         return child.getDescription();
     }
 
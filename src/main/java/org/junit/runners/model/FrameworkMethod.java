@@ -19,6 +19,12 @@ import org.junit.internal.runners.model.ReflectiveCallable;
 public class FrameworkMethod extends FrameworkMember<FrameworkMethod> {
     private final Method method;
 
+    // Not incremented atomically: a lost increment only delays the switch to
+    // a MethodHandleInvoker
+    private volatile int reflectiveInvocations;
+
+    private volatile MethodHandleInvoker methodHandleInvoker;
+
     /**
      * Returns a new {@code FrameworkMethod} for {@code method}
      */
@@ -50,9 +56,22 @@ public class FrameworkMethod extends FrameworkMember<FrameworkMethod> {
      * Returns the result of invoking this method on {@code target} with
      * parameters {@code params}. {@link InvocationTargetException}s thrown are
      * unwrapped, and their causes rethrown.
+     *
+     * <p>If the system property {@code junit.methodHandleThreshold} is set to
+     * {@code n}, public void instance methods with up to four parameters are
+     * invoked through a generated accessor instead of reflection once they
+     * have been invoked {@code n} times (this requires Java 8 or later). The
+     * same exceptions are thrown either way.
      */
     public Object invokeExplosively(final Object target, final Object... params)
             throws Throwable {
+        MethodHandleInvoker invoker = getMethodHandleInvoker();
+        if (invoker != null) {
+            Object result = invoker.invoke(target, params);
+            if (result != MethodHandleInvoker.NOT_INVOKED) {
+                return result;
+            }
+        }
         return new ReflectiveCallable() {
             @Override
             protected Object runReflectiveCall() throws Throwable {
@@ -61,6 +80,28 @@ public class FrameworkMethod extends FrameworkMember<FrameworkMethod> {
         }.run();
     }
 
+    private MethodHandleInvoker getMethodHandleInvoker() {
+        MethodHandleInvoker invoker = methodHandleInvoker;
+        if (invoker == null) {
+            int threshold = getMethodHandleThreshold();
+            if (threshold >= 0 && reflectiveInvocations++ >= threshold) {
+                invoker = MethodHandleInvoker.bind(method);
+                methodHandleInvoker = invoker;
+            }
+        }
+        return invoker;
+    }
+
+    /**
+     * Returns the number of reflective invocations after which this method is
+     * invoked through a generated accessor, or {@code -1} if it is always
+     * invoked reflectively. Defaults to the value of the system property
+     * {@code junit.methodHandleThreshold}.
+     */
+    int getMethodHandleThreshold() {
+        return MethodHandleInvoker.getThreshold();
+    }
+
     /**
      * Returns the method's name
      */
@@ -0,0 +1,269 @@
+package org.junit.runners.model;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Invokes a method through an accessor that is generated from a
+ * {@code java.lang.invoke.MethodHandle}, which avoids the reflective call and
+ * the {@code InvocationTargetException} that {@link Method#invoke(Object, Object...)}
+ * creates for every exception thrown by the method.
+ *
+ * <p>Accessors are only generated for public, non-static, void methods with
+ * up to four parameters (the shape of test and theory methods), and only if
+ * the method, its declaring class and its parameter types are public and can
+ * be loaded by the class loader of JUnit. The {@code java.lang.invoke} API is
+ * used reflectively because JUnit still runs on Java 5.
+ *
+ * <p>{@link FrameworkMethod} switches to an accessor once it has been invoked
+ * as often as configured by the system property
+ * {@value #THRESHOLD_PROPERTY}. Without the property, methods are always
+ * invoked reflectively.
+ */
+final class MethodHandleInvoker {
+    static final String THRESHOLD_PROPERTY = "junit.methodHandleThreshold";
+
+    private static final int MAX_PARAMETERS = 4;
+
+    private static final int THRESHOLD = Integer.getInteger(THRESHOLD_PROPERTY, -1);
+
+    /**
+     * Returned by {@link #invoke(Object, Object[])} if the method has not been
+     * invoked.
+     */
+    static final Object NOT_INVOKED = new Object();
+
+    private static final MethodHandleInvoker UNSUPPORTED = new MethodHandleInvoker(null, null, null);
+
+    private static final Map<Class<?>, Class<?>> WRAPPER_TYPES = new HashMap<Class<?>, Class<?>>();
+
+    static {
+        WRAPPER_TYPES.put(boolean.class, Boolean.class);
+        WRAPPER_TYPES.put(byte.class, Byte.class);
+        WRAPPER_TYPES.put(char.class, Character.class);
+        WRAPPER_TYPES.put(short.class, Short.class);
+        WRAPPER_TYPES.put(int.class, Integer.class);
+        WRAPPER_TYPES.put(long.class, Long.class);
+        WRAPPER_TYPES.put(float.class, Float.class);
+        WRAPPER_TYPES.put(double.class, Double.class);
+    }
+
+    private static final Class<?>[] ACCESSOR_TYPES = {
+            Arity0.class, Arity1.class, Arity2.class, Arity3.class, Arity4.class
+    };
+
+    private final Class<?> targetType;
+    private final Class<?>[] parameterTypes;
+    private final Class<?>[] boxedParameterTypes;
+    private final Object accessor;
+
+    private MethodHandleInvoker(Class<?> targetType, Class<?>[] parameterTypes, Object accessor) {
+        this.targetType = targetType;
+        this.parameterTypes = parameterTypes;
+        boxedParameterTypes = parameterTypes == null ? null : boxed(parameterTypes);
+        this.accessor = accessor;
+    }
+
+    /**
+     * Returns the number of reflective invocations after which a method is
+     * invoked through an accessor, or {@code -1} if accessors are disabled.
+     */
+    static int getThreshold() {
+        return THRESHOLD;
+    }
+
+    /**
+     * Generates an accessor for {@code method}. If that is not possible, the
+     * returned invoker never invokes the method.
+     */
+    static MethodHandleInvoker bind(Method method) {
+        if (!isSupported(method)) {
+            return UNSUPPORTED;
+        }
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        try {
+            return new MethodHandleInvoker(method.getDeclaringClass(), parameterTypes,
+                    createAccessor(method, parameterTypes));
+        } catch (Exception e) {
+            // java.lang.invoke is not available or refused the method
+            return UNSUPPORTED;
+        } catch (LinkageError e) {
+            return UNSUPPORTED;
+        }
+    }
+
+    /**
+     * Invokes the method, unless the arguments are not accepted by the method.
+     * Exceptions thrown by the method are thrown unchanged.
+     *
+     * @return the result of the method, or {@link #NOT_INVOKED} if the method
+     * has to be invoked reflectively, which reports wrong arguments the way
+     * {@link Method#invoke(Object, Object...)} does
+     */
+    Object invoke(Object target, Object[] params) throws Throwable {
+        if (accessor == null || params == null || params.length != parameterTypes.length) {
+            return NOT_INVOKED;
+        }
+        try {
+            switch (params.length) {
+                case 0:
+                    ((Arity0) accessor).invoke(target);
+                    break;
+                case 1:
+                    ((Arity1) accessor).invoke(target, params[0]);
+                    break;
+                case 2:
+                    ((Arity2) accessor).invoke(target, params[0], params[1]);
+                    break;
+                case 3:
+                    ((Arity3) accessor).invoke(target, params[0], params[1], params[2]);
+                    break;
+                default:
+                    ((Arity4) accessor).invoke(target, params[0], params[1], params[2], params[3]);
+                    break;
+            }
+        } catch (ClassCastException e) {
+            return notInvokedOrRethrow(e, target, params);
+        } catch (NullPointerException e) {
+            return notInvokedOrRethrow(e, target, params);
+        }
+        return null;
+    }
+
+    /**
+     * The accessor casts and unboxes the arguments before it calls the method.
+     * This fails if and only if the arguments are not accepted by the method,
+     * so the exception was thrown by the method if they are.
+     */
+    private Object notInvokedOrRethrow(RuntimeException e, Object target, Object[] params) {
+        if (accepts(target, params)) {
+            throw e;
+        }
+        return NOT_INVOKED;
+    }
+
+    private boolean accepts(Object target, Object[] params) {
+        if (!targetType.isInstance(target)) {
+            return false;
+        }
+        for (int i = 0; i < params.length; i++) {
+            Object param = params[i];
+            if (param == null ? parameterTypes[i].isPrimitive()
+                    : !boxedParameterTypes[i].isInstance(param)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSupported(Method method) {
+        int modifiers = method.getModifiers();
+        if (!Modifier.isPublic(modifiers) || Modifier.isStatic(modifiers)
+                || method.getReturnType() != Void.TYPE
+                || method.getParameterTypes().length > MAX_PARAMETERS
+                || !isAccessibleFromJUnit(method.getDeclaringClass())) {
+            return false;
+        }
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            if (!parameterType.isPrimitive() && !isAccessibleFromJUnit(parameterType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The generated accessor belongs to JUnit and refers to the type by name,
+     * so it must be public and resolve to the same class from JUnit.
+     */
+    private static boolean isAccessibleFromJUnit(Class<?> type) {
+        Class<?> elementType = type;
+        while (elementType.isArray()) {
+            elementType = elementType.getComponentType();
+        }
+        if (elementType.isPrimitive()) {
+            return true;
+        }
+        if (!Modifier.isPublic(elementType.getModifiers())) {
+            return false;
+        }
+        try {
+            return Class.forName(elementType.getName(), false,
+                    MethodHandleInvoker.class.getClassLoader()) == elementType;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static Class<?>[] boxed(Class<?>[] types) {
+        Class<?>[] boxed = new Class<?>[types.length];
+        for (int i = 0; i < types.length; i++) {
+            Class<?> wrapper = WRAPPER_TYPES.get(types[i]);
+            boxed[i] = wrapper == null ? types[i] : wrapper;
+        }
+        return boxed;
+    }
+
+    /**
+     * Lets {@code LambdaMetafactory} implement the {@code ArityN} interface
+     * with a call to {@code method}.
+     */
+    private static Object createAccessor(Method method, Class<?>[] parameterTypes)
+            throws Exception {
+        Class<?> methodHandles = Class.forName("java.lang.invoke.MethodHandles");
+        Class<?> lookupType = Class.forName("java.lang.invoke.MethodHandles$Lookup");
+        Class<?> methodHandleType = Class.forName("java.lang.invoke.MethodHandle");
+        Class<?> methodTypeType = Class.forName("java.lang.invoke.MethodType");
+        Class<?> lambdaMetafactory = Class.forName("java.lang.invoke.LambdaMetafactory");
+
+        Object lookup = methodHandles.getMethod("lookup").invoke(null);
+        Object implementation = lookupType.getMethod("unreflect", Method.class)
+                .invoke(lookup, method);
+
+        Class<?> accessorType = ACCESSOR_TYPES[parameterTypes.length];
+        Class<?>[] erasedParameters = new Class<?>[parameterTypes.length + 1];
+        Class<?>[] instantiatedParameters = new Class<?>[parameterTypes.length + 1];
+        Class<?>[] boxedParameters = boxed(parameterTypes);
+        erasedParameters[0] = Object.class;
+        instantiatedParameters[0] = method.getDeclaringClass();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            erasedParameters[i + 1] = Object.class;
+            instantiatedParameters[i + 1] = boxedParameters[i];
+        }
+        Method methodType = methodTypeType.getMethod("methodType", Class.class, Class[].class);
+        Object invokedType = methodType.invoke(null, accessorType, new Class<?>[0]);
+        Object erasedType = methodType.invoke(null, void.class, erasedParameters);
+        Object instantiatedType = methodType.invoke(null, void.class, instantiatedParameters);
+
+        Object callSite = lambdaMetafactory.getMethod("metafactory", lookupType,
+                String.class, methodTypeType, methodTypeType, methodHandleType, methodTypeType)
+                .invoke(null, lookup, "invoke", invokedType, erasedType, implementation,
+                        instantiatedType);
+        Object factory = Class.forName("java.lang.invoke.CallSite").getMethod("getTarget")
+                .invoke(callSite);
+        return methodHandleType.getMethod("invokeWithArguments", Object[].class)
+                .invoke(factory, new Object[] {new Object[0]});
+    }
+
+    interface Arity0 {
+        void invoke(Object target) throws Throwable;
+    }
+
+    interface Arity1 {
+        void invoke(Object target, Object p1) throws Throwable;
+    }
+
+    interface Arity2 {
+        void invoke(Object target, Object p1, Object p2) throws Throwable;
+    }
+
+    interface Arity3 {
+        void invoke(Object target, Object p1, Object p2, Object p3) throws Throwable;
+    }
+
+    interface Arity4 {
+        void invoke(Object target, Object p1, Object p2, Object p3, Object p4) throws Throwable;
+    }
+}
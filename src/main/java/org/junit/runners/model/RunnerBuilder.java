@@ -77,6 +77,21 @@ public abstract class RunnerBuilder {
         }
     }
 
+    /**
+     * Returns whether {@link #runners(Class, Class[])} should build a runner
+     * for {@code testClass}. Classes for which this returns {@code false}
+     * are left out before anything but their class file is looked at, so
+     * they are neither scanned nor validated. The default implementation
+     * always returns {@code true}.
+     *
+     * @param testClass a class that may be run
+     * @see org.junit.internal.builders.AllDefaultPossibilitiesBuilder#AllDefaultPossibilitiesBuilder(org.junit.runner.manipulation.Filter)
+     * @since 4.13.3
+     */
+    public boolean shouldBuildRunnerFor(Class<?> testClass) {
+        return true;
+    }
+
     private void configureRunner(Runner runner) throws InvalidOrderingException {
         Description description = runner.getDescription();
         OrderWith orderWith = description.getAnnotation(OrderWith.class);
@@ -122,6 +137,9 @@ public abstract class RunnerBuilder {
     private List<Runner> runners(Class<?>[] children) {
         List<Runner> runners = new ArrayList<Runner>();
         for (Class<?> each : children) {
+            if (!shouldBuildRunnerFor(each)) {
+                continue;
+            }
             Runner childRunner = safeRunnerForClass(each);
             if (childRunner != null) {
                 runners.add(childRunner);
@@ -4,6 +4,9 @@ import static java.lang.reflect.Modifier.isStatic;
 import static org.junit.internal.MethodSorter.NAME_ASCENDING;
 
 import java.lang.annotation.Annotation;
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -17,6 +20,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -32,15 +36,34 @@ public class TestClass implements Annotatable {
     private static final FieldComparator FIELD_COMPARATOR = new FieldComparator();
     private static final MethodComparator METHOD_COMPARATOR = new MethodComparator();
 
+    /*
+     * Members found by previous scans, so that they can be reused by the
+     * runners of later runs of the class. The map is keyed weakly by class,
+     * but the members refer to their class through their Method and Field
+     * objects. So the members of classes that are loaded by the class loader
+     * of JUnit or one of its ancestors, which live as long as JUnit does, are
+     * referenced softly. The members of other classes, e.g. of classes that
+     * a build tool loads by a class loader for each run, are referenced
+     * weakly: they are shared by the TestClass instances that are alive, but
+     * do not keep the class loader alive after the run. The other caches that
+     * are keyed weakly by class (VALID_CLASSES in ParentRunner and
+     * BUILDER_INDEXES in AllDefaultPossibilitiesBuilder) only hold values
+     * that do not refer to the class, so they never keep it alive.
+     */
+    private static final Map<Class<?>, Reference<AnnotatedMembers>> ANNOTATED_MEMBERS_CACHE =
+            new WeakHashMap<Class<?>, Reference<AnnotatedMembers>>();
+
     private final Class<?> clazz;
-    private final Map<Class<? extends Annotation>, List<FrameworkMethod>> methodsForAnnotations;
-    private final Map<Class<? extends Annotation>, List<FrameworkField>> fieldsForAnnotations;
+    private final AnnotatedMembers annotatedMembers;
 
     /**
-     * Creates a {@code TestClass} wrapping {@code clazz}. Each time this
-     * constructor executes, the class is scanned for annotations, which can be
-     * an expensive process (we hope in future JDK's it will not be.) Therefore,
-     * try to share instances of {@code TestClass} where possible.
+     * Creates a {@code TestClass} wrapping {@code clazz}. Scanning the class
+     * for annotations can be an expensive process (we hope in future JDK's it
+     * will not be.) The result of the scan is shared by the {@code TestClass}
+     * instances for the same class, including those of later runs, but
+     * subclasses of {@code TestClass} scan the class each time this
+     * constructor executes. Therefore, try to share instances of
+     * {@code TestClass} where possible.
      */
     public TestClass(Class<?> clazz) {
         this.clazz = clazz;
@@ -49,6 +72,62 @@ public class TestClass implements Annotatable {
                     "Test class can only have one constructor");
         }
 
+        annotatedMembers = canUseCachedMembers()
+                ? getCachedAnnotatedMembers() : scanAnnotatedMembers();
+    }
+
+    /**
+     * Subclasses may find members differently by overriding
+     * {@link #scanAnnotatedMembers(Map, Map)}, so the cache is only used for
+     * plain {@code TestClass} instances.
+     */
+    private boolean canUseCachedMembers() {
+        return clazz != null && getClass() == TestClass.class;
+    }
+
+    private AnnotatedMembers getCachedAnnotatedMembers() {
+        synchronized (ANNOTATED_MEMBERS_CACHE) {
+            Reference<AnnotatedMembers> reference = ANNOTATED_MEMBERS_CACHE.get(clazz);
+            AnnotatedMembers members = reference == null ? null : reference.get();
+            if (members != null) {
+                return members;
+            }
+        }
+        // Scan without holding the lock; concurrent scans of the same class
+        // produce equal results, and the first one stored wins.
+        AnnotatedMembers scanned = scanAnnotatedMembers();
+        synchronized (ANNOTATED_MEMBERS_CACHE) {
+            Reference<AnnotatedMembers> reference = ANNOTATED_MEMBERS_CACHE.get(clazz);
+            AnnotatedMembers members = reference == null ? null : reference.get();
+            if (members != null) {
+                return members;
+            }
+            ANNOTATED_MEMBERS_CACHE.put(clazz, isLoadedByJUnitOrAncestor(clazz)
+                    ? new SoftReference<AnnotatedMembers>(scanned)
+                    : new WeakReference<AnnotatedMembers>(scanned));
+            return scanned;
+        }
+    }
+
+    private static boolean isLoadedByJUnitOrAncestor(Class<?> clazz) {
+        ClassLoader loader = clazz.getClassLoader();
+        if (loader == null) {
+            return true;
+        }
+        try {
+            for (ClassLoader each = TestClass.class.getClassLoader(); each != null;
+                    each = each.getParent()) {
+                if (each == loader) {
+                    return true;
+                }
+            }
+        } catch (SecurityException e) {
+            // the ancestors cannot be checked
+        }
+        return false;
+    }
+
+    private AnnotatedMembers scanAnnotatedMembers() {
         Map<Class<? extends Annotation>, List<FrameworkMethod>> methodsForAnnotations =
                 new LinkedHashMap<Class<? extends Annotation>, List<FrameworkMethod>>();
         Map<Class<? extends Annotation>, List<FrameworkField>> fieldsForAnnotations =
@@ -56,8 +135,8 @@ public class TestClass implements Annotatable {
 
         scanAnnotatedMembers(methodsForAnnotations, fieldsForAnnotations);
 
-        this.methodsForAnnotations = makeDeeplyUnmodifiable(methodsForAnnotations);
-        this.fieldsForAnnotations = makeDeeplyUnmodifiable(fieldsForAnnotations);
+        return new AnnotatedMembers(makeDeeplyUnmodifiable(methodsForAnnotations),
+                makeDeeplyUnmodifiable(fieldsForAnnotations));
     }
 
     protected void scanAnnotatedMembers(Map<Class<? extends Annotation>, List<FrameworkMethod>> methodsForAnnotations, Map<Class<? extends Annotation>, List<FrameworkField>> fieldsForAnnotations) {
@@ -113,7 +192,7 @@ public class TestClass implements Annotatable {
      * @since 4.12
      */
     public List<FrameworkMethod> getAnnotatedMethods() {
-        List<FrameworkMethod> methods = collectValues(methodsForAnnotations);
+        List<FrameworkMethod> methods = collectValues(annotatedMembers.methodsForAnnotations);
         Collections.sort(methods, METHOD_COMPARATOR);
         return methods;
     }
@@ -124,7 +203,7 @@ public class TestClass implements Annotatable {
      */
     public List<FrameworkMethod> getAnnotatedMethods(
             Class<? extends Annotation> annotationClass) {
-        return Collections.unmodifiableList(getAnnotatedMembers(methodsForAnnotations, annotationClass, false));
+        return Collections.unmodifiableList(getAnnotatedMembers(annotatedMembers.methodsForAnnotations, annotationClass, false));
     }
 
     /**
@@ -134,7 +213,7 @@ public class TestClass implements Annotatable {
      * @since 4.12
      */
     public List<FrameworkField> getAnnotatedFields() {
-        return collectValues(fieldsForAnnotations);
+        return collectValues(annotatedMembers.fieldsForAnnotations);
     }
 
     /**
@@ -143,7 +222,7 @@ public class TestClass implements Annotatable {
      */
     public List<FrameworkField> getAnnotatedFields(
             Class<? extends Annotation> annotationClass) {
-        return Collections.unmodifiableList(getAnnotatedMembers(fieldsForAnnotations, annotationClass, false));
+        return Collections.unmodifiableList(getAnnotatedMembers(annotatedMembers.fieldsForAnnotations, annotationClass, false));
     }
 
     private <T> List<T> collectValues(Map<?, List<T>> map) {
@@ -345,4 +424,15 @@ public class TestClass implements Annotatable {
             return NAME_ASCENDING.compare(left.getMethod(), right.getMethod());
         }
     }
+
+    private static final class AnnotatedMembers {
+        final Map<Class<? extends Annotation>, List<FrameworkMethod>> methodsForAnnotations;
+        final Map<Class<? extends Annotation>, List<FrameworkField>> fieldsForAnnotations;
+
+        AnnotatedMembers(Map<Class<? extends Annotation>, List<FrameworkMethod>> methodsForAnnotations,
+                Map<Class<? extends Annotation>, List<FrameworkField>> fieldsForAnnotations) {
+            this.methodsForAnnotations = methodsForAnnotations;
+            this.fieldsForAnnotations = fieldsForAnnotations;
+        }
+    }
 }
@@ -26,7 +26,8 @@ public class BlockJUnit4ClassRunnerWithParameters extends
         CONSTRUCTOR, FIELD
     }
 
-    private final Object[] parameters;
+    // null once released
+    private volatile Object[] parameters;
 
     private final String name;
 
@@ -38,6 +39,15 @@ public class BlockJUnit4ClassRunnerWithParameters extends
         name = test.getName();
     }
 
+    /**
+     * Releases the parameters, too.
+     */
+    @Override
+    protected void releaseAfterRun() {
+        super.releaseAfterRun();
+        parameters = null;
+    }
+
     @Override
     public Object createTest() throws Exception {
         InjectionType injectionType = getInjectionType();
@@ -13,6 +13,7 @@ import static org.junit.experimental.results.PrintableResult.testResult;
 import static org.junit.experimental.results.ResultMatchers.failureCountIs;
 import static org.junit.experimental.results.ResultMatchers.isSuccessful;
 
+import java.io.IOException;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
@@ -22,15 +23,19 @@ import org.junit.Test;
 import org.junit.experimental.categories.Categories.CategoryFilter;
 import org.junit.experimental.categories.Categories.ExcludeCategory;
 import org.junit.experimental.categories.Categories.IncludeCategory;
+import org.junit.internal.builders.AllDefaultPossibilitiesBuilder;
 import org.junit.runner.JUnitCore;
 import org.junit.runner.Request;
 import org.junit.runner.Result;
 import org.junit.runner.RunWith;
+import org.junit.runner.Runner;
+import org.junit.runner.manipulation.ClassMetadata;
 import org.junit.runner.manipulation.NoTestsRemainException;
 import org.junit.runners.BlockJUnit4ClassRunner;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerBuilder;
 
 public class CategoryTest {
     public interface FastTests {
@@ -222,6 +227,70 @@ public class CategoryTest {
         assertEquals(1, runner.testCount());
     }
 
+    @Category(FastTests.class)
+    public static class FastClassWithOneSlowMethod {
+        @Test
+        public void fast() {
+        }
+
+        @Category(SlowTests.class)
+        @Test
+        public void fastAndSlow() {
+        }
+    }
+
+    @Test
+    public void categoryFilterCombinesClassAndMethodCategories()
+            throws InitializationError, NoTestsRemainException {
+        CategoryFilter filter = CategoryFilter.include(false, FastTests.class, SlowTests.class);
+        BlockJUnit4ClassRunner runner = new BlockJUnit4ClassRunner(FastClassWithOneSlowMethod.class);
+        filter.apply(runner);
+        assertEquals(1, runner.testCount());
+    }
+
+    @Test
+    public void categoryFilterCanBeAppliedToSeveralRunners()
+            throws InitializationError, NoTestsRemainException {
+        CategoryFilter filter = CategoryFilter.include(SlowTests.class);
+        for (int i = 0; i < 2; i++) {
+            BlockJUnit4ClassRunner runner = new BlockJUnit4ClassRunner(FastClassWithOneSlowMethod.class);
+            filter.apply(runner);
+            assertEquals(1, runner.testCount());
+        }
+        BlockJUnit4ClassRunner runner = new BlockJUnit4ClassRunner(A.class);
+        filter.apply(runner);
+        assertEquals(1, runner.testCount());
+    }
+
+    @Category(SlowTests.class)
+    public static class SlowClassThatIsInvalid {
+        @Test
+        public int notVoid() {
+            return 0;
+        }
+    }
+
+    @Test
+    public void categoryFilterDecidesAboutClassByMetadata() throws IOException {
+        CategoryFilter filter = CategoryFilter.exclude(SlowTests.class);
+        assertFalse(filter.shouldRunClass(ClassMetadata.forClass(SlowClassThatIsInvalid.class)));
+        assertTrue(filter.shouldRunClass(ClassMetadata.forClass(FastClassWithOneSlowMethod.class)));
+        assertTrue(filter.shouldRunClass(ClassMetadata.forClass(SuiteWithSlowClass.class)));
+    }
+
+    @RunWith(Suite.class)
+    @SuiteClasses({SlowClassThatIsInvalid.class, FastClassWithOneSlowMethod.class})
+    public static class SuiteWithSlowClass {
+    }
+
+    @Test
+    public void builderDoesNotBuildRunnersForExcludedClasses() throws InitializationError {
+        RunnerBuilder builder = new AllDefaultPossibilitiesBuilder(CategoryFilter.exclude(SlowTests.class));
+        Runner suite = new Suite(SuiteWithSlowClass.class, builder);
+        assertEquals(1, suite.getDescription().getChildren().size());
+        assertEquals(2, suite.testCount());
+    }
+
     public static class OneFastOneSlow {
         @Category(FastTests.class)
         @Test
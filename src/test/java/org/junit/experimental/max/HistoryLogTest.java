@@ -0,0 +1,190 @@
+package org.junit.experimental.max;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class HistoryLogTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+
+    @Before
+    public void createFile() {
+        file = new File(folder.getRoot(), "history.log");
+    }
+
+    @Test
+    public void newLogKnowsNoTests() throws IOException {
+        HistoryLog log = HistoryLog.open(file, 1);
+
+        assertFalse(log.contains("test(Example)"));
+        assertEquals(HistoryLog.NONE, log.getDuration("test(Example)"));
+        assertEquals(HistoryLog.NONE, log.getFailureTimestamp("test(Example)"));
+    }
+
+    @Test
+    public void readsWhatWasWritten() throws IOException {
+        HistoryLog log = HistoryLog.open(file, 1000);
+        log.putDuration("first(Example)", 10);
+        log.putFailureTimestamp("second(Example)", 1234);
+        log.putDuration("second(Example)", 20);
+        log.putDuration("first(Example)", 11);
+        log.close();
+
+        HistoryLog reread = HistoryLog.open(file, 1000);
+
+        assertEquals(11, reread.getDuration("first(Example)"));
+        assertEquals(HistoryLog.NONE, reread.getFailureTimestamp("first(Example)"));
+        assertEquals(20, reread.getDuration("second(Example)"));
+        assertEquals(1234, reread.getFailureTimestamp("second(Example)"));
+    }
+
+    @Test
+    public void testWithoutDurationIsNew() throws IOException {
+        HistoryLog log = HistoryLog.open(file, 1);
+        log.putFailureTimestamp("test(Example)", 1234);
+
+        assertFalse(log.contains("test(Example)"));
+        log.putDuration("test(Example)", 5);
+        assertTrue(log.contains("test(Example)"));
+    }
+
+    @Test
+    public void syncedRecordsSurviveWithoutClose() throws IOException {
+        HistoryLog log = HistoryLog.open(file, 1);
+        log.putDuration("test(Example)", 5);
+
+        assertEquals(5, HistoryLog.open(file, 1).getDuration("test(Example)"));
+    }
+
+    @Test
+    public void ignoresIncompleteLastRecord() throws IOException {
+        HistoryLog log = HistoryLog.open(file, 1000);
+        log.putDuration("first(Example)", 10);
+        log.putDuration("second(Example)", 20);
+        log.close();
+        cutOff(3);
+
+        HistoryLog reread = HistoryLog.open(file, 1000);
+        assertEquals(10, reread.getDuration("first(Example)"));
+        assertFalse(reread.contains("second(Example)"));
+        reread.putDuration("third(Example)", 30);
+        reread.close();
+
+        HistoryLog appended = HistoryLog.open(file, 1000);
+        assertEquals(10, appended.getDuration("first(Example)"));
+        assertEquals(30, appended.getDuration("third(Example)"));
+    }
+
+    @Test
+    public void removesIncompleteLastRecordOnlyWhenWriting() throws IOException {
+        HistoryLog log = HistoryLog.open(file, 1000);
+        log.putDuration("first(Example)", 10);
+        log.putDuration("second(Example)", 20);
+        log.close();
+        cutOff(3);
+        long cutOffLength = file.length();
+
+        HistoryLog reread = HistoryLog.open(file, 1000);
+        assertEquals(cutOffLength, file.length());
+        reread.putDuration("first(Example)", 11);
+        reread.close();
+
+        // the update would be lost if it followed the incomplete record
+        assertEquals(11, HistoryLog.open(file, 1000).getDuration("first(Example)"));
+    }
+
+    @Test
+    public void readOnlyLogDoesNotChangeFile() throws IOException {
+        HistoryLog log = HistoryLog.open(file, 1000);
+        log.putDuration("first(Example)", 10);
+        log.putDuration("second(Example)", 20);
+        log.close();
+        cutOff(3);
+        long cutOffLength = file.length();
+
+        HistoryLog reread = HistoryLog.openReadOnly(file);
+        reread.close();
+
+        assertEquals(10, reread.getDuration("first(Example)"));
+        assertEquals(cutOffLength, file.length());
+    }
+
+    @Test
+    public void readOnlyLogDoesNotMoveCompactedFile() throws IOException {
+        HistoryLog log = HistoryLog.open(file, 1000);
+        log.putDuration("test(Example)", 10);
+        log.close();
+        File compacted = new File(file.getPath() + ".tmp");
+        assertTrue(file.renameTo(compacted));
+
+        assertEquals(10, HistoryLog.openReadOnly(file).getDuration("test(Example)"));
+        assertFalse(file.exists());
+        assertTrue(compacted.exists());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void readOnlyLogCannotBeWritten() throws IOException {
+        HistoryLog.openReadOnly(file).putDuration("test(Example)", 10);
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsOtherFiles() throws IOException {
+        FileOutputStream out = new FileOutputStream(file);
+        out.write("not a log".getBytes("UTF-8"));
+        out.close();
+
+        HistoryLog.open(file, 1);
+    }
+
+    @Test
+    public void compactsLogWithManyOutdatedRecords() throws IOException {
+        HistoryLog log = HistoryLog.open(file, 1000);
+        for (int run = 0; run < 20; run++) {
+            for (int test = 0; test < 100; test++) {
+                log.putDuration("test" + test + "(Example)", run);
+            }
+        }
+        long lengthBeforeClose = file.length();
+        log.close();
+
+        assertTrue(file.length() < lengthBeforeClose / 5);
+        HistoryLog reread = HistoryLog.open(file, 1000);
+        for (int test = 0; test < 100; test++) {
+            assertEquals(19, reread.getDuration("test" + test + "(Example)"));
+        }
+    }
+
+    @Test
+    public void writesToNewFileIfOldOneCouldNotBeRead() throws IOException {
+        FileOutputStream out = new FileOutputStream(file);
+        out.write("not a log".getBytes("UTF-8"));
+        out.close();
+
+        HistoryLog log = HistoryLog.create(file, 1);
+        log.putDuration("test(Example)", 5);
+
+        assertEquals(5, HistoryLog.open(file, 1).getDuration("test(Example)"));
+    }
+
+    private void cutOff(int bytes) throws IOException {
+        RandomAccessFile output = new RandomAccessFile(file, "rw");
+        try {
+            output.setLength(output.length() - bytes);
+        } finally {
+            output.close();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.junit.internal;
 
+import org.junit.internal.builders.AllDefaultPossibilitiesBuilderTest;
 import org.junit.internal.builders.AnnotatedBuilderTest;
 import org.junit.internal.matchers.StacktracePrintingMatcherTest;
 import org.junit.internal.matchers.ThrowableCauseMatcherTest;
@@ -12,6 +13,7 @@ import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
 @SuiteClasses({
+        AllDefaultPossibilitiesBuilderTest.class,
         AnnotatedBuilderTest.class,
         ChecksTest.class,
         ErrorReportingRunnerTest.class,
@@ -5,6 +5,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.fail;
 import static org.junit.Assume.assumeTrue;
+import static org.junit.runner.Description.EMPTY;
 
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
@@ -185,6 +186,48 @@ public class StackTracesTest {
         assertNotEquals(failure.getTrace(), failure.getTrimmedTrace());
     }
 
+    @Test
+    public void getTrimmedStackTraceElementsWithoutPrintingTrace() {
+        Result result = runTest(TestWithOneThrowingTestMethodWithCause.class);
+        Failure failure = result.getFailures().get(0);
+
+        StackTraceElement[] trimmed = failure.getTrimmedStackTrace();
+        assertEquals(3, trimmed.length);
+        assertEquals("doThrowExceptionWithCause", trimmed[0].getMethodName());
+        assertEquals("throwsExceptionWithCause", trimmed[1].getMethodName());
+        assertEquals("alwaysThrows", trimmed[2].getMethodName());
+    }
+
+    @Test
+    public void traceIsPrintedOnce() {
+        RuntimeException exception = new RuntimeException("message");
+        Failure failure = new Failure(EMPTY, exception);
+        String trace = failure.getTrace();
+        String trimmedTrace = failure.getTrimmedTrace();
+
+        exception.setStackTrace(new StackTraceElement[0]);
+
+        assertEquals(trace, failure.getTrace());
+        assertEquals(trimmedTrace, failure.getTrimmedTrace());
+    }
+
+    @Test
+    public void internedTracesAreEqualToPrintedTraces() {
+        System.setProperty("junit.internTraces", "true");
+        try {
+            Result result = runTest(TestWithOneThrowingTestMethodWithCause.class);
+            Failure failure = result.getFailures().get(0);
+            Failure sameFailure = new Failure(failure.getDescription(), failure.getException());
+
+            assertEquals(Throwables.getStacktrace(failure.getException()), failure.getTrace());
+            assertEquals(Throwables.getTrimmedStackTrace(failure.getException()),
+                    failure.getTrimmedTrace());
+            assertEquals(failure.getTrace(), sameFailure.getTrace());
+        } finally {
+            System.clearProperty("junit.internTraces");
+        }
+    }
+
     private abstract static class StringMatcher extends TypeSafeMatcher<String> {
     }
 
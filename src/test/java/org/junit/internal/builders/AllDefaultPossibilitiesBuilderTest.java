@@ -0,0 +1,79 @@
+package org.junit.internal.builders;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+
+import junit.framework.JUnit4TestAdapter;
+import junit.framework.TestCase;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.internal.runners.ErrorReportingRunner;
+import org.junit.internal.runners.JUnit38ClassRunner;
+import org.junit.internal.runners.SuiteMethod;
+import org.junit.runner.RunWith;
+import org.junit.runner.Runner;
+import org.junit.runners.BlockJUnit4ClassRunner;
+import org.junit.runners.JUnit4;
+
+public class AllDefaultPossibilitiesBuilderTest {
+    @Ignore
+    public static class IgnoredTest {
+        @Test
+        public void test() {
+        }
+    }
+
+    @RunWith(BlockJUnit4ClassRunner.class)
+    public static class AnnotatedTest {
+        @Test
+        public void test() {
+        }
+    }
+
+    public static class SuiteMethodTest {
+        public static junit.framework.Test suite() {
+            return new JUnit4TestAdapter(AnnotatedTest.class);
+        }
+    }
+
+    public static class JUnit3Test extends TestCase {
+        public void testSomething() {
+        }
+    }
+
+    public static class JUnit4Test {
+        @Test
+        public void test() {
+        }
+    }
+
+    public static class InvalidTest {
+        @Test
+        public int test() {
+            return 0;
+        }
+    }
+
+    @Test
+    public void buildsSameRunnersForLaterRuns() throws Throwable {
+        for (int i = 0; i < 2; i++) {
+            AllDefaultPossibilitiesBuilder builder = new AllDefaultPossibilitiesBuilder();
+            assertThat(builder.runnerForClass(IgnoredTest.class), is(instanceOf(IgnoredClassRunner.class)));
+            assertThat(builder.runnerForClass(AnnotatedTest.class), is(instanceOf(BlockJUnit4ClassRunner.class)));
+            assertThat(builder.runnerForClass(SuiteMethodTest.class), is(instanceOf(SuiteMethod.class)));
+            assertThat(builder.runnerForClass(JUnit3Test.class), is(instanceOf(JUnit38ClassRunner.class)));
+            assertThat(builder.runnerForClass(JUnit4Test.class), is(instanceOf(JUnit4.class)));
+        }
+    }
+
+    @Test
+    public void reportsErrorsOfInvalidClassForLaterRuns() throws Throwable {
+        for (int i = 0; i < 2; i++) {
+            Runner runner = new AllDefaultPossibilitiesBuilder().runnerForClass(InvalidTest.class);
+            assertThat(runner, is(instanceOf(ErrorReportingRunner.class)));
+            assertEquals(1, runner.testCount());
+        }
+    }
+}
@@ -17,7 +17,12 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.assumeFalse;
 import static org.junit.Assume.assumeTrue;
 
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
@@ -38,14 +43,22 @@ import org.junit.runners.model.TestTimedOutException;
 @RunWith(Parameterized.class)
 public class FailOnTimeoutTest {
 
-    @Parameters(name = "lookingForStuckThread = {0}")
-    public static Iterable<Boolean> getParameters() {
-        return Arrays.asList(Boolean.TRUE, Boolean.FALSE);
+    @Parameters(name = "lookingForStuckThread = {0}, pooledThreads = {1}")
+    public static Iterable<Object[]> getParameters() {
+        return Arrays.asList(new Object[][] {
+                { Boolean.TRUE, Boolean.FALSE },
+                { Boolean.FALSE, Boolean.FALSE },
+                { Boolean.TRUE, Boolean.TRUE },
+                { Boolean.FALSE, Boolean.TRUE }
+        });
     }
 
     @Parameter
     public boolean lookingForStuckThread;
 
+    @Parameter(1)
+    public boolean pooledThreads;
+
     @Test
     public void noExceptionIsThrownWhenWrappedStatementFinishesBeforeTimeoutWithoutThrowingException()
             throws Throwable {
@@ -184,6 +197,7 @@ public class FailOnTimeoutTest {
     @Test
     public void lookingForStuckThread_threadGroupNotLeaked() throws Throwable {
         assumeTrue(lookingForStuckThread);
+        assumeFalse(pooledThreads);
         assumeTrue("Thread groups can no longer be destroyed on JDK 16 and later", System.getProperty("java.vm.specification.version").compareTo("16") < 0);
 
         final AtomicReference<ThreadGroup> innerThreadGroup = new AtomicReference<ThreadGroup>();
@@ -229,10 +243,67 @@ public class FailOnTimeoutTest {
         assertTrue("the Statement was never run", statementWasExecuted.get());
     }
 
+    @Test
+    public void pooledThreads_areReused() throws Throwable {
+        assumeTrue(pooledThreads);
+        final Set<Thread> threads = Collections.synchronizedSet(new HashSet<Thread>());
+        FailOnTimeout failOnTimeout = failAfter50Ms(new Statement() {
+            @Override
+            public void evaluate() {
+                threads.add(currentThread());
+            }
+        });
+
+        for (int i = 0; i < 20; i++) {
+            failOnTimeout.evaluate();
+        }
+
+        assertTrue("threads were not reused", threads.size() < 20);
+    }
+
+    @Test
+    public void pooledThreads_interruptIsNotPassedOnToNextStatement() throws Throwable {
+        assumeTrue(pooledThreads);
+        assertThrows(
+                TestTimedOutException.class,
+                run(failAfter50Ms(new RunForASecond())));
+
+        for (int i = 0; i < 20; i++) {
+            failAfter50Ms(new Statement() {
+                @Override
+                public void evaluate() {
+                    assertFalse("thread is interrupted", currentThread().isInterrupted());
+                }
+            }).evaluate();
+        }
+    }
+
+    @Test
+    public void pooledThreads_useContextClassLoaderOfCallingThread() throws Throwable {
+        assumeTrue(pooledThreads);
+        final ClassLoader classLoader = new URLClassLoader(new URL[0]);
+        final AtomicReference<ClassLoader> usedClassLoader = new AtomicReference<ClassLoader>();
+        ClassLoader original = currentThread().getContextClassLoader();
+        currentThread().setContextClassLoader(classLoader);
+        try {
+            failAfter50Ms(new Statement() {
+                @Override
+                public void evaluate() {
+                    usedClassLoader.set(currentThread().getContextClassLoader());
+                }
+            }).evaluate();
+        } finally {
+            currentThread().setContextClassLoader(original);
+        }
+
+        assertSame(classLoader, usedClassLoader.get());
+    }
+
     private FailOnTimeout failAfter50Ms(Statement statement) {
         return FailOnTimeout.builder()
                 .withTimeout(50, MILLISECONDS)
                 .withLookingForStuckThread(lookingForStuckThread)
+                .withPooledThreads(pooledThreads)
                 .build(statement);
     }
 
@@ -1,13 +1,21 @@
 package org.junit.runner;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.HashSet;
 import java.util.Set;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.experimental.categories.ExcludeCategories;
 import org.junit.experimental.categories.IncludeCategories;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.manipulation.IncludeMethodsFromFile;
 import org.junit.runner.notification.RunListener;
 import org.junit.tests.TestSystem;
 
@@ -22,6 +30,9 @@ public class FilterOptionIntegrationTest {
     private static final String EXCLUDES_DUMMY_CATEGORY_1 = "--filter=" +
             ExcludeCategories.class.getName() + "=" + DummyCategory1.class.getName();
 
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
     private JUnitCore jUnitCore = new JUnitCore();
     private TestListener testListener = new TestListener();
 
@@ -106,6 +117,62 @@ public class FilterOptionIntegrationTest {
         assertThat("failureCount does not match", result.getFailureCount(), is(0));
     }
 
+    @Test
+    public void shouldIncludeMethodsListedInFile() throws IOException {
+        File selection = writeSelection(
+                "# selected by the test impact analysis",
+                DummyTestClass0.class.getName() + "#dummyTest",
+                "",
+                DummyTestClass1.class.getName(),
+                DummyTestClass01.class.getName() + "#otherTest");
+
+        Result result = runJUnit(
+                "--filter=" + IncludeMethodsFromFile.class.getName() + "=" + selection,
+                DummyTestClass.class.getName(),
+                DummyTestClass0.class.getName(),
+                DummyTestClass1.class.getName(),
+                DummyTestClass01.class.getName());
+
+        assertWasNotRun(DummyTestClass.class);
+        assertWasRun(DummyTestClass0.class);
+        assertWasRun(DummyTestClass1.class);
+        assertWasNotRun(DummyTestClass01.class);
+        assertThat("runCount does not match", result.getRunCount(), is(2));
+        assertThat("failureCount does not match", result.getFailureCount(), is(0));
+    }
+
+    @Test
+    public void shouldCombineMethodsListedInFileWithCategories() throws IOException {
+        File selection = writeSelection(
+                DummyTestClass0.class.getName(),
+                DummyTestClass1.class.getName());
+
+        Result result = runJUnit(
+                "--filter=" + IncludeMethodsFromFile.class.getName() + "=" + selection,
+                INCLUDES_DUMMY_CATEGORY_0,
+                DummyTestClass0.class.getName(),
+                DummyTestClass1.class.getName(),
+                DummyTestClass01.class.getName());
+
+        assertWasRun(DummyTestClass0.class);
+        assertWasNotRun(DummyTestClass1.class);
+        assertWasNotRun(DummyTestClass01.class);
+        assertThat("runCount does not match", result.getRunCount(), is(1));
+    }
+
+    private File writeSelection(String... lines) throws IOException {
+        File file = folder.newFile("selection.txt");
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            for (String each : lines) {
+                writer.write(each + "\n");
+            }
+        } finally {
+            writer.close();
+        }
+        return file;
+    }
+
     private Result runJUnit(final String... args) {
         return jUnitCore.runMain(new TestSystem(), args);
     }
@@ -4,19 +4,35 @@ import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.hasItems;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
+import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.experimental.categories.ExcludeCategories;
 import org.junit.experimental.categories.IncludeCategories;
+import org.junit.experimental.max.MaxHistory;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.notification.RunListener;
 import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.ShardFilter;
+import org.junit.runners.Suite;
+import org.junit.runners.Suite.SuiteClasses;
 
 public class JUnitCommandLineParseResultTest {
     @Rule
     public ExpectedException expectedException = ExpectedException.none();
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     private final JUnitCommandLineParseResult jUnitCommandLineParseResult = new JUnitCommandLineParseResult();
 
     @Test
@@ -129,12 +145,175 @@ public class JUnitCommandLineParseResultTest {
         assertThat(description.toString(), containsString("initializationError"));
     }
 
+    @Test
+    public void shouldNotLoadClassesOfOtherShards() {
+        String unknownTestClass = "UnknownTestClass";
+        int otherShard = ShardFilter.byClass(1, 2).shouldRunClass(unknownTestClass) ? 2 : 1;
+
+        JUnitCommandLineParseResult result = JUnitCommandLineParseResult.parse(new String[]{
+                "--shard=" + otherShard + "/2", unknownTestClass
+        });
+
+        assertTrue(result.getClasses().isEmpty());
+        assertEquals(0, new JUnitCore().run(result.createRequest(new Computer())).getRunCount());
+    }
+
+    @Test
+    public void shouldNotLoadClassesOfExcludedCategories() {
+        JUnitCommandLineParseResult result = JUnitCommandLineParseResult.parse(new String[]{
+                "--filter=" + ExcludeCategories.class.getName() + "=" + DummyCategory0.class.getName(),
+                DummyTest.class.getName(), ExcludedTest.class.getName()
+        });
+
+        assertEquals(1, result.getClasses().size());
+        assertEquals(DummyTest.class, result.getClasses().get(0));
+        assertFalse(excludedTestInitialized);
+        assertEquals(1, new JUnitCore().run(result.createRequest(new Computer())).getRunCount());
+    }
+
+    @Test
+    public void shouldCreateFilterOfFilterSpecOnceWithDescriptionOfRequest() {
+        DescriptionRecordingFilterFactory.topLevelDescriptions.clear();
+        JUnitCommandLineParseResult result = JUnitCommandLineParseResult.parse(new String[]{
+                "--filter=" + DescriptionRecordingFilterFactory.class.getName(),
+                DummyTest.class.getName()
+        });
+
+        assertEquals(1, new JUnitCore().run(result.createRequest(new Computer())).getRunCount());
+        assertEquals(1, DescriptionRecordingFilterFactory.topLevelDescriptions.size());
+        assertEquals(1, DescriptionRecordingFilterFactory.topLevelDescriptions.get(0).testCount());
+    }
+
+    @Test
+    public void shouldSplitClassesOfSuiteBetweenShards() {
+        List<String> classesOfShard1 = classesRunByShard(1);
+        List<String> classesOfShard2 = classesRunByShard(2);
+
+        assertFalse(classesOfShard1.isEmpty());
+        assertFalse(classesOfShard2.isEmpty());
+        assertThat(classesOfShard1.size() + classesOfShard2.size(), is(3));
+        for (String each : classesOfShard1) {
+            assertTrue(ShardFilter.byClass(1, 2).shouldRunClass(each));
+        }
+        for (String each : classesOfShard2) {
+            assertTrue(ShardFilter.byClass(2, 2).shouldRunClass(each));
+        }
+    }
+
+    private List<String> classesRunByShard(int shard) {
+        JUnitCommandLineParseResult result = JUnitCommandLineParseResult.parse(new String[]{
+                "--shard=" + shard + "/2", DummySuite.class.getName()
+        });
+        final List<String> classNames = new ArrayList<String>();
+        JUnitCore core = new JUnitCore();
+        core.addListener(new RunListener() {
+            @Override
+            public void testStarted(Description description) {
+                if (!classNames.contains(description.getClassName())) {
+                    classNames.add(description.getClassName());
+                }
+            }
+        });
+        assertTrue(core.run(result.createRequest(new Computer())).wasSuccessful());
+        return classNames;
+    }
+
+    @Test
+    public void shouldRunEachMethodInOneShard() {
+        int runCount = 0;
+        for (int shard = 1; shard <= 3; shard++) {
+            JUnitCommandLineParseResult result = JUnitCommandLineParseResult.parse(new String[]{
+                    "--shard", shard + "/3:method", TwoDummyTests.class.getName()
+            });
+            Result shardResult = new JUnitCore().run(result.createRequest(new Computer()));
+            assertEquals(0, shardResult.getFailureCount());
+            runCount += shardResult.getRunCount();
+        }
+
+        assertEquals(2, runCount);
+    }
+
+    @Test
+    public void shouldRunNothingInShardWithoutTests() {
+        int runCount = 0;
+        for (int shard = 1; shard <= 4; shard++) {
+            JUnitCommandLineParseResult result = JUnitCommandLineParseResult.parse(new String[]{
+                    "--shard", shard + "/4", DummySuite.class.getName()
+            });
+            Result shardResult = new JUnitCore().run(result.createRequest(new Computer()));
+            assertEquals(0, shardResult.getFailureCount());
+            runCount += shardResult.getRunCount();
+        }
+
+        assertEquals(4, runCount);
+    }
+
+    @Test
+    public void shouldAssignClassesByRecordedDurations() {
+        File history = new File(folder.getRoot(), "history");
+        JUnitCore core = new JUnitCore();
+        core.addListener(MaxHistory.forLog(history).listener());
+        core.run(DummyTest.class, TwoDummyTests.class);
+
+        int classes = 0;
+        for (int shard = 1; shard <= 2; shard++) {
+            JUnitCommandLineParseResult result = JUnitCommandLineParseResult.parse(new String[]{
+                    "--shard=" + shard + "/2:durations=" + history.getPath(),
+                    DummyTest.class.getName(), TwoDummyTests.class.getName()
+            });
+            assertEquals(1, result.getClasses().size());
+            classes += result.getClasses().size();
+        }
+
+        assertEquals(2, classes);
+    }
+
+    @Test
+    public void shouldCreateFailureUponInvalidShard() {
+        jUnitCommandLineParseResult.parseOptions("--shard=3/2");
+        jUnitCommandLineParseResult.parseParameters(new String[0]);
+
+        Runner runner = jUnitCommandLineParseResult.createRequest(new Computer()).getRunner();
+        Description description = runner.getDescription().getChildren().get(0);
+
+        assertThat(description.toString(), containsString("initializationError"));
+    }
+
+    @Test
+    public void shouldCreateFailureUponMalformedShard() {
+        jUnitCommandLineParseResult.parseOptions("--shard=1-2");
+
+        Runner runner = jUnitCommandLineParseResult.createRequest(new Computer()).getRunner();
+        Description description = runner.getDescription().getChildren().get(0);
+
+        assertThat(description.toString(), containsString("initializationError"));
+    }
+
+    @Test
+    public void shouldCreateFailureUponRepeatedShard() {
+        jUnitCommandLineParseResult.parseOptions("--shard=1/2", "--shard=2/2");
+
+        Runner runner = jUnitCommandLineParseResult.createRequest(new Computer()).getRunner();
+        Description description = runner.getDescription().getChildren().get(0);
+
+        assertThat(description.toString(), containsString("initializationError"));
+    }
+
     public static class FilterFactoryStub implements FilterFactory {
         public Filter createFilter(FilterFactoryParams params) throws FilterNotCreatedException {
             throw new FilterNotCreatedException(new Exception("stub"));
         }
     }
 
+    public static class DescriptionRecordingFilterFactory implements FilterFactory {
+        static final List<Description> topLevelDescriptions = new ArrayList<Description>();
+
+        public Filter createFilter(FilterFactoryParams params) {
+            topLevelDescriptions.add(params.getTopLevelDescription());
+            return Filter.ALL;
+        }
+    }
+
     public static interface DummyCategory0 {
     }
 
@@ -143,4 +322,38 @@ public class JUnitCommandLineParseResultTest {
         public void dummyTest() {
         }
     }
+
+    private static volatile boolean excludedTestInitialized = false;
+
+    @Category(DummyCategory0.class)
+    public static class ExcludedTest {
+        static {
+            excludedTestInitialized = true;
+        }
+
+        @Test
+        public void excludedTest() {
+        }
+    }
+
+    public static class TwoDummyTests {
+        @Test
+        public void first() {
+        }
+
+        @Test
+        public void second() {
+        }
+    }
+
+    public static class ThirdDummyTest {
+        @Test
+        public void dummyTest() {
+        }
+    }
+
+    @RunWith(Suite.class)
+    @SuiteClasses({DummyTest.class, TwoDummyTests.class, ThirdDummyTest.class})
+    public static class DummySuite {
+    }
 }
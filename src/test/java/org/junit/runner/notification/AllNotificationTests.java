@@ -6,7 +6,9 @@ import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
 @SuiteClasses({
+        AsynchronousRunListenerTest.class,
         ConcurrentRunNotifierTest.class,
+        InternedTraceTest.class,
         RunNotifierTest.class,
         SynchronizedRunListenerTest.class
 })
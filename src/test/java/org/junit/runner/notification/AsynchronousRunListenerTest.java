@@ -0,0 +1,167 @@
+package org.junit.runner.notification;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.function.ThrowingRunnable;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.notification.AsynchronousRunListener.BackPressure;
+import org.junit.runners.MethodSorters;
+
+public class AsynchronousRunListenerTest {
+
+    @FixMethodOrder(MethodSorters.NAME_ASCENDING)
+    public static class ExampleTest {
+        @Test
+        public void one() {
+        }
+
+        @Test
+        public void two() {
+        }
+    }
+
+    private static class RecordingListener extends RunListener {
+        final List<String> events = new ArrayList<String>();
+        final List<Thread> threads = new ArrayList<Thread>();
+
+        @Override
+        public void testRunStarted(Description description) throws Exception {
+            record("testRunStarted");
+        }
+
+        @Override
+        public void testStarted(Description description) throws Exception {
+            record("testStarted " + description.getMethodName());
+        }
+
+        @Override
+        public void testFinished(Description description) throws Exception {
+            record("testFinished " + description.getMethodName());
+        }
+
+        @Override
+        public void testRunFinished(Result result) throws Exception {
+            record("testRunFinished");
+        }
+
+        private void record(String event) throws InterruptedException {
+            // slow listeners must not change the outcome
+            Thread.sleep(1);
+            events.add(event);
+            threads.add(Thread.currentThread());
+        }
+    }
+
+    @Test
+    public void deliversAllEventsInOrderBeforeRunFinishes() {
+        RecordingListener recorder = new RecordingListener();
+        JUnitCore core = new JUnitCore();
+        core.addListener(new AsynchronousRunListener(recorder));
+        core.run(ExampleTest.class);
+
+        assertEquals(asList("testRunStarted",
+                "testStarted one", "testFinished one",
+                "testStarted two", "testFinished two",
+                "testRunFinished"), recorder.events);
+    }
+
+    @Test
+    public void deliversEventsOnBackgroundThread() throws Exception {
+        RecordingListener recorder = new RecordingListener();
+        AsynchronousRunListener listener = new AsynchronousRunListener(recorder);
+        listener.testRunStarted(Description.EMPTY);
+        listener.testRunFinished(new Result());
+
+        assertEquals(2, recorder.threads.size());
+        assertNotSame(Thread.currentThread(), recorder.threads.get(0));
+        assertSame(recorder.threads.get(0), recorder.threads.get(1));
+    }
+
+    @Test
+    public void canBeUsedForSeveralRuns() throws Exception {
+        RecordingListener recorder = new RecordingListener();
+        AsynchronousRunListener listener = new AsynchronousRunListener(recorder);
+        for (int i = 0; i < 3; i++) {
+            listener.testRunStarted(Description.EMPTY);
+            listener.testRunFinished(new Result());
+        }
+
+        assertEquals(6, recorder.events.size());
+    }
+
+    @Test
+    public void rethrowsFirstExceptionOfDelegateWhenRunFinishes() throws Exception {
+        final RuntimeException exception = new RuntimeException("first");
+        final AsynchronousRunListener listener = new AsynchronousRunListener(new RunListener() {
+            @Override
+            public void testStarted(Description description) throws Exception {
+                throw exception;
+            }
+
+            @Override
+            public void testFinished(Description description) throws Exception {
+                throw new RuntimeException("second");
+            }
+        });
+        listener.testRunStarted(Description.EMPTY);
+        listener.testStarted(Description.EMPTY);
+        listener.testFinished(Description.EMPTY);
+
+        RuntimeException thrown = assertThrows(RuntimeException.class, new ThrowingRunnable() {
+            public void run() throws Throwable {
+                listener.testRunFinished(new Result());
+            }
+        });
+        assertSame(exception, thrown);
+
+        // the next run starts without an exception
+        listener.testRunStarted(Description.EMPTY);
+        listener.testRunFinished(new Result());
+    }
+
+    @Test
+    public void dropsEventsWhenBufferIsFull() throws Exception {
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        RecordingListener recorder = new RecordingListener() {
+            @Override
+            public void testRunStarted(Description description) throws Exception {
+                blocked.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                super.testRunStarted(description);
+            }
+        };
+        AsynchronousRunListener listener = new AsynchronousRunListener(
+                recorder, 2, BackPressure.DROP);
+        listener.testRunStarted(Description.EMPTY);
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 5; i++) {
+            listener.testStarted(Description.createTestDescription("Example", "test" + i));
+        }
+        release.countDown();
+        listener.testRunFinished(new Result());
+
+        assertEquals(3, listener.getDroppedEventCount());
+        assertEquals(asList("testRunStarted", "testStarted test0", "testStarted test1",
+                "testRunFinished"), recorder.events);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveCapacity() {
+        new AsynchronousRunListener(new RunListener(), 0, BackPressure.BLOCK);
+    }
+}
@@ -0,0 +1,62 @@
+package org.junit.runner.notification;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class InternedTraceTest {
+    private static final String FIRST_TRACE = "java.lang.AssertionError: first\n"
+            + "\tat Example.first(Example.java:10)\n"
+            + "\tat Example.fixture(Example.java:20)\n"
+            + "\tat Example.run(Example.java:30)\n";
+
+    private static final String SECOND_TRACE = "java.lang.AssertionError: second\n"
+            + "\tat Example.second(Example.java:15)\n"
+            + "\tat Example.fixture(Example.java:20)\n"
+            + "\tat Example.run(Example.java:30)\n";
+
+    @Test
+    public void internedTraceIsEqualToTrace() {
+        assertEquals(FIRST_TRACE, InternedTrace.intern(FIRST_TRACE).toString());
+        assertEquals("no line terminator", InternedTrace.intern("no line terminator").toString());
+        assertEquals("", InternedTrace.intern("").toString());
+    }
+
+    @Test
+    public void tracesShareTheLinesTheyEndWith() throws Exception {
+        InternedTrace first = InternedTrace.intern(FIRST_TRACE);
+        InternedTrace second = InternedTrace.intern(SECOND_TRACE);
+
+        List<Object> firstLines = lines(first);
+        List<Object> secondLines = lines(second);
+        assertNotSame(firstLines.get(1), secondLines.get(1));
+        assertSame(firstLines.get(2), secondLines.get(2));
+        assertSame(firstLines.get(3), secondLines.get(3));
+        assertEquals(firstLines, lines(InternedTrace.intern(FIRST_TRACE)));
+    }
+
+    /**
+     * Returns the line objects of {@code trace}, which are private to it.
+     */
+    private static List<Object> lines(InternedTrace trace) throws Exception {
+        List<Object> lines = new ArrayList<Object>();
+        Object line = field(trace, "first");
+        while (line != null) {
+            lines.add(line);
+            line = field(line, "next");
+        }
+        return lines;
+    }
+
+    private static Object field(Object object, String name) throws Exception {
+        Field field = object.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(object);
+    }
+}
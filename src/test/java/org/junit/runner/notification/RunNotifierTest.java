@@ -3,9 +3,18 @@ package org.junit.runner.notification;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
@@ -106,6 +115,111 @@ public class RunNotifierTest {
         assertThat(wrappedListener, instanceOf(SynchronizedRunListener.class));
     }
 
+    @Test
+    public void listenersAreNotifiedInOrderOfRegistration() {
+        final List<String> events = new ArrayList<String>();
+        fNotifier.addListener(new NamedListener("second", events));
+        fNotifier.addFirstListener(new NamedListener("first", events));
+        fNotifier.addListener(new NamedListener("third", events));
+        fNotifier.fireTestStarted(null);
+        assertEquals(asList("first", "second", "third"), events);
+    }
+
+    @Test
+    public void listenersThatDidNotThrowAreNotifiedOfFailingListener() {
+        FailureListener before = new FailureListener();
+        FailureListener after = new FailureListener();
+        fNotifier.addListener(before);
+        fNotifier.addListener(new CorruptListener());
+        fNotifier.addListener(after);
+        fNotifier.fireTestRunFinished(new Result());
+        assertNotNull(before.failure);
+        assertSame(Description.TEST_MECHANISM, before.failure.getDescription());
+        assertNotNull(after.failure);
+    }
+
+    @Test
+    public void listenersShareOneMonitorByDefault() throws Exception {
+        assertFalse(canBeCalledConcurrently(new RunNotifier(), 100));
+    }
+
+    @Test
+    public void listenersCanBeSynchronizedSeparately() throws Exception {
+        RunNotifier notifier = new RunNotifier();
+        notifier.setSynchronizePerListener(true);
+        assertTrue(canBeCalledConcurrently(notifier, 5000));
+    }
+
+    /**
+     * Checks whether a listener can be called while another listener of the
+     * same notifier is being called by a different thread.
+     */
+    private boolean canBeCalledConcurrently(RunNotifier notifier, long timeoutMillis)
+            throws Exception {
+        final CountDownLatch firstEntered = new CountDownLatch(1);
+        final CountDownLatch secondCalled = new CountDownLatch(1);
+        final AtomicBoolean concurrent = new AtomicBoolean();
+        final RunListener first = notifier.wrapIfNotThreadSafe(
+                new WaitingListener(firstEntered, secondCalled, concurrent, timeoutMillis));
+        RunListener second = notifier.wrapIfNotThreadSafe(new RunListener() {
+            @Override
+            public void testStarted(Description description) throws Exception {
+                secondCalled.countDown();
+            }
+        });
+        Thread thread = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    first.testStarted(null);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+        thread.start();
+        firstEntered.await();
+        second.testStarted(null);
+        thread.join();
+        return concurrent.get();
+    }
+
+    private static class WaitingListener extends RunListener {
+        private final CountDownLatch entered;
+        private final CountDownLatch other;
+        private final AtomicBoolean otherCalledWhileWaiting;
+        private final long timeoutMillis;
+
+        WaitingListener(CountDownLatch entered, CountDownLatch other,
+                AtomicBoolean otherCalledWhileWaiting, long timeoutMillis) {
+            this.entered = entered;
+            this.other = other;
+            this.otherCalledWhileWaiting = otherCalledWhileWaiting;
+            this.timeoutMillis = timeoutMillis;
+        }
+
+        @Override
+        public void testStarted(Description description) throws Exception {
+            entered.countDown();
+            otherCalledWhileWaiting.set(other.await(timeoutMillis, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    private static class NamedListener extends RunListener {
+        private final String name;
+        private final List<String> events;
+
+        NamedListener(String name, List<String> events) {
+            this.name = name;
+            this.events = events;
+        }
+
+        @Override
+        public void testStarted(Description description) throws Exception {
+            events.add(name);
+        }
+    }
+
     private static class FailureListener extends RunListener {
         private Failure failure;
 
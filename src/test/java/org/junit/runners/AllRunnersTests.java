@@ -9,6 +9,7 @@ import org.junit.runners.parameterized.AllParameterizedTests;
 @SuiteClasses({
         AllModelTests.class,
         AllParameterizedTests.class,
+        ClasspathSuiteTest.class,
         RuleContainerTest.class,
         CustomBlockJUnit4ClassRunnerTest.class
 })
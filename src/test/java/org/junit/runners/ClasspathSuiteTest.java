@@ -0,0 +1,137 @@
+package org.junit.runners;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runners.classpathsuite.AllClasses;
+import org.junit.runners.classpathsuite.AllClassesOfCustomSuite;
+import org.junit.runners.classpathsuite.InheritedTest;
+import org.junit.runners.classpathsuite.NotATest;
+import org.junit.runners.classpathsuite.SimpleTest;
+import org.junit.runners.classpathsuite.SimpleTestCase;
+
+public class ClasspathSuiteTest {
+    private static final Pattern ALL = Pattern.compile(".*");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void findsConcreteTopLevelTestClasses() {
+        Description description = Request.aClass(AllClasses.class).getRunner().getDescription();
+
+        List<String> names = new ArrayList<String>();
+        for (Description each : description.getChildren()) {
+            names.add(each.getClassName());
+        }
+        assertEquals(asList(InheritedTest.class.getName(), SimpleTest.class.getName(),
+                SimpleTestCase.class.getName()), names);
+    }
+
+    @Test
+    public void runsTestClasses() {
+        Result result = new JUnitCore().run(AllClasses.class);
+
+        assertTrue(result.wasSuccessful());
+        assertEquals(3, result.getRunCount());
+    }
+
+    @Test
+    public void leavesOutSuitesOfSubclasses() {
+        Result result = new JUnitCore().run(AllClassesOfCustomSuite.class);
+
+        assertTrue(result.wasSuccessful());
+        assertEquals(3, result.getRunCount());
+    }
+
+    @Test
+    public void indexDoesNotReadUnchangedFilesAgain() throws IOException {
+        File root = folder.newFolder("classes");
+        File classFile = copyClassFile(SimpleTest.class, root);
+        copyClassFile(NotATest.class, root);
+        File indexFile = new File(folder.getRoot(), "index");
+        ClasspathIndex index = new ClasspathIndex(getClass().getClassLoader());
+        index.scan(Collections.singletonList(root), 2);
+        index.save(indexFile);
+
+        // not a class file, but neither its size nor its modification time change
+        long lastModified = classFile.lastModified();
+        writeZeros(classFile, (int) classFile.length());
+        classFile.setLastModified(lastModified);
+        ClasspathIndex loaded = new ClasspathIndex(getClass().getClassLoader());
+        loaded.load(indexFile);
+        loaded.scan(Collections.singletonList(root), 2);
+
+        assertEquals(asList(SimpleTest.class.getName()), loaded.getTestClassNames(ALL, AllClasses.class, ClasspathSuite.class));
+
+        classFile.setLastModified(lastModified - 10000);
+        try {
+            loaded.scan(Collections.singletonList(root), 2);
+            fail("changed class file was not read");
+        } catch (IOException expected) {
+        }
+    }
+
+    @Test
+    public void indexForgetsDeletedFiles() throws IOException {
+        File root = folder.newFolder("classes");
+        File classFile = copyClassFile(SimpleTest.class, root);
+        ClasspathIndex index = new ClasspathIndex(getClass().getClassLoader());
+        index.scan(Collections.singletonList(root), 1);
+
+        assertTrue(classFile.delete());
+        index.scan(Collections.singletonList(root), 1);
+
+        assertEquals(Collections.emptyList(), index.getTestClassNames(ALL, AllClasses.class, ClasspathSuite.class));
+    }
+
+    private File copyClassFile(Class<?> type, File root) throws IOException {
+        String path = type.getName().replace('.', '/') + ".class";
+        File file = new File(root, path);
+        file.getParentFile().mkdirs();
+        InputStream in = type.getClassLoader().getResourceAsStream(path);
+        try {
+            OutputStream out = new FileOutputStream(file);
+            try {
+                byte[] buffer = new byte[4096];
+                int count;
+                while ((count = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, count);
+                }
+            } finally {
+                out.close();
+            }
+        } finally {
+            in.close();
+        }
+        return file;
+    }
+
+    private void writeZeros(File file, int length) throws IOException {
+        OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(new byte[length]);
+        } finally {
+            out.close();
+        }
+    }
+}
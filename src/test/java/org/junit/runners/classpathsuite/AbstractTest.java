@@ -0,0 +1,9 @@
+package org.junit.runners.classpathsuite;
+
+import org.junit.Test;
+
+public abstract class AbstractTest {
+    @Test
+    public void inherited() {
+    }
+}
@@ -0,0 +1,9 @@
+package org.junit.runners.classpathsuite;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.ClasspathSuite;
+
+@RunWith(CustomClasspathSuite.class)
+@ClasspathSuite.Scan(classNamePattern = "org\\.junit\\.runners\\.classpathsuite\\..*")
+public class AllClassesOfCustomSuite {
+}
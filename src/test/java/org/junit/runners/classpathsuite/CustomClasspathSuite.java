@@ -0,0 +1,11 @@
+package org.junit.runners.classpathsuite;
+
+import org.junit.runners.ClasspathSuite;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerBuilder;
+
+public class CustomClasspathSuite extends ClasspathSuite {
+    public CustomClasspathSuite(Class<?> klass, RunnerBuilder builder) throws InitializationError {
+        super(klass, builder);
+    }
+}
@@ -0,0 +1,4 @@
+package org.junit.runners.classpathsuite;
+
+public class InheritedTest extends AbstractTest {
+}
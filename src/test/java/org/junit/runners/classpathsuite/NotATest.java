@@ -0,0 +1,12 @@
+package org.junit.runners.classpathsuite;
+
+public class NotATest {
+    static {
+        if (true) {
+            throw new IllegalStateException("must not be initialized");
+        }
+    }
+
+    public void test() {
+    }
+}
@@ -0,0 +1,15 @@
+package org.junit.runners.classpathsuite;
+
+import org.junit.Test;
+
+public class SimpleTest {
+    @Test
+    public void test() {
+    }
+
+    public static class NestedTest {
+        @Test
+        public void test() {
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package org.junit.runners.classpathsuite;
+
+import junit.framework.TestCase;
+
+public class SimpleTestCase extends TestCase {
+    public void testSomething() {
+    }
+}
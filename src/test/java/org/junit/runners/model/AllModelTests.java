@@ -9,6 +9,7 @@ import org.junit.runners.Suite.SuiteClasses;
         FrameworkFieldTest.class,
         FrameworkMethodTest.class,
         InvalidTestClassErrorTest.class,
+        MethodHandleInvokerTest.class,
         TestClassTest.class
 })
 public class AllModelTests {
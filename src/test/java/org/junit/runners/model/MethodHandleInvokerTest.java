@@ -0,0 +1,254 @@
+package org.junit.runners.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.Result;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.BlockJUnit4ClassRunner;
+
+public class MethodHandleInvokerTest {
+
+    public static class Example {
+        public String received;
+
+        public void noArgs() {
+            received = "noArgs";
+        }
+
+        public void withArgs(int number, String text, long[] values) {
+            received = number + text + values.length;
+        }
+
+        public void fourArgs(Object a, Object b, Object c, Object d) {
+            received = "" + a + b + c + d;
+        }
+
+        public void fiveArgs(Object a, Object b, Object c, Object d, Object e) {
+        }
+
+        public void throwsChecked() throws IOException {
+            throw new IOException("checked");
+        }
+
+        public void throwsClassCastException(String text) {
+            throw new ClassCastException(text);
+        }
+
+        public static void staticMethod() {
+        }
+
+        public String returnsValue() {
+            return "value";
+        }
+
+        void packagePrivate() {
+        }
+    }
+
+    static class NonPublicClass {
+        public void test() {
+        }
+    }
+
+    public static class FailingTests {
+        @Test
+        public void throwsChecked() throws IOException {
+            throw new IOException("checked");
+        }
+
+        @Test
+        public void fails() {
+            throw new AssertionError("fails");
+        }
+
+        @Test
+        public void passes() {
+        }
+    }
+
+    /**
+     * Invokes the test methods through accessors from their second
+     * invocation on.
+     */
+    public static class AccessorRunner extends BlockJUnit4ClassRunner {
+        public AccessorRunner(Class<?> testClass) throws InitializationError {
+            super(testClass);
+        }
+
+        @Override
+        protected List<FrameworkMethod> computeTestMethods() {
+            List<FrameworkMethod> methods = new ArrayList<FrameworkMethod>();
+            for (FrameworkMethod each : super.computeTestMethods()) {
+                methods.add(new FrameworkMethod(each.getMethod()) {
+                    @Override
+                    int getMethodHandleThreshold() {
+                        return 1;
+                    }
+                });
+            }
+            return methods;
+        }
+    }
+
+    private final Example example = new Example();
+
+    @Before
+    public void requireLambdaMetafactory() {
+        try {
+            Class.forName("java.lang.invoke.LambdaMetafactory");
+        } catch (ClassNotFoundException e) {
+            assumeTrue(false);
+        }
+    }
+
+    @Test
+    public void runnerReportsSameExceptionsThroughAccessors() throws Throwable {
+        AccessorRunner runner = new AccessorRunner(FailingTests.class);
+
+        List<Failure> reflective = run(runner);
+        List<Failure> throughAccessors = run(runner);
+
+        assertEquals(2, reflective.size());
+        assertEquals(2, throughAccessors.size());
+        for (int i = 0; i < reflective.size(); i++) {
+            Throwable expected = reflective.get(i).getException();
+            Throwable actual = throughAccessors.get(i).getException();
+            assertEquals(expected.getClass(), actual.getClass());
+            assertEquals(expected.getMessage(), actual.getMessage());
+            assertTrue(isInvokedReflectively(expected));
+            assertFalse(isInvokedReflectively(actual));
+        }
+    }
+
+    private static List<Failure> run(BlockJUnit4ClassRunner runner) {
+        RunNotifier notifier = new RunNotifier();
+        Result result = new Result();
+        RunListener listener = result.createListener();
+        notifier.addListener(listener);
+        runner.run(notifier);
+        assertEquals(3, result.getRunCount());
+        return result.getFailures();
+    }
+
+    /**
+     * Returns whether the frames between the test method and the
+     * {@code FrameworkMethod} that invoked it include a reflective call.
+     */
+    private static boolean isInvokedReflectively(Throwable exception) {
+        for (StackTraceElement each : exception.getStackTrace()) {
+            if (each.getClassName().equals(FrameworkMethod.class.getName())) {
+                return false;
+            } else if (each.getClassName().equals(Method.class.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void invokesMethodWithoutParameters() throws Throwable {
+        MethodHandleInvoker invoker = bind(Example.class, "noArgs");
+
+        assertEquals(null, invoker.invoke(example, new Object[0]));
+        assertEquals("noArgs", example.received);
+    }
+
+    @Test
+    public void invokesMethodWithParameters() throws Throwable {
+        MethodHandleInvoker invoker = bind(Example.class, "withArgs", int.class, String.class,
+                long[].class);
+        Object[] params = {42, "x", new long[3]};
+
+        assertEquals(null, invoker.invoke(example, params));
+        assertEquals("42x3", example.received);
+    }
+
+    @Test
+    public void invokesMethodWithFourParameters() throws Throwable {
+        MethodHandleInvoker invoker = bind(Example.class, "fourArgs", Object.class,
+                Object.class, Object.class, Object.class);
+        Object[] params = {"a", "b", null, "d"};
+
+        assertEquals(null, invoker.invoke(example, params));
+        assertEquals("abnulld", example.received);
+    }
+
+    @Test
+    public void throwsExceptionOfMethodUnchanged() throws Throwable {
+        MethodHandleInvoker invoker = bind(Example.class, "throwsChecked");
+        try {
+            invoker.invoke(example, new Object[0]);
+        } catch (IOException e) {
+            assertEquals("checked", e.getMessage());
+            return;
+        }
+        throw new AssertionError("IOException expected");
+    }
+
+    @Test
+    public void throwsClassCastExceptionOfMethodUnchanged() throws Throwable {
+        MethodHandleInvoker invoker = bind(Example.class, "throwsClassCastException",
+                String.class);
+        try {
+            invoker.invoke(example, new Object[] {"thrown by method"});
+        } catch (ClassCastException e) {
+            assertEquals("thrown by method", e.getMessage());
+            return;
+        }
+        throw new AssertionError("ClassCastException expected");
+    }
+
+    @Test
+    public void doesNotInvokeWithArgumentsThatReflectionWouldReject() throws Throwable {
+        MethodHandleInvoker invoker = bind(Example.class, "withArgs", int.class, String.class,
+                long[].class);
+
+        assertNotInvoked(invoker, null, 1, "x", new long[0]);
+        assertNotInvoked(invoker, "not an Example", 1, "x", new long[0]);
+        assertNotInvoked(invoker, example, 1, "x");
+        assertNotInvoked(invoker, example, null, "x", new long[0]);
+        assertNotInvoked(invoker, example, 1L, "x", new long[0]);
+        assertNotInvoked(invoker, example, 1, 2, new long[0]);
+        assertSame(MethodHandleInvoker.NOT_INVOKED, invoker.invoke(example, null));
+        assertNull(example.received);
+    }
+
+    @Test
+    public void doesNotBindUnsupportedMethods() throws Throwable {
+        assertUnsupported(Example.class.getMethod("fiveArgs", Object.class, Object.class,
+                Object.class, Object.class, Object.class));
+        assertUnsupported(Example.class.getMethod("staticMethod"));
+        assertUnsupported(Example.class.getMethod("returnsValue"));
+        assertUnsupported(Example.class.getDeclaredMethod("packagePrivate"));
+        assertUnsupported(NonPublicClass.class.getMethod("test"));
+    }
+
+    private void assertUnsupported(Method method) throws Throwable {
+        assertSame(MethodHandleInvoker.NOT_INVOKED,
+                MethodHandleInvoker.bind(method).invoke(example, new Object[0]));
+    }
+
+    private static void assertNotInvoked(MethodHandleInvoker invoker, Object target,
+            Object... params) throws Throwable {
+        assertSame(MethodHandleInvoker.NOT_INVOKED, invoker.invoke(target, params));
+    }
+
+    private static MethodHandleInvoker bind(Class<?> type, String name, Class<?>... parameterTypes)
+            throws Exception {
+        return MethodHandleInvoker.bind(type.getMethod(name, parameterTypes));
+    }
+}
@@ -4,17 +4,26 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.lang.annotation.Annotation;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.rules.TestRule;
+import org.junit.runner.JUnitCore;
 import org.junit.runner.RunWith;
 
 public class TestClassTest {
@@ -260,4 +269,93 @@ public class TestClassTest {
         Annotation annotation = tc.getAnnotation(RunWith.class);
         assertThat(annotation, is(nullValue()));
     }
+
+    public static class ClassWithAnnotatedMembers {
+        @Rule
+        public TestRule rule;
+
+        @Test
+        public void test() {
+        }
+    }
+
+    @Test
+    public void instancesForSameClassShareScannedMembers() {
+        TestClass first = new TestClass(ClassWithAnnotatedMembers.class);
+        TestClass second = new TestClass(ClassWithAnnotatedMembers.class);
+
+        assertSame(first.getAnnotatedMethods(Test.class).get(0),
+                second.getAnnotatedMethods(Test.class).get(0));
+        assertSame(first.getAnnotatedFields(Rule.class).get(0),
+                second.getAnnotatedFields(Rule.class).get(0));
+    }
+
+    @Test
+    public void subclassesScanMembersThemselves() {
+        TestClass plain = new TestClass(ClassWithAnnotatedMembers.class);
+        TestClass subclass = new TestClass(ClassWithAnnotatedMembers.class) {
+            @Override
+            protected void scanAnnotatedMembers(
+                    Map<Class<? extends Annotation>, List<FrameworkMethod>> methodsForAnnotations,
+                    Map<Class<? extends Annotation>, List<FrameworkField>> fieldsForAnnotations) {
+                super.scanAnnotatedMembers(methodsForAnnotations, fieldsForAnnotations);
+                methodsForAnnotations.remove(Test.class);
+            }
+        };
+
+        assertEquals(1, plain.getAnnotatedMethods(Test.class).size());
+        assertEquals(Collections.emptyList(), subclass.getAnnotatedMethods(Test.class));
+        assertNotSame(plain.getAnnotatedFields(Rule.class).get(0),
+                subclass.getAnnotatedFields(Rule.class).get(0));
+    }
+
+    public static class LoadedByOtherClassLoader {
+        @Test
+        public void test() {
+        }
+    }
+
+    /**
+     * Loads {@link LoadedByOtherClassLoader} and its enclosing class itself
+     * and leaves all other classes to its parent, like the class loaders that
+     * build tools create for the classes of each run.
+     */
+    private static class ThrowawayClassLoader extends URLClassLoader {
+        ThrowawayClassLoader() {
+            super(new URL[] {LoadedByOtherClassLoader.class.getProtectionDomain()
+                    .getCodeSource().getLocation()}, TestClassTest.class.getClassLoader());
+        }
+
+        @Override
+        protected synchronized Class<?> loadClass(String name, boolean resolve)
+                throws ClassNotFoundException {
+            if (!name.equals(LoadedByOtherClassLoader.class.getName())
+                    && !name.equals(TestClassTest.class.getName())) {
+                return super.loadClass(name, resolve);
+            }
+            Class<?> loaded = findLoadedClass(name);
+            return loaded != null ? loaded : findClass(name);
+        }
+    }
+
+    @Test
+    public void classOfOtherClassLoaderCanBeCollectedAfterRun() throws Exception {
+        WeakReference<ClassLoader> classLoader = runInThrowawayClassLoader();
+
+        for (int i = 0; i < 100 && classLoader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertNull(classLoader.get());
+    }
+
+    private WeakReference<ClassLoader> runInThrowawayClassLoader() throws Exception {
+        ClassLoader classLoader = new ThrowawayClassLoader();
+        Class<?> testClass = classLoader.loadClass(LoadedByOtherClassLoader.class.getName());
+
+        assertNotSame(LoadedByOtherClassLoader.class, testClass);
+        assertTrue(JUnitCore.runClasses(testClass).wasSuccessful());
+        return new WeakReference<ClassLoader>(classLoader);
+    }
 }
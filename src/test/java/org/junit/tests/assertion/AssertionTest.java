@@ -22,6 +22,7 @@ import org.junit.ComparisonFailure;
 import org.junit.Test;
 import org.junit.function.ThrowingRunnable;
 import org.junit.internal.ArrayComparisonFailure;
+import org.junit.internal.ExactComparisonCriteria;
 
 /**
  * Tests for {@link org.junit.Assert}
@@ -1002,4 +1003,96 @@ public class AssertionTest {
             }
         };
     }
+
+    @Test
+    public void primitiveArraysReportFirstDifferingElement() {
+        assertArrayEqualsFailure("arrays first differed at element [2]; expected:<3> but was:<5>",
+                new ThrowingRunnable() {
+                    public void run() {
+                        assertArrayEquals(new int[]{1, 2, 3, 4}, new int[]{1, 2, 5, 4});
+                    }
+                });
+        assertArrayEqualsFailure("arrays first differed at element [1]; expected:<2> but was:<3>",
+                new ThrowingRunnable() {
+                    public void run() {
+                        assertArrayEquals(new long[]{1, 2}, new long[]{1, 3});
+                    }
+                });
+        assertArrayEqualsFailure("arrays first differed at element [1]; expected:<2> but was:<3>",
+                new ThrowingRunnable() {
+                    public void run() {
+                        assertArrayEquals(new byte[]{1, 2}, new byte[]{1, 3});
+                    }
+                });
+        assertArrayEqualsFailure("arrays first differed at element [1]; expected:<2> but was:<3>",
+                new ThrowingRunnable() {
+                    public void run() {
+                        assertArrayEquals(new short[]{1, 2}, new short[]{1, 3});
+                    }
+                });
+        assertArrayEqualsFailure("arrays first differed at element [1]; expected:<b> but was:<c>",
+                new ThrowingRunnable() {
+                    public void run() {
+                        assertArrayEquals(new char[]{'a', 'b'}, new char[]{'a', 'c'});
+                    }
+                });
+        assertArrayEqualsFailure("arrays first differed at element [1]; expected:<true> but was:<false>",
+                new ThrowingRunnable() {
+                    public void run() {
+                        assertArrayEquals(new boolean[]{true, true}, new boolean[]{true, false});
+                    }
+                });
+    }
+
+    @Test
+    public void primitiveArraysWithEqualPrefixDifferInLength() {
+        assertArrayEqualsFailure("array lengths differed, expected.length=2 actual.length=3; "
+                + "arrays first differed at element [2]; expected:<end of array> but was:<3>",
+                new ThrowingRunnable() {
+                    public void run() {
+                        assertArrayEquals(new int[]{1, 2}, new int[]{1, 2, 3});
+                    }
+                });
+    }
+
+    @Test
+    public void arraysWithDeltaReportFirstElementOutsideDelta() {
+        assertArrayEqualsFailure("arrays first differed at element [2]; expected:<3.0> but was:<3.5>",
+                new ThrowingRunnable() {
+                    public void run() {
+                        assertArrayEquals(new double[]{1.0, Double.NaN, 3.0, 4.0},
+                                new double[]{1.05, Double.NaN, 3.5, 5.0}, 0.1);
+                    }
+                });
+        assertArrayEqualsFailure("arrays first differed at element [2]; expected:<3.0> but was:<3.5>",
+                new ThrowingRunnable() {
+                    public void run() {
+                        assertArrayEquals(new float[]{1.0f, Float.NaN, 3.0f, 4.0f},
+                                new float[]{1.05f, Float.NaN, 3.5f, 5.0f}, 0.1f);
+                    }
+                });
+    }
+
+    @Test
+    public void exactComparisonOfFloatingPointArraysComparesLikeEquals() {
+        assertArrayEqualsFailure("arrays first differed at element [1]; expected:<0.0> but was:<-0.0>",
+                new ThrowingRunnable() {
+                    public void run() {
+                        new ExactComparisonCriteria().arrayEquals(null,
+                                new double[]{Double.NaN, 0.0}, new double[]{Double.NaN, -0.0});
+                    }
+                });
+        assertArrayEqualsFailure("arrays first differed at element [1]; expected:<0.0> but was:<-0.0>",
+                new ThrowingRunnable() {
+                    public void run() {
+                        new ExactComparisonCriteria().arrayEquals(null,
+                                new float[]{Float.NaN, 0.0f}, new float[]{Float.NaN, -0.0f});
+                    }
+                });
+    }
+
+    private void assertArrayEqualsFailure(String expectedMessage, ThrowingRunnable assertion) {
+        ArrayComparisonFailure e = assertThrows(ArrayComparisonFailure.class, assertion);
+        assertEquals(expectedMessage, e.getMessage());
+    }
 }
@@ -1,10 +1,25 @@
 package org.junit.tests.description;
 
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.junit.Test;
 import org.junit.runner.Description;
+import org.junit.runner.Request;
+import org.junit.runner.Runner;
 
 public class SuiteDescriptionTest {
     Description childless = Description.createSuiteDescription("a");
@@ -29,6 +44,149 @@ public class SuiteDescriptionTest {
         assertFalse(childless.hashCode() == namedB.hashCode());
     }
 
+    @Test
+    public void sealedDescriptionKeepsChildren() {
+        Description description = descriptionWithTwoKids("foo", "bar");
+
+        assertSame(description, description.seal());
+
+        assertTrue(description.isSealed());
+        assertEquals(asList(twoKids.getChildren().get(0), twoKids.getChildren().get(1)),
+                description.getChildren());
+        assertEquals(description.getChildren(), description.getChildrenView());
+        assertSame(description.getChildrenView(), description.getChildrenView());
+        assertEquals(2, description.testCount());
+        assertTrue(description.isSuite());
+    }
+
+    @Test
+    public void sealedDescriptionRejectsChildren() {
+        Description description = descriptionWithTwoKids("foo", "bar").seal();
+        try {
+            description.addChild(Description.createTestDescription(getClass(), "baz"));
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException expected) {
+        }
+        assertEquals(2, description.testCount());
+    }
+
+    @Test
+    public void childlessCopyOfSealedDescriptionAcceptsChildren() {
+        Description copy = descriptionWithTwoKids("foo", "bar").seal().childlessCopy();
+
+        copy.addChild(Description.createTestDescription(getClass(), "baz"));
+
+        assertFalse(copy.isSealed());
+        assertEquals(1, copy.testCount());
+    }
+
+    @Test
+    public void testCountOfSealedDescriptionWithUnsealedChildIsUpToDate() {
+        Description child = descriptionWithTwoKids("foo", "bar");
+        Description description = Description.createSuiteDescription("parent");
+        description.addChild(child);
+        description.seal();
+
+        child.addChild(Description.createTestDescription(getClass(), "baz"));
+
+        assertEquals(3, description.testCount());
+    }
+
+    @Test
+    public void sealedDescriptionCanBeSerialized() throws Exception {
+        Description description = descriptionWithTwoKids("foo", "bar");
+        description.getChildren().get(0).seal();
+        description.getChildren().get(1).seal();
+        description.seal();
+
+        Description copy = serializeAndDeserialize(description);
+
+        assertTrue(copy.isSealed());
+        assertEquals(description.getChildren(), copy.getChildren());
+        assertEquals(2, copy.testCount());
+    }
+
+    @Test
+    public void sealedDescriptionIsWrittenWithModifiableChildren() throws Exception {
+        Description description = descriptionWithTwoKids("foo", "bar").seal();
+
+        String serialized = new String(serialize(description), "ISO-8859-1");
+
+        // versions without seal() add children to the collection they read
+        assertTrue(serialized.contains(ConcurrentLinkedQueue.class.getName()));
+        assertFalse(serialized.contains("Unmodifiable"));
+    }
+
+    @Test
+    public void childrenAddedWhileSealingAreKept() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            final Description description = Description.createSuiteDescription("parent");
+            final List<Description> added = Collections.synchronizedList(new ArrayList<Description>());
+            Thread adder = new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 0; ; j++) {
+                        Description child = Description.createTestDescription("Example", "test" + j);
+                        try {
+                            description.addChild(child);
+                        } catch (IllegalStateException sealed) {
+                            return;
+                        }
+                        added.add(child);
+                    }
+                }
+            };
+            adder.start();
+            description.seal();
+            adder.join();
+
+            assertEquals(added, description.getChildren());
+        }
+    }
+
+    @Test
+    public void descriptionsOfRunnersAcceptChildren() {
+        Runner runner = Request.aClass(getClass()).getRunner();
+        Description description = runner.getDescription();
+        Description child = description.getChildrenView().get(0);
+
+        description.addChild(Description.createTestDescription(getClass(), "added"));
+        child.addChild(Description.createTestDescription(getClass(), "nested"));
+
+        assertFalse(description.isSealed());
+        assertEquals(description.testCount() - 1, runner.getDescription().testCount());
+        assertFalse(runner.getDescription().getChildren().contains(
+                Description.createTestDescription(getClass(), "added")));
+    }
+
+    @Test
+    public void mutableCopyKeepsUniqueIds() {
+        Description description = Description.createSuiteDescription("suite", "id");
+        description.addChild(Description.createTestDescription("Class", "method", "childId"));
+        description.seal();
+
+        Description copy = description.mutableCopy();
+
+        assertEquals(description, copy);
+        assertEquals(description.getChildren(), copy.getChildren());
+        assertFalse(copy.getChildren().get(0).isSealed());
+    }
+
+    private static Description serializeAndDeserialize(Description description)
+            throws Exception {
+        ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(serialize(description)));
+        return (Description) in.readObject();
+    }
+
+    private static byte[] serialize(Description description) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(description);
+        out.close();
+        return bytes.toByteArray();
+    }
+
     private Description descriptionWithTwoKids(String first, String second) {
         Description twoKids = Description.createSuiteDescription("a");
         twoKids.addChild(Description.createTestDescription(getClass(), first));
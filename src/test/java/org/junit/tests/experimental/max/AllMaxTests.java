@@ -1,5 +1,6 @@
 package org.junit.tests.experimental.max;
 
+import org.junit.experimental.max.HistoryLogTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
@@ -7,6 +8,7 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({
         DescriptionTest.class,
+        HistoryLogTest.class,
         JUnit38SortingTest.class,
         MaxStarterTest.class
 })
@@ -147,6 +147,22 @@ public class MaxStarterTest {
         assertEquals("slow", failures.get(1).getDescription().getMethodName());
     }
 
+    @Test
+    public void rememberOldRunsInLog() {
+        File log = new File(fMaxFile.getPath() + ".log");
+        try {
+            MaxCore.storedInLog(log).run(TwoUnEqualTests.class);
+
+            MaxCore reincarnation = MaxCore.storedInLog(log);
+            List<Failure> failures = reincarnation.run(TwoUnEqualTests.class)
+                    .getFailures();
+            assertEquals("fast", failures.get(0).getDescription().getMethodName());
+            assertEquals("slow", failures.get(1).getDescription().getMethodName());
+        } finally {
+            log.delete();
+        }
+    }
+
     @Test
     public void preferFast() {
         Request request = Request.aClass(TwoUnEqualTests.class);
@@ -6,8 +6,11 @@ import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
 @SuiteClasses({
+        DurationBalancedComputerTest.class,
         ParallelClassTest.class,
-        ParallelMethodTest.class
+        ParallelMethodTest.class,
+        VirtualThreadSchedulerTest.class,
+        WorkStealingComputerTest.class
 })
 public class AllParallelTests {
 }
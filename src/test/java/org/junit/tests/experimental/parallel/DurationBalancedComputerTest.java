@@ -0,0 +1,151 @@
+package org.junit.tests.experimental.parallel;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.DurationBalancedComputer;
+import org.junit.experimental.DurationSource;
+import org.junit.experimental.max.MaxHistory;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+
+public class DurationBalancedComputerTest {
+    private static final List<Class<?>> fStarted =
+            Collections.synchronizedList(new ArrayList<Class<?>>());
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    public static class ShortClass {
+        @Test
+        public void one() {
+            fStarted.add(ShortClass.class);
+        }
+    }
+
+    public static class MediumClass {
+        @Test
+        public void one() {
+            fStarted.add(MediumClass.class);
+        }
+
+        @Test
+        public void two() {
+        }
+    }
+
+    public static class LongClass {
+        @Test
+        public void one() {
+            fStarted.add(LongClass.class);
+        }
+    }
+
+    private static class FixedDurations implements DurationSource {
+        private final Map<String, Long> durations = new HashMap<String, Long>();
+
+        FixedDurations with(Class<?> testClass, String methodName, long duration) {
+            durations.put(Description.createTestDescription(testClass, methodName)
+                    .getDisplayName(), duration);
+            return this;
+        }
+
+        public long getDuration(Description test) {
+            Long duration = durations.get(test.getDisplayName());
+            return duration == null ? UNKNOWN : duration;
+        }
+    }
+
+    @Before
+    public void init() {
+        fStarted.clear();
+    }
+
+    @Test
+    public void startsLongestClassFirst() {
+        FixedDurations durations = new FixedDurations()
+                .with(ShortClass.class, "one", 1)
+                .with(MediumClass.class, "one", 5)
+                .with(MediumClass.class, "two", 5)
+                .with(LongClass.class, "one", 100);
+
+        Result result = JUnitCore.runClasses(new DurationBalancedComputer(durations, 1),
+                ShortClass.class, MediumClass.class, LongClass.class);
+
+        assertTrue(result.wasSuccessful());
+        assertEquals(asList(LongClass.class, MediumClass.class, ShortClass.class), fStarted);
+    }
+
+    @Test
+    public void predictsMakespanOfLongestFirstSchedule() {
+        FixedDurations durations = new FixedDurations()
+                .with(ShortClass.class, "one", 200)
+                .with(MediumClass.class, "one", 100)
+                .with(MediumClass.class, "two", 100)
+                .with(LongClass.class, "one", 300);
+        DurationBalancedComputer computer = new DurationBalancedComputer(durations, 2);
+
+        JUnitCore.runClasses(computer, ShortClass.class, MediumClass.class, LongClass.class);
+
+        DurationBalancedComputer.Statistics statistics = computer.getStatistics();
+        assertEquals(2, statistics.getWorkers());
+        assertEquals(3, statistics.getClasses());
+        assertEquals(0, statistics.getEstimatedClasses());
+        // 300 on the first worker, 200 + 200 on the second
+        assertEquals(400, statistics.getPredictedMakespan(TimeUnit.NANOSECONDS));
+        assertTrue(statistics.getActualMakespan(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    public void estimatesUnknownTestsWithAverageDuration() {
+        FixedDurations durations = new FixedDurations()
+                .with(MediumClass.class, "one", 100)
+                .with(MediumClass.class, "two", 300);
+        DurationBalancedComputer computer = new DurationBalancedComputer(durations, 1);
+
+        JUnitCore.runClasses(computer, ShortClass.class, MediumClass.class);
+
+        DurationBalancedComputer.Statistics statistics = computer.getStatistics();
+        assertEquals(1, statistics.getEstimatedClasses());
+        assertEquals(600, statistics.getPredictedMakespan(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    public void usesDurationsRecordedByMaxHistory() {
+        MaxHistory history = MaxHistory.forFolder(new File(folder.getRoot(), "history"));
+        JUnitCore core = new JUnitCore();
+        core.addListener(history.listener());
+        core.run(ShortClass.class, MediumClass.class, LongClass.class);
+        DurationBalancedComputer computer = new DurationBalancedComputer(history.durations(), 2);
+
+        Result result = core.run(computer, ShortClass.class, MediumClass.class, LongClass.class);
+
+        assertEquals(4, result.getRunCount());
+        assertEquals(0, computer.getStatistics().getEstimatedClasses());
+    }
+
+    @Test
+    public void hasNoStatisticsBeforeRun() {
+        assertNull(new DurationBalancedComputer(new FixedDurations()).getStatistics());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveWorkers() {
+        new DurationBalancedComputer(new FixedDurations(), 0);
+    }
+}
@@ -0,0 +1,98 @@
+package org.junit.tests.experimental.parallel;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.ParallelComputer;
+import org.junit.experimental.VirtualThreadScheduler;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+
+public class VirtualThreadSchedulerTest {
+    private static final long TIMEOUT = 15;
+    private static volatile Thread fOne = null;
+    private static volatile Thread fTwo = null;
+    private static volatile CountDownLatch fSynchronizer;
+
+    public static class Example {
+        @Test
+        public void one() throws InterruptedException {
+            fSynchronizer.countDown();
+            assertTrue(fSynchronizer.await(TIMEOUT, TimeUnit.SECONDS));
+            fOne = Thread.currentThread();
+        }
+
+        @Test
+        public void two() throws InterruptedException {
+            fSynchronizer.countDown();
+            assertTrue(fSynchronizer.await(TIMEOUT, TimeUnit.SECONDS));
+            fTwo = Thread.currentThread();
+        }
+    }
+
+    @Before
+    public void init() {
+        fOne = null;
+        fTwo = null;
+        fSynchronizer = new CountDownLatch(2);
+    }
+
+    @Test
+    public void methodsRunInParallel() throws Exception {
+        Result result = JUnitCore.runClasses(ParallelComputer.virtualThreadMethods(), Example.class);
+        assertTrue(result.wasSuccessful());
+        assertNotNull(fOne);
+        assertNotNull(fTwo);
+        assertThat(fOne, is(not(fTwo)));
+        assertEquals(VirtualThreadScheduler.isVirtualThreadSupportAvailable(), isVirtual(fOne));
+    }
+
+    @Test
+    public void schedulerUsesVirtualThreadsIfSupported() {
+        VirtualThreadScheduler scheduler = new VirtualThreadScheduler();
+        scheduler.finished();
+        assertEquals(hasVirtualThreads(), scheduler.isUsingVirtualThreads());
+    }
+
+    @Test
+    public void finishedWaitsForAllChildren() {
+        final CountDownLatch ran = new CountDownLatch(100);
+        VirtualThreadScheduler scheduler = new VirtualThreadScheduler();
+        for (int i = 0; i < 100; i++) {
+            scheduler.schedule(new Runnable() {
+                public void run() {
+                    ran.countDown();
+                }
+            });
+        }
+        scheduler.finished();
+        assertEquals(0, ran.getCount());
+    }
+
+    private static boolean hasVirtualThreads() {
+        try {
+            Thread.class.getMethod("isVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static boolean isVirtual(Thread thread) throws Exception {
+        if (!hasVirtualThreads()) {
+            return false;
+        }
+        Method isVirtual = Thread.class.getMethod("isVirtual");
+        return (Boolean) isVirtual.invoke(thread);
+    }
+}
@@ -0,0 +1,142 @@
+package org.junit.tests.experimental.parallel;
+
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.WorkStealingComputer;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+
+public class WorkStealingComputerTest {
+    private static final long TIMEOUT = 15;
+    private static volatile Thread fExample1Thread = null;
+    private static volatile Thread fExample2Thread = null;
+    private static volatile CountDownLatch fSynchronizer;
+    private static final AtomicInteger fRunning = new AtomicInteger();
+    private static final AtomicInteger fMaxRunning = new AtomicInteger();
+
+    public static class Example1 {
+        @Test
+        public void one() throws InterruptedException {
+            fSynchronizer.countDown();
+            assertTrue(fSynchronizer.await(TIMEOUT, TimeUnit.SECONDS));
+            fExample1Thread = Thread.currentThread();
+        }
+    }
+
+    public static class Example2 {
+        @Test
+        public void one() throws InterruptedException {
+            fSynchronizer.countDown();
+            assertTrue(fSynchronizer.await(TIMEOUT, TimeUnit.SECONDS));
+            fExample2Thread = Thread.currentThread();
+        }
+    }
+
+    public static class TwoMethods {
+        @Test
+        public void one() throws InterruptedException {
+            fSynchronizer.countDown();
+            assertTrue(fSynchronizer.await(TIMEOUT, TimeUnit.SECONDS));
+        }
+
+        @Test
+        public void two() throws InterruptedException {
+            fSynchronizer.countDown();
+            assertTrue(fSynchronizer.await(TIMEOUT, TimeUnit.SECONDS));
+        }
+    }
+
+    public static class Busy {
+        @Test
+        public void one() throws InterruptedException {
+            work();
+        }
+
+        @Test
+        public void two() throws InterruptedException {
+            work();
+        }
+
+        @Test
+        public void three() throws InterruptedException {
+            work();
+        }
+
+        private void work() throws InterruptedException {
+            int running = fRunning.incrementAndGet();
+            int max;
+            do {
+                max = fMaxRunning.get();
+            } while (running > max && !fMaxRunning.compareAndSet(max, running));
+            Thread.sleep(5);
+            fRunning.decrementAndGet();
+        }
+    }
+
+    @Before
+    public void init() {
+        fExample1Thread = null;
+        fExample2Thread = null;
+        fSynchronizer = new CountDownLatch(2);
+        fRunning.set(0);
+        fMaxRunning.set(0);
+    }
+
+    @Test
+    public void classesRunInParallel() {
+        Result result = JUnitCore.runClasses(
+                new WorkStealingComputer(true, false, 2), Example1.class, Example2.class);
+        assertTrue(result.wasSuccessful());
+        assertNotNull(fExample1Thread);
+        assertNotNull(fExample2Thread);
+        assertThat(fExample1Thread, not(fExample2Thread));
+    }
+
+    @Test
+    public void methodsRunInParallel() {
+        Result result = JUnitCore.runClasses(
+                new WorkStealingComputer(false, true, 2), TwoMethods.class);
+        assertTrue(result.wasSuccessful());
+    }
+
+    @Test
+    public void nestedSchedulingDoesNotExceedParallelism() {
+        int parallelism = 2;
+        WorkStealingComputer computer = new WorkStealingComputer(true, true, parallelism);
+        Result result = JUnitCore.runClasses(computer, Busy.class, Busy.class,
+                Busy.class, Busy.class, Busy.class, Busy.class);
+        assertTrue(result.wasSuccessful());
+        assertEquals(18, result.getRunCount());
+        // the thread that started the run helps with the children it waits for
+        assertTrue("max running was " + fMaxRunning.get(),
+                fMaxRunning.get() <= parallelism + 1);
+    }
+
+    @Test
+    public void reportsPoolUtilization() {
+        WorkStealingComputer computer = new WorkStealingComputer(true, true, 2);
+        JUnitCore.runClasses(computer, Busy.class, Busy.class);
+        WorkStealingComputer.Statistics statistics = computer.getStatistics();
+        // two classes plus three methods each
+        assertEquals(8, statistics.getForkedTasks());
+        assertEquals(statistics.getForkedTasks(), statistics.getTasksRunByWorkers()
+                + statistics.getTasksRunByJoiningThreads());
+        assertTrue(statistics.getPeakActiveWorkers() <= 2);
+        assertTrue(statistics.getUtilization() >= 0 && statistics.getUtilization() <= 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveParallelism() {
+        new WorkStealingComputer(true, true, 0);
+    }
+}
@@ -17,6 +17,7 @@ import org.junit.runners.Suite.SuiteClasses;
         WithExtendedParameterSources.class,
         WithNamedDataPoints.class,
         WithOnlyTestAnnotations.class,
+        WithParallelEvaluation.class,
         WithParameterSupplier.class,
         WithUnresolvedGenericTypeVariablesOnTheoryParms.class
 })
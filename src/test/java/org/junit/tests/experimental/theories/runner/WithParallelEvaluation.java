@@ -0,0 +1,101 @@
+package org.junit.tests.experimental.theories.runner;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+import static org.junit.experimental.results.PrintableResult.testResult;
+import static org.junit.experimental.results.ResultMatchers.hasSingleFailureContaining;
+import static org.junit.experimental.results.ResultMatchers.isSuccessful;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+public class WithParallelEvaluation {
+    @RunWith(Theories.class)
+    public static class ConcurrentTheory {
+        static final AtomicInteger evaluated = new AtomicInteger();
+        static CountDownLatch firstTwo;
+
+        @DataPoints
+        public static int[] ints = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+
+        @Theory(parallelism = 4)
+        public void twoInts(int x, int y) throws InterruptedException {
+            evaluated.incrementAndGet();
+            firstTwo.countDown();
+            // only returns if assignments are evaluated at the same time
+            assertTrue(firstTwo.await(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void evaluatesAllAssignmentsConcurrently() {
+        ConcurrentTheory.evaluated.set(0);
+        ConcurrentTheory.firstTwo = new CountDownLatch(2);
+
+        assertThat(testResult(ConcurrentTheory.class), isSuccessful());
+        assertThat(ConcurrentTheory.evaluated.get(), is(100));
+    }
+
+    @RunWith(Theories.class)
+    public static class FailsFromFive {
+        @DataPoints
+        public static int[] ints = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+
+        @Theory(parallelism = 4)
+        public void lessThanFive(int x) throws InterruptedException {
+            if (x == 5) {
+                // let later assignments fail first
+                Thread.sleep(100);
+            }
+            assertTrue(x < 5);
+        }
+    }
+
+    @Test
+    public void reportsFirstFailingAssignment() {
+        assertThat(testResult(FailsFromFive.class),
+                hasSingleFailureContaining("lessThanFive(\"5\" <from ints[5]>)"));
+    }
+
+    @RunWith(Theories.class)
+    public static class NoAssumptionsSatisfied {
+        @DataPoints
+        public static int[] ints = {0, 1, 2, 3};
+
+        @Theory(parallelism = 2)
+        public void negative(int x) {
+            assumeTrue(x < 0);
+        }
+    }
+
+    @Test
+    public void failsIfNoAssignmentSatisfiesAssumptions() {
+        assertThat(testResult(NoAssumptionsSatisfied.class),
+                hasSingleFailureContaining("Never found parameters"));
+    }
+
+    @RunWith(Theories.class)
+    public static class NoParallelism {
+        @DataPoints
+        public static int[] ints = {0};
+
+        @Theory(parallelism = 0)
+        public void anything(int x) {
+        }
+    }
+
+    @Test
+    public void rejectsParallelismBelowOne() {
+        assertThat(testResult(NoParallelism.class),
+                hasSingleFailureContaining("must have a parallelism of at least 1"));
+    }
+}
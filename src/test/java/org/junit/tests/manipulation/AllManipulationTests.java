@@ -6,10 +6,13 @@ import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
 @SuiteClasses({
+        ClassMetadataTest.class,
         FilterableTest.class,
         FilterTest.class,
         OrderableTest.class,
         OrderWithTest.class,
+        SelectedMethodsFilterTest.class,
+        ShardFilterTest.class,
         SingleMethodTest.class,
         SortableTest.class
 })
@@ -0,0 +1,103 @@
+package org.junit.tests.manipulation;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.manipulation.ClassMetadata;
+
+public class ClassMetadataTest {
+    private static volatile boolean initialized = false;
+
+    public interface FastTests {
+    }
+
+    public interface SlowTests {
+    }
+
+    @Category({FastTests.class, SlowTests.class})
+    @Ignore("reason")
+    public abstract static class Annotated {
+        @Test
+        public void annotated() {
+        }
+
+        public void plain() {
+        }
+    }
+
+    public static class Subclass extends Annotated {
+    }
+
+    public static class NotInitialized {
+        static {
+            initialized = true;
+        }
+
+        @Test
+        public void test() {
+        }
+    }
+
+    @Test
+    public void readsNamesAndModifiers() throws IOException {
+        ClassMetadata metadata = ClassMetadata.forClass(Subclass.class);
+
+        assertEquals(Subclass.class.getName(), metadata.getClassName());
+        assertEquals(Annotated.class.getName(), metadata.getSuperclassName());
+        assertTrue(Modifier.isPublic(metadata.getModifiers()));
+        assertFalse(Modifier.isAbstract(metadata.getModifiers()));
+        assertTrue(Modifier.isAbstract(ClassMetadata.forClass(Annotated.class).getModifiers()));
+    }
+
+    @Test
+    public void readsValuesOfClassAnnotations() throws IOException {
+        ClassMetadata metadata = ClassMetadata.forClass(Annotated.class);
+
+        assertTrue(metadata.hasAnnotation(Category.class.getName()));
+        assertEquals(asList(FastTests.class.getName(), SlowTests.class.getName()),
+                metadata.getAnnotationValues(Category.class.getName(), "value"));
+        assertEquals(asList("reason"), metadata.getAnnotationValues(Ignore.class.getName(), "value"));
+    }
+
+    @Test
+    public void readsMethodsAndTheirAnnotations() throws IOException {
+        ClassMetadata metadata = ClassMetadata.forClass(Annotated.class);
+
+        assertTrue(metadata.getMethodNames().containsAll(asList("annotated", "plain")));
+        assertTrue(metadata.hasMethodAnnotation(Test.class.getName()));
+        assertFalse(metadata.hasMethodAnnotation(Category.class.getName()));
+    }
+
+    @Test
+    public void readsSuperclassWithSameClassLoader() throws IOException {
+        ClassMetadata superclass = ClassMetadata.forClass(Subclass.class).readSuperclass();
+
+        assertEquals(Annotated.class.getName(), superclass.getClassName());
+        assertEquals(Annotated.class.getClassLoader(), superclass.getClassLoader());
+        assertEquals(Collections.emptySet(), ClassMetadata.forClass(Subclass.class).getAnnotationNames());
+    }
+
+    @Test
+    public void returnsNullWithoutClassFile() throws IOException {
+        assertNull(ClassMetadata.forClassName("org.junit.DoesNotExist", getClass().getClassLoader()));
+    }
+
+    @Test
+    public void doesNotInitializeClass() throws IOException {
+        ClassMetadata metadata = ClassMetadata.forClassName(
+                ClassMetadataTest.class.getName() + "$NotInitialized", getClass().getClassLoader());
+
+        assertTrue(metadata.hasMethodAnnotation(Test.class.getName()));
+        assertFalse(initialized);
+    }
+}
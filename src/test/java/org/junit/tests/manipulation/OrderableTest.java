@@ -1,6 +1,13 @@
 package org.junit.tests.manipulation;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.reverseOrder;
 import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 import junit.framework.JUnit4TestAdapter;
 import org.junit.Before;
 import org.junit.FixMethodOrder;
@@ -146,6 +153,27 @@ public class OrderableTest {
             new JUnitCore().run(backward);
             assertEquals("BcBbBaAcAbAa", log);
         }
+
+        @Test
+        public void orderingSeesOrderedChildrenOfSuite() {
+            final List<String> firstMethods = new ArrayList<String>();
+            Request backward = Request.aClass(Enclosing.class).orderWith(
+                    new ComparatorBasedOrdering(reverseOrder(Comparators.alphanumeric())) {
+                        @Override
+                        protected List<Description> orderItems(Collection<Description> descriptions) {
+                            for (Description each : descriptions) {
+                                if (each.isSuite()) {
+                                    firstMethods.add(each.getChildren().get(0).getMethodName());
+                                }
+                            }
+                            return super.orderItems(descriptions);
+                        }
+                    });
+
+            new JUnitCore().run(backward);
+            assertEquals("BcBbBaAcAbAa", log);
+            assertEquals(asList("c", "c"), firstMethods);
+        }
     }
 
     public static class TestOrderableClassRunnerIsSortable {
@@ -0,0 +1,170 @@
+package org.junit.tests.manipulation;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.SelectedMethodsFilter;
+import org.junit.runners.Suite;
+import org.junit.runners.Suite.SuiteClasses;
+
+public class SelectedMethodsFilterTest {
+    public static class First {
+        @Test
+        public void a() {
+        }
+
+        @Test
+        public void b() {
+        }
+    }
+
+    public static class Second {
+        @Test
+        public void a() {
+        }
+
+        @Test
+        public void c() {
+        }
+    }
+
+    @RunWith(Suite.class)
+    @SuiteClasses({First.class, Second.class})
+    public static class BothClasses {
+    }
+
+    private static final String FIRST = First.class.getName();
+
+    private static final String SECOND = Second.class.getName();
+
+    @Test
+    public void runsSelectedMethods() {
+        Filter filter = SelectedMethodsFilter.forMethodNames(asList(FIRST + "#b", SECOND + "#a"));
+
+        Result result = new JUnitCore().run(Request.aClass(BothClasses.class).filterWith(filter));
+
+        assertEquals(2, result.getRunCount());
+    }
+
+    @Test
+    public void selectsMethodsByClassAndName() {
+        Filter filter = SelectedMethodsFilter.forMethodNames(asList(FIRST + "#b", SECOND + "#a"));
+
+        assertFalse(filter.shouldRun(Description.createTestDescription(First.class, "a")));
+        assertTrue(filter.shouldRun(Description.createTestDescription(First.class, "b")));
+        assertTrue(filter.shouldRun(Description.createTestDescription(Second.class, "a")));
+        assertFalse(filter.shouldRun(Description.createTestDescription(Second.class, "c")));
+    }
+
+    @Test
+    public void selectsWholeClass() {
+        Filter filter = SelectedMethodsFilter.forMethodNames(asList(FIRST + "#b", FIRST));
+
+        assertTrue(filter.shouldRun(Description.createTestDescription(First.class, "a")));
+        assertTrue(filter.shouldRun(Description.createSuiteDescription(First.class)));
+        assertFalse(filter.shouldRun(Description.createTestDescription(Second.class, "a")));
+    }
+
+    @Test
+    public void selectsSuitesWithSelectedTests() {
+        Filter filter = SelectedMethodsFilter.forMethodNames(asList(SECOND + "#c"));
+        Description suite = Request.aClass(BothClasses.class).getRunner().getDescription();
+
+        assertTrue(filter.shouldRun(suite));
+        assertFalse(filter.shouldRun(suite.getChildrenView().get(0)));
+        assertTrue(filter.shouldRun(suite.getChildrenView().get(1)));
+    }
+
+    @Test
+    public void selectsSealedSuitesAgainWithSameResult() {
+        Filter filter = SelectedMethodsFilter.forMethodNames(asList(SECOND + "#c"));
+        Description suite = Description.createSuiteDescription("suite");
+        Description first = Description.createSuiteDescription(First.class);
+        first.addChild(Description.createTestDescription(First.class, "a"));
+        suite.addChild(first.seal());
+        Description second = Description.createSuiteDescription(Second.class);
+        second.addChild(Description.createTestDescription(Second.class, "c"));
+        suite.addChild(second.seal());
+        suite.seal();
+
+        assertTrue(filter.shouldRun(suite));
+        assertTrue(filter.shouldRun(suite));
+        assertFalse(filter.shouldRun(first));
+        assertTrue(filter.shouldRun(second));
+    }
+
+    @Test
+    public void selectsUnsealedSuitesWithTestsAddedLater() {
+        Filter filter = SelectedMethodsFilter.forMethodNames(asList(SECOND + "#c"));
+        Description suite = Description.createSuiteDescription(Second.class);
+        suite.addChild(Description.createTestDescription(Second.class, "a"));
+
+        assertFalse(filter.shouldRun(suite));
+        suite.addChild(Description.createTestDescription(Second.class, "c"));
+        assertTrue(filter.shouldRun(suite));
+    }
+
+    @Test
+    public void methodNameSelectsAllParameters() {
+        Filter filter = SelectedMethodsFilter.forMethodNames(asList(FIRST + "#a"));
+
+        assertTrue(filter.shouldRun(Description.createTestDescription(First.class, "a[0]")));
+        assertFalse(filter.shouldRun(Description.createTestDescription(First.class, "ab[0]")));
+    }
+
+    @Test
+    public void selectsDescribedTests() {
+        Description second = Request.aClass(Second.class).getRunner().getDescription();
+        Filter filter = SelectedMethodsFilter.forDescriptions(asList(
+                Description.createTestDescription(First.class, "b"), second));
+
+        assertFalse(filter.shouldRun(Description.createTestDescription(First.class, "a")));
+        assertTrue(filter.shouldRun(Description.createTestDescription(First.class, "b")));
+        assertTrue(filter.shouldRun(Description.createTestDescription(Second.class, "a")));
+        assertTrue(filter.shouldRun(Description.createTestDescription(Second.class, "c")));
+    }
+
+    @Test
+    public void intersectsSelections() {
+        Filter first = SelectedMethodsFilter.forMethodNames(asList(FIRST, SECOND + "#a"));
+        Filter second = SelectedMethodsFilter.forMethodNames(asList(FIRST + "#b", SECOND));
+
+        Filter intersection = first.intersect(second);
+
+        assertTrue(intersection instanceof SelectedMethodsFilter);
+        assertFalse(intersection.shouldRun(Description.createTestDescription(First.class, "a")));
+        assertTrue(intersection.shouldRun(Description.createTestDescription(First.class, "b")));
+        assertTrue(intersection.shouldRun(Description.createTestDescription(Second.class, "a")));
+        assertFalse(intersection.shouldRun(Description.createTestDescription(Second.class, "c")));
+    }
+
+    @Test
+    public void describesSelection() {
+        Filter filter = SelectedMethodsFilter.forMethodNames(asList(FIRST + "#a", FIRST + "#b",
+                SECOND));
+
+        assertEquals("2 selected methods and 1 selected classes", filter.describe());
+    }
+
+    @Test
+    public void emptySelectionRunsNothing() {
+        Filter filter = SelectedMethodsFilter.forMethodNames(Collections.<String>emptyList());
+
+        Result result = new JUnitCore().run(Request.aClass(BothClasses.class).filterWith(filter));
+
+        assertEquals(1, result.getFailureCount());
+        assertTrue(result.getFailures().get(0).getMessage()
+                .contains("0 selected methods and 0 selected classes"));
+    }
+}
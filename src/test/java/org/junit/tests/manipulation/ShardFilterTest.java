@@ -0,0 +1,212 @@
+package org.junit.tests.manipulation;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.junit.experimental.theories.Theories;
+import junit.framework.TestSuite;
+import org.junit.runner.Description;
+import org.junit.runner.RunWith;
+import org.junit.runner.manipulation.ClassMetadata;
+import org.junit.runner.manipulation.ShardFilter;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Suite;
+import org.junit.runners.Suite.SuiteClasses;
+
+public class ShardFilterTest {
+    private static final List<String> CLASS_NAMES = asList("a.A", "a.B", "a.C", "a.D");
+
+    public static class Leaf {
+        @Test
+        public void test() {
+        }
+    }
+
+    @RunWith(Suite.class)
+    @SuiteClasses(Leaf.class)
+    public static class AnnotatedSuite {
+    }
+
+    public static class InheritedSuite extends AnnotatedSuite {
+    }
+
+    @RunWith(Parameterized.class)
+    public static class ParameterizedLeaf {
+        @Parameters
+        public static List<Object[]> parameters() {
+            return Collections.singletonList(new Object[0]);
+        }
+
+        @Test
+        public void test() {
+        }
+    }
+
+    @RunWith(Theories.class)
+    public static class TheoriesLeaf {
+    }
+
+    public static class InheritedTheoriesLeaf extends TheoriesLeaf {
+        public static junit.framework.Test suite() {
+            return new TestSuite();
+        }
+    }
+
+    public static class SuiteMethod {
+        public static junit.framework.Test suite() {
+            return new TestSuite();
+        }
+    }
+
+    @Test
+    public void assignsEachClassToOneShard() {
+        for (int i = 0; i < 100; i++) {
+            String className = "pkg.Example" + i;
+            assertEquals(1, numberOfShardsRunning(className, 3));
+        }
+    }
+
+    @Test
+    public void assignsTestsOfClassToShardOfClass() {
+        ShardFilter filter = ShardFilter.byClass(1, 2);
+        boolean shouldRunClass = filter.shouldRunClass(ShardFilterTest.class.getName());
+
+        assertEquals(shouldRunClass, filter.shouldRun(
+                Description.createTestDescription(ShardFilterTest.class, "first")));
+        assertEquals(shouldRunClass, filter.shouldRun(
+                Description.createTestDescription(ShardFilterTest.class, "second")));
+    }
+
+    @Test
+    public void assignsEachMethodToOneShard() {
+        for (int i = 0; i < 100; i++) {
+            Description test = Description.createTestDescription(ShardFilterTest.class, "test" + i);
+            int shards = 0;
+            for (int shard = 1; shard <= 3; shard++) {
+                if (ShardFilter.byMethod(shard, 3).shouldRun(test)) {
+                    shards++;
+                }
+            }
+            assertEquals(1, shards);
+        }
+    }
+
+    @Test
+    public void loadsEveryClassWhenAssigningMethods() {
+        assertTrue(ShardFilter.byMethod(1, 2).shouldRunClass("a.A"));
+        assertTrue(ShardFilter.byMethod(2, 2).shouldRunClass("a.A"));
+    }
+
+    @Test
+    public void loadsSuitesInEveryShard() throws IOException {
+        for (Class<?> each : asList(AnnotatedSuite.class, InheritedSuite.class, SuiteMethod.class)) {
+            ClassMetadata metadata = ClassMetadata.forClass(each);
+            assertTrue(ShardFilter.byClass(1, 2).shouldRunClass(metadata));
+            assertTrue(ShardFilter.byClass(2, 2).shouldRunClass(metadata));
+        }
+    }
+
+    @Test
+    public void assignsOtherClassesByTheirMetadataToShardOfName() throws IOException {
+        for (Class<?> each : asList(Leaf.class, ParameterizedLeaf.class, TheoriesLeaf.class,
+                InheritedTheoriesLeaf.class)) {
+            ClassMetadata metadata = ClassMetadata.forClass(each);
+
+            assertEquals(1, (ShardFilter.byClass(1, 2).shouldRunClass(metadata) ? 1 : 0)
+                    + (ShardFilter.byClass(2, 2).shouldRunClass(metadata) ? 1 : 0));
+            assertEquals(ShardFilter.byClass(1, 2).shouldRunClass(each.getName()),
+                    ShardFilter.byClass(1, 2).shouldRunClass(metadata));
+        }
+    }
+
+    @Test
+    public void balancesShardsByDuration() {
+        Map<String, Long> durations = durations(100, 60, 50, 10);
+
+        // 100 + 10 on the first shard, 60 + 50 on the second
+        ShardFilter first = ShardFilter.byDuration(1, 2, CLASS_NAMES, durations);
+        assertTrue(first.shouldRunClass("a.A"));
+        assertFalse(first.shouldRunClass("a.B"));
+        assertFalse(first.shouldRunClass("a.C"));
+        assertTrue(first.shouldRunClass("a.D"));
+        ShardFilter second = ShardFilter.byDuration(2, 2, CLASS_NAMES, durations);
+        assertFalse(second.shouldRunClass("a.A"));
+        assertTrue(second.shouldRunClass("a.B"));
+        assertTrue(second.shouldRunClass("a.C"));
+        assertFalse(second.shouldRunClass("a.D"));
+    }
+
+    @Test
+    public void balancingDoesNotDependOnOrderOfClasses() {
+        Map<String, Long> durations = durations(10, 10, 10, 10);
+        List<String> reversed = asList("a.D", "a.C", "a.B", "a.A");
+
+        for (String each : CLASS_NAMES) {
+            assertEquals(ShardFilter.byDuration(1, 2, CLASS_NAMES, durations).shouldRunClass(each),
+                    ShardFilter.byDuration(1, 2, reversed, durations).shouldRunClass(each));
+        }
+    }
+
+    @Test
+    public void estimatesClassesWithoutDuration() {
+        Map<String, Long> durations = new HashMap<String, Long>();
+        durations.put("a.A", 30L);
+        durations.put("a.B", 10L);
+
+        // a.A on the first shard; a.C and a.D are estimated at 20
+        ShardFilter second = ShardFilter.byDuration(2, 2, asList("a.A", "a.B", "a.C", "a.D"),
+                durations);
+        assertFalse(second.shouldRunClass("a.A"));
+        assertTrue(second.shouldRunClass("a.C"));
+        assertTrue(second.shouldRunClass("a.D"));
+        assertFalse(second.shouldRunClass("a.B"));
+    }
+
+    @Test
+    public void hashesClassesThatWereNotBalanced() {
+        ShardFilter filter = ShardFilter.byDuration(1, 2, Collections.<String>emptyList(),
+                Collections.<String, Long>emptyMap());
+
+        assertEquals(ShardFilter.byClass(1, 2).shouldRunClass("a.A"),
+                filter.shouldRunClass("a.A"));
+    }
+
+    @Test
+    public void describesShard() {
+        assertEquals("shard 2/3 by class", ShardFilter.byClass(2, 3).describe());
+        assertEquals("shard 2/3 by method", ShardFilter.byMethod(2, 3).describe());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsIndexOutOfRange() {
+        ShardFilter.byClass(0, 2);
+    }
+
+    private static int numberOfShardsRunning(String className, int count) {
+        int shards = 0;
+        for (int shard = 1; shard <= count; shard++) {
+            if (ShardFilter.byClass(shard, count).shouldRunClass(className)) {
+                shards++;
+            }
+        }
+        return shards;
+    }
+
+    private static Map<String, Long> durations(long... durations) {
+        Map<String, Long> result = new HashMap<String, Long>();
+        for (int i = 0; i < durations.length; i++) {
+            result.put(CLASS_NAMES.get(i), durations[i]);
+        }
+        return result;
+    }
+}
@@ -11,6 +11,7 @@ import org.junit.tests.running.classes.parent.ParentRunnerClassLoaderTest;
         ClassLevelMethodsWithIgnoredTestsTest.class,
         EnclosedTest.class,
         IgnoreClassTest.class,
+        LazySuiteTest.class,
         ParameterizedTestTest.class,
         ParentRunnerFilteringTest.class,
         ParentRunnerTest.class,
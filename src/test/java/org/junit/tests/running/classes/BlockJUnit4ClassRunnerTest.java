@@ -2,14 +2,22 @@ package org.junit.tests.running.classes;
 
 import static org.junit.Assert.assertEquals;
 
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 import org.junit.runner.Description;
 import org.junit.runner.JUnitCore;
 import org.junit.runner.notification.RunListener;
 import org.junit.runners.BlockJUnit4ClassRunner;
+import org.junit.runners.JUnit4;
 import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.TestClass;
+import org.junit.validator.AnnotationValidator;
+import org.junit.validator.ValidateWith;
 
 public class BlockJUnit4ClassRunnerTest {
     public static class OuterClass {
@@ -65,4 +73,41 @@ public class BlockJUnit4ClassRunnerTest {
         junit.run(MethodBlockAfterFireTestStarted.class);
         assertEquals(" testStarted(test) init test testFinished(test)", log);
     }
+
+    private static final AtomicInteger validations = new AtomicInteger();
+
+    public static class CountingValidator extends AnnotationValidator {
+        @Override
+        public List<Exception> validateAnnotatedClass(TestClass testClass) {
+            validations.incrementAndGet();
+            return Collections.emptyList();
+        }
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @ValidateWith(CountingValidator.class)
+    public @interface CountValidations {
+    }
+
+    @CountValidations
+    public static class ValidClass {
+        @Test
+        public void test() {
+        }
+    }
+
+    @Test
+    public void validatesClassOnlyOnce() throws Exception {
+        new BlockJUnit4ClassRunner(ValidClass.class);
+        int count = validations.get();
+
+        new BlockJUnit4ClassRunner(ValidClass.class);
+        new JUnit4(ValidClass.class);
+        assertEquals(count, validations.get());
+
+        // subclasses may validate differently
+        new BlockJUnit4ClassRunner(ValidClass.class) {
+        };
+        assertEquals(count + 1, validations.get());
+    }
 }
@@ -0,0 +1,168 @@
+package org.junit.tests.running.classes;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.Computer;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runners.BlockJUnit4ClassRunner;
+import org.junit.runners.LazySuite;
+import org.junit.runners.Suite.SuiteClasses;
+import org.junit.runners.model.InitializationError;
+
+public class LazySuiteTest {
+    private static final List<String> fEvents = new ArrayList<String>();
+
+    public static class RecordingRunner extends BlockJUnit4ClassRunner {
+        public RecordingRunner(Class<?> testClass) throws InitializationError {
+            super(testClass);
+            fEvents.add("create " + testClass.getSimpleName());
+        }
+    }
+
+    @RunWith(RecordingRunner.class)
+    public static class TestA {
+        @Test
+        public void a() {
+            fEvents.add("run TestA.a");
+        }
+
+        @Test
+        public void b() {
+            fEvents.add("run TestA.b");
+        }
+    }
+
+    @RunWith(RecordingRunner.class)
+    public static class TestB {
+        @Test
+        public void c() {
+            fEvents.add("run TestB.c");
+        }
+    }
+
+    public static class Invalid {
+        @Test
+        void notPublic() {
+        }
+    }
+
+    @RunWith(LazySuite.class)
+    @SuiteClasses({TestA.class, TestB.class})
+    public static class Both {
+    }
+
+    @RunWith(LazySuite.class)
+    @SuiteClasses({TestA.class, Invalid.class})
+    public static class WithInvalidClass {
+    }
+
+    @Before
+    public void clearEvents() {
+        fEvents.clear();
+    }
+
+    @RunWith(LazySuite.class)
+    @SuiteClasses({LazyHercules.class})
+    public static class LazyHydra {
+    }
+
+    @RunWith(LazySuite.class)
+    @SuiteClasses({LazyHydra.class, LazyHydra.class})
+    public static class LazyHercules {
+    }
+
+    @RunWith(LazySuite.class)
+    @SuiteClasses({ContainsItself.class})
+    public static class ContainsItself {
+    }
+
+    @Test
+    public void reportsSuiteThatContainsItself() {
+        Result result = JUnitCore.runClasses(ContainsItself.class);
+
+        assertEquals(1, result.getFailureCount());
+        assertTrue(result.getFailures().get(0).getMessage().contains("contains itself"));
+    }
+
+    @Test
+    public void reportsSuiteThatContainsItselfIndirectly() {
+        Result result = JUnitCore.runClasses(LazyHydra.class);
+
+        assertEquals(2, result.getFailureCount());
+    }
+
+    @Test
+    public void createsRunnerOfEachClassBeforeItRuns() {
+        Result result = JUnitCore.runClasses(Both.class);
+
+        assertEquals(3, result.getRunCount());
+        assertEquals(asList("create TestA", "run TestA.a", "run TestA.b",
+                "create TestB", "run TestB.c"), fEvents);
+    }
+
+    @Test
+    public void describesClassesWithoutCreatingRunners() {
+        Description description = Request.aClass(Both.class).getRunner().getDescription();
+
+        assertEquals(asList(Description.createSuiteDescription(TestA.class),
+                Description.createSuiteDescription(TestB.class)), description.getChildren());
+        assertEquals(Collections.<String>emptyList(), fEvents);
+    }
+
+    @Test
+    public void appliesFilterToCreatedRunners() {
+        Request request = Request.aClass(Both.class).filterWith(
+                Filter.matchMethodDescription(Description.createTestDescription(TestA.class, "b")));
+
+        Result result = new JUnitCore().run(request);
+
+        assertEquals(1, result.getRunCount());
+        assertEquals(asList("create TestA", "run TestA.b", "create TestB"), fEvents);
+    }
+
+    @Test
+    public void appliesSorterToCreatedRunners() {
+        Request request = Request.aClass(Both.class).sortWith(new Comparator<Description>() {
+            public int compare(Description o1, Description o2) {
+                return o2.getDisplayName().compareTo(o1.getDisplayName());
+            }
+        });
+
+        new JUnitCore().run(request);
+
+        assertEquals(asList("create TestB", "run TestB.c", "create TestA", "run TestA.b",
+                "run TestA.a"), fEvents);
+    }
+
+    @Test
+    public void reportsInvalidClassWhenItRuns() {
+        Result result = JUnitCore.runClasses(WithInvalidClass.class);
+
+        assertEquals(1, result.getFailureCount());
+        assertTrue(result.getFailures().get(0).getMessage().contains("notPublic"));
+        assertEquals(asList("create TestA", "run TestA.a", "run TestA.b"), fEvents);
+    }
+
+    @Test
+    public void lazyComputerCreatesRunnersBeforeClassesRun() {
+        Result result = JUnitCore.runClasses(Computer.lazy(), TestA.class, TestB.class);
+
+        assertEquals(3, result.getRunCount());
+        assertEquals(asList("create TestA", "run TestA.a", "run TestA.b",
+                "create TestB", "run TestB.c"), fEvents);
+    }
+}
@@ -10,11 +10,14 @@ import static org.junit.Assert.fail;
 import static org.junit.Assume.assumeFalse;
 import static org.junit.experimental.results.PrintableResult.testResult;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.AfterClass;
@@ -28,6 +31,7 @@ import org.junit.runner.Result;
 import org.junit.runner.RunWith;
 import org.junit.runner.Runner;
 import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
 import org.junit.runners.MethodSorters;
 import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameter;
@@ -806,4 +810,219 @@ public class ParameterizedTestTest {
         assertEquals(0, result.getIgnoreCount());
         assertEquals(0, result.getRunCount());
     }
+
+    @RunWith(Parameterized.class)
+    public static class StreamedParameters {
+        static final List<String> events = new ArrayList<String>();
+
+        @Parameters(name = "{0}", streaming = true)
+        public static Iterator<Object> data() {
+            return new Iterator<Object>() {
+                int next = 0;
+
+                public boolean hasNext() {
+                    return next < 3;
+                }
+
+                public Object next() {
+                    events.add("read " + next);
+                    return next++;
+                }
+
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @BeforeClass
+        public static void beforeClass() {
+            events.add("before class");
+        }
+
+        @Parameterized.BeforeParam
+        public static void beforeParam(int parameter) {
+            events.add("before " + parameter);
+        }
+
+        @Parameter
+        public int parameter;
+
+        @Test
+        public void test() {
+            events.add("run " + parameter);
+        }
+    }
+
+    @Test
+    public void streamedParametersAreReadWhenTheyRun() {
+        StreamedParameters.events.clear();
+
+        Result result = JUnitCore.runClasses(StreamedParameters.class);
+
+        assertTrue(result.wasSuccessful());
+        assertEquals(3, result.getRunCount());
+        assertEquals(asList("before class", "read 0", "before 0", "run 0", "read 1",
+                "before 1", "run 1", "read 2", "before 2", "run 2"), StreamedParameters.events);
+    }
+
+    @Test
+    public void streamedParametersAreNotReadForDescription() {
+        StreamedParameters.events.clear();
+
+        Description description = Request.aClass(StreamedParameters.class).getRunner()
+                .getDescription();
+
+        assertEquals(Description.createSuiteDescription(StreamedParameters.class), description);
+        assertEquals(0, description.getChildren().size());
+        assertEquals(Collections.<String>emptyList(), StreamedParameters.events);
+    }
+
+    @Test
+    public void filterIsAppliedToStreamedParameters() {
+        StreamedParameters.events.clear();
+        Request request = Request.aClass(StreamedParameters.class).filterWith(
+                Description.createTestDescription(StreamedParameters.class, "test[1]"));
+
+        Result result = new JUnitCore().run(request);
+
+        assertEquals(1, result.getRunCount());
+        assertTrue(StreamedParameters.events.contains("run 1"));
+    }
+
+    @RunWith(Parameterized.class)
+    public static class StreamedParametersOfWrongType {
+        @Parameters(streaming = true)
+        public static String data() {
+            return "foo";
+        }
+
+        @Test
+        public void test() {
+        }
+    }
+
+    @Test
+    public void failsIfStreamedParametersHaveWrongType() {
+        assertTestCreatesSingleFailureWithMessage(StreamedParametersOfWrongType.class,
+                StreamedParametersOfWrongType.class.getName()
+                        + ".data() must return an Iterable of arrays.");
+    }
+
+    @RunWith(Parameterized.class)
+    public static class AssumptionInStreamedParameters {
+        @Parameters(streaming = true)
+        public static Iterable<String> data() {
+            assumeFalse(true);
+            return Collections.singletonList("foobar");
+        }
+
+        public AssumptionInStreamedParameters(String parameter) {
+        }
+
+        @Test
+        public void test() {
+        }
+    }
+
+    @Test
+    public void assumptionInStreamedParametersSkipsClass() {
+        Result result = JUnitCore.runClasses(AssumptionInStreamedParameters.class);
+
+        assertTrue(result.wasSuccessful());
+        assertEquals(1, result.getAssumptionFailureCount());
+        assertEquals(0, result.getRunCount());
+    }
+
+    @RunWith(Parameterized.class)
+    public static class ParallelParameters {
+        static final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+        static CountDownLatch firstTwoSets;
+        static CountDownLatch secondSetRan;
+
+        @Parameters(parallelism = 2)
+        public static Iterable<Integer> data() {
+            return asList(0, 1, 2, 3);
+        }
+
+        @Parameterized.BeforeParam
+        public static void before(int parameter) throws InterruptedException {
+            events.add("before " + parameter);
+            firstTwoSets.countDown();
+            // only returns if the first two sets run at the same time
+            assertTrue(firstTwoSets.await(10, TimeUnit.SECONDS));
+        }
+
+        @Parameterized.AfterParam
+        public static void after(int parameter) {
+            events.add("after " + parameter);
+        }
+
+        @Parameter
+        public int parameter;
+
+        @Test
+        public void test() throws InterruptedException {
+            if (parameter == 0) {
+                // let the second set finish first
+                assertTrue(secondSetRan.await(10, TimeUnit.SECONDS));
+            }
+            events.add("run " + parameter);
+            if (parameter == 1) {
+                secondSetRan.countDown();
+            }
+        }
+    }
+
+    @Test
+    public void parallelParametersAreReportedInOrder() {
+        ParallelParameters.events.clear();
+        ParallelParameters.firstTwoSets = new CountDownLatch(2);
+        ParallelParameters.secondSetRan = new CountDownLatch(1);
+        final List<String> started = new ArrayList<String>();
+        JUnitCore core = new JUnitCore();
+        core.addListener(new RunListener() {
+            @Override
+            public void testStarted(Description description) {
+                started.add(description.getMethodName());
+            }
+        });
+
+        Result result = core.run(ParallelParameters.class);
+
+        assertTrue(result.wasSuccessful());
+        assertEquals(asList("test[0]", "test[1]", "test[2]", "test[3]"), started);
+        assertTrue(ParallelParameters.events.indexOf("run 1")
+                < ParallelParameters.events.indexOf("run 0"));
+        for (int i = 0; i < 4; i++) {
+            int before = ParallelParameters.events.indexOf("before " + i);
+            int run = ParallelParameters.events.indexOf("run " + i);
+            int after = ParallelParameters.events.indexOf("after " + i);
+            assertTrue(before >= 0 && before < run && run < after);
+        }
+    }
+
+    @RunWith(Parameterized.class)
+    public static class NoParallelism {
+        @Parameters(parallelism = 0)
+        public static Iterable<String> data() {
+            return asList("foo");
+        }
+
+        public NoParallelism(String parameter) {
+        }
+
+        @Test
+        public void test() {
+        }
+    }
+
+    @Test
+    public void failsIfParallelismIsNotPositive() {
+        Result result = JUnitCore.runClasses(NoParallelism.class);
+
+        assertEquals(1, result.getFailureCount());
+        assertThat(result.getFailures().get(0).getMessage(),
+                containsString("parallelism must be at least 1, but was 0"));
+    }
 }
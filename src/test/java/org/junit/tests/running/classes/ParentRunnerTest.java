@@ -3,8 +3,11 @@ package org.junit.tests.running.classes;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.hamcrest.Matcher;
@@ -14,16 +17,23 @@ import org.junit.BeforeClass;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.internal.AssumptionViolatedException;
+import org.junit.internal.builders.AllDefaultPossibilitiesBuilder;
 import org.junit.runner.Description;
 import org.junit.runner.JUnitCore;
 import org.junit.runner.Request;
 import org.junit.runner.Result;
+import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Alphanumeric;
 import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.Sortable;
+import org.junit.runner.manipulation.Sorter;
 import org.junit.runner.notification.Failure;
 import org.junit.runner.notification.RunListener;
 import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.BlockJUnit4ClassRunner;
 import org.junit.runners.ParentRunner;
+import org.junit.runners.Suite;
+import org.junit.runners.model.FrameworkMethod;
 import org.junit.runners.model.InitializationError;
 import org.junit.runners.model.RunnerScheduler;
 import org.junit.rules.RuleMemberValidatorTest.TestWithNonStaticClassRule;
@@ -121,6 +131,125 @@ public class ParentRunnerTest {
         }
     }
 
+    private static class CountingRunner extends BlockJUnit4ClassRunner {
+        int describedChildren;
+
+        CountingRunner(Class<?> testClass) throws InitializationError {
+            super(testClass);
+        }
+
+        @Override
+        protected Description describeChild(FrameworkMethod method) {
+            describedChildren++;
+            return super.describeChild(method);
+        }
+    }
+
+    @Test
+    public void descriptionIsCreatedOnce() throws Exception {
+        CountingRunner runner = new CountingRunner(ExampleTest.class);
+
+        Description description = runner.getDescription();
+
+        assertEquals(description, runner.getDescription());
+        assertEquals(3, runner.describedChildren);
+    }
+
+    @Test
+    public void sortingDescribesEachChildOnce() throws Exception {
+        CountingRunner runner = new CountingRunner(ExampleTest.class);
+
+        runner.sort(new Sorter(Collections.reverseOrder(new Alphanumeric())));
+
+        assertEquals(3, runner.describedChildren);
+        assertEquals(asList("test3", "test2", "test1"), methodNames(runner.getDescription()));
+        assertEquals(3, runner.describedChildren);
+    }
+
+    @Test
+    public void filteringCreatesNewDescription() throws Exception {
+        CountingRunner runner = new CountingRunner(ExampleTest.class);
+        Description unfiltered = runner.getDescription();
+
+        runner.filter(new Exclude("test2"));
+
+        assertEquals(asList("test1", "test2", "test3"), methodNames(unfiltered));
+        assertEquals(asList("test1", "test3"), methodNames(runner.getDescription()));
+        assertEquals(3, runner.describedChildren);
+    }
+
+    @Test
+    public void suiteDescriptionReflectsSortedChildren() throws Exception {
+        Runner suite = Request.classes(ExampleTest.class).getRunner();
+        suite.getDescription();
+
+        ((Sortable) suite).sort(new Sorter(Collections.reverseOrder(new Alphanumeric())));
+
+        Description testClass = suite.getDescription().getChildren().get(0);
+        assertEquals(asList("test3", "test2", "test1"), methodNames(testClass));
+    }
+
+    private static class InspectableSuite extends Suite {
+        InspectableSuite(Class<?>... classes) throws InitializationError {
+            super(new AllDefaultPossibilitiesBuilder(), classes);
+        }
+
+        int getChildCount() {
+            return getChildren().size();
+        }
+    }
+
+    @Test
+    public void releasesChildrenAfterRunIfEnabled() throws Exception {
+        InspectableSuite suite = new InspectableSuite(ExampleTest.class);
+        Result result;
+        System.setProperty("junit.releaseAfterRun", "true");
+        try {
+            result = new JUnitCore().run(suite);
+        } finally {
+            System.clearProperty("junit.releaseAfterRun");
+        }
+
+        assertEquals(3, result.getRunCount());
+        assertEquals(0, suite.getChildCount());
+        assertEquals(3, suite.getDescription().testCount());
+    }
+
+    @Test
+    public void releasedRunnerCannotRunAgain() throws Exception {
+        InspectableSuite suite = new InspectableSuite(ExampleTest.class);
+        System.setProperty("junit.releaseAfterRun", "true");
+        try {
+            new JUnitCore().run(suite);
+        } finally {
+            System.clearProperty("junit.releaseAfterRun");
+        }
+
+        Result result = new JUnitCore().run(suite);
+
+        assertEquals(1, result.getFailureCount());
+        assertThat(result.getFailures().get(0).getMessage(),
+                containsString("cannot run again"));
+    }
+
+    @Test
+    public void keepsChildrenAfterRunByDefault() throws Exception {
+        InspectableSuite suite = new InspectableSuite(ExampleTest.class);
+
+        new JUnitCore().run(suite);
+
+        assertEquals(1, suite.getChildCount());
+        assertEquals(3, new JUnitCore().run(suite).getRunCount());
+    }
+
+    private static List<String> methodNames(Description description) {
+        List<String> methodNames = new ArrayList<String>();
+        for (Description child : description.getChildren()) {
+            methodNames.add(child.getMethodName());
+        }
+        return methodNames;
+    }
+
     @Test
     public void failWithHelpfulMessageForProtectedClassRule() {
         assertClassHasFailureMessage(TestWithProtectedClassRule.class,
@@ -210,6 +210,20 @@ public class TimeoutTest {
         }
     }
     
+    public static class InfiniteLoopWithStuckThreadOnPooledThreadTest {
+        @Rule
+        public TestRule globalTimeout = Timeout.builder()
+            .withTimeout(100, TimeUnit.MILLISECONDS)
+            .withLookingForStuckThread(true)
+            .withPooledThreads(true)
+            .build();
+
+        @Test
+        public void failure() throws Exception {
+            (new InfiniteLoopMultithreaded()).failure(false);
+        }
+    }
+
     public static class InfiniteLoopStuckInMainThreadTest {
         @Rule
         public TestRule globalTimeout = Timeout.builder()
@@ -237,6 +251,20 @@ public class TimeoutTest {
         assertThat(exception[1].getMessage(), containsString("Appears to be stuck in thread timeout-thr2"));
     }
 
+    @Test
+    public void timeoutFailureMultithreadedOnPooledThread() throws Exception {
+        JUnitCore core = new JUnitCore();
+        Result result = core.run(InfiniteLoopWithStuckThreadOnPooledThreadTest.class);
+        assertEquals(1, result.getRunCount());
+        assertEquals(2, result.getFailureCount());
+        Throwable exception[] = new Throwable[2];
+        for (int i = 0; i < 2; i++)
+            exception[i] = result.getFailures().get(i).getException();
+        assertThat(exception[0].getMessage(), containsString("test timed out after 100 milliseconds"));
+        assertThat(stackForException(exception[0]), containsString("Thread.join"));
+        assertThat(exception[1].getMessage(), containsString("Appears to be stuck in thread timeout-thr2"));
+    }
+
     @Test
     public void timeoutFailureMultithreadedStuckInMain() throws Exception {
         JUnitCore core = new JUnitCore();